@@ -1,5 +1,6 @@
 package com.checkmarx.sca
 
+import groovy.json.JsonBuilder
 import groovy.transform.Field
 import org.artifactory.repo.RepoPath
 import org.artifactory.request.Request
@@ -34,6 +35,20 @@ download {
     }
 }
 
+storage {
+    afterPropertyCreate { item, name, values ->
+        scaPlugin.afterPropertyChanged(item.repoPath, name)
+    }
+
+    afterPropertyDelete { item, name ->
+        scaPlugin.afterPropertyChanged(item.repoPath, name)
+    }
+
+    afterDelete { item ->
+        scaPlugin.afterDelete(item.repoPath)
+    }
+}
+
 upload {
     beforeUploadRequest { Request request, RepoPath repoPath ->
         log.info "before upload process started"
@@ -87,4 +102,10 @@ executions {
         }
         log.info("Execute Sca Scan Completed")
     }
+
+    // curl -i -u admin:password -X GET "http://localhost:8082/artifactory/api/plugins/execute/scaStatus"
+    scaStatus(httpMethod: 'GET', groups: [pluginGroup]) { params ->
+        message = new JsonBuilder(scaPlugin.getStatistics()).toPrettyString()
+        status = 200
+    }
 }
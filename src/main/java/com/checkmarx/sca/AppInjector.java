@@ -1,12 +1,25 @@
 package com.checkmarx.sca;
 
+import com.checkmarx.sca.cache.NegativeCache;
+import com.checkmarx.sca.cache.PackagistCache;
+import com.checkmarx.sca.cache.ScanResultStore;
+import com.checkmarx.sca.cache.VerdictCache;
 import com.checkmarx.sca.communication.AccessControlClient;
+import com.checkmarx.sca.communication.AdaptiveConcurrencyLimiter;
+import com.checkmarx.sca.communication.CircuitBreaker;
+import com.checkmarx.sca.communication.ConditionalRequestCache;
+import com.checkmarx.sca.communication.HttpClientFactory;
+import com.checkmarx.sca.communication.RequestHedger;
+import com.checkmarx.sca.communication.RetryPolicy;
+import com.checkmarx.sca.communication.ScaHttpClient;
+import com.checkmarx.sca.communication.ScaRateLimiter;
 import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.policy.PolicyStore;
+import com.checkmarx.sca.scan.ArtifactIdResolver;
 import com.checkmarx.sca.scan.ArtifactRisksFiller;
-import com.checkmarx.sca.scan.LicenseAllowanceChecker;
-import com.checkmarx.sca.scan.SecurityThresholdChecker;
 import com.checkmarx.sca.suggestion.PrivatePackageSuggestionHandler;
 import com.google.inject.AbstractModule;
+import com.google.inject.Singleton;
 
 import javax.annotation.Nonnull;
 
@@ -16,28 +29,44 @@ public class AppInjector extends AbstractModule {
     private final Logger _logger;
     private final ArtifactRisksFiller _artifactFiller;
     private final AccessControlClient _accessControlClient;
-    private final SecurityThresholdChecker _securityThresholdChecker;
-    private final LicenseAllowanceChecker _licenseAllowanceChecker;
     private final PluginConfiguration _configuration;
     private final PrivatePackageSuggestionHandler _suggestionHandler;
+    private final ScanResultStore _scanResultStore;
+    private final HttpClientFactory _httpClientFactory;
+    private final ArtifactIdResolver _artifactIdResolver;
+    private final PolicyStore _policyStore;
 
-    public AppInjector(@Nonnull Logger logger, AccessControlClient accessControlClient, @Nonnull ArtifactRisksFiller artifactFiller, @Nonnull PluginConfiguration configuration, @Nonnull SecurityThresholdChecker securityThresholdChecker, @Nonnull LicenseAllowanceChecker licenseAllowanceChecker, @Nonnull PrivatePackageSuggestionHandler privatePackagesSuggestionHandler) {
+    public AppInjector(@Nonnull Logger logger, AccessControlClient accessControlClient, @Nonnull ArtifactRisksFiller artifactFiller, @Nonnull PluginConfiguration configuration, @Nonnull PrivatePackageSuggestionHandler privatePackagesSuggestionHandler, @Nonnull ScanResultStore scanResultStore, @Nonnull HttpClientFactory httpClientFactory, @Nonnull ArtifactIdResolver artifactIdResolver, @Nonnull PolicyStore policyStore) {
         this._logger = logger;
         this._configuration = configuration;
         this._artifactFiller = artifactFiller;
         this._accessControlClient = accessControlClient;
-        this._securityThresholdChecker = securityThresholdChecker;
-        this._licenseAllowanceChecker = licenseAllowanceChecker;
         this._suggestionHandler = privatePackagesSuggestionHandler;
+        this._scanResultStore = scanResultStore;
+        this._httpClientFactory = httpClientFactory;
+        this._artifactIdResolver = artifactIdResolver;
+        this._policyStore = policyStore;
     }
 
     protected void configure() {
         this.bind(Logger.class).toInstance(this._logger);
         this.bind(ArtifactRisksFiller.class).toInstance(this._artifactFiller);
         this.bind(PluginConfiguration.class).toInstance(this._configuration);
-        this.bind(SecurityThresholdChecker.class).toInstance(this._securityThresholdChecker);
-        this.bind(LicenseAllowanceChecker.class).toInstance(this._licenseAllowanceChecker);
         this.bind(PrivatePackageSuggestionHandler.class).toInstance(this._suggestionHandler);
+        this.bind(ScanResultStore.class).toInstance(this._scanResultStore);
+        this.bind(HttpClientFactory.class).toInstance(this._httpClientFactory);
+        this.bind(ArtifactIdResolver.class).toInstance(this._artifactIdResolver);
+        this.bind(PolicyStore.class).toInstance(this._policyStore);
+        this.bind(VerdictCache.class).in(Singleton.class);
+        this.bind(NegativeCache.class).in(Singleton.class);
+        this.bind(PackagistCache.class).in(Singleton.class);
+        this.bind(AdaptiveConcurrencyLimiter.class).in(Singleton.class);
+        this.bind(RetryPolicy.class).in(Singleton.class);
+        this.bind(CircuitBreaker.class).in(Singleton.class);
+        this.bind(RequestHedger.class).in(Singleton.class);
+        this.bind(ScaRateLimiter.class).in(Singleton.class);
+        this.bind(ConditionalRequestCache.class).in(Singleton.class);
+        this.bind(ScaHttpClient.class).in(Singleton.class);
         if (this._accessControlClient != null) {
             this.bind(AccessControlClient.class).toInstance(this._accessControlClient);
         }
@@ -1,30 +1,51 @@
 package com.checkmarx.sca;
 
+import com.checkmarx.sca.cache.NegativeCache;
+import com.checkmarx.sca.cache.PackagistCache;
+import com.checkmarx.sca.cache.ScanResultStore;
+import com.checkmarx.sca.cache.VerdictCache;
 import com.checkmarx.sca.communication.AccessControlClient;
+import com.checkmarx.sca.communication.AdaptiveConcurrencyLimiter;
+import com.checkmarx.sca.communication.CircuitBreaker;
+import com.checkmarx.sca.communication.ConditionalRequestCache;
+import com.checkmarx.sca.communication.HttpClientFactory;
+import com.checkmarx.sca.communication.ScaExecutors;
+import com.checkmarx.sca.communication.RequestHedger;
+import com.checkmarx.sca.communication.RetryPolicy;
+import com.checkmarx.sca.communication.ScaRateLimiter;
+import com.checkmarx.sca.communication.TrafficClass;
 import com.checkmarx.sca.configuration.ConfigurationEntry;
 import com.checkmarx.sca.configuration.ConfigurationReader;
+import com.checkmarx.sca.configuration.UnverifiedDownloadPolicy;
 import com.checkmarx.sca.configuration.PluginConfiguration;
 import com.checkmarx.sca.models.ArtifactId;
-import com.checkmarx.sca.models.PackageInfo;
+import com.checkmarx.sca.models.DownloadVerdict;
+import com.checkmarx.sca.policy.PolicySnapshot;
+import com.checkmarx.sca.policy.PolicyStore;
+import com.checkmarx.sca.scan.ArtifactIdResolver;
 import com.checkmarx.sca.scan.ArtifactRisksFiller;
-import com.checkmarx.sca.scan.LicenseAllowanceChecker;
-import com.checkmarx.sca.scan.SecurityThresholdChecker;
+import com.checkmarx.sca.scan.RiskSnapshot;
 import com.checkmarx.sca.suggestion.PrivatePackageSuggestionHandler;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Module;
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
-import com.fasterxml.jackson.databind.ObjectReader;
-import com.fasterxml.jackson.databind.MappingIterator;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
 
 import org.artifactory.exception.CancelException;
@@ -36,67 +57,105 @@ import org.artifactory.repo.Repositories;
 import org.slf4j.Logger;
 
 public class ScaPlugin {
+    private static final String SCA_PROPERTY_PREFIX = "CxSCA.";
+    private static final AtomicReference<ScaPlugin> ACTIVE_INSTANCE = new AtomicReference<>();
+
     private final Injector _injector;
     private final Logger _logger;
     private final Repositories _repositories;
+    private final long _latencyBudgetMillis;
+    private final UnverifiedDownloadPolicy _latencyBudgetPolicy;
+    private final ExecutorService _downloadScanExecutor;
+    private final ExecutorService _revalidationExecutor;
+    private final LongAdder _latencyBudgetExceeded = new LongAdder();
+    private final LongAdder _nonPackageFilesSkipped = new LongAdder();
 
     public ScaPlugin(@Nonnull Logger logger, @Nonnull File pluginsDirectory, @Nonnull Repositories repositories)
             throws IOException, URISyntaxException {
         this._logger = logger;
+        closeActiveInstance();
 
         try {
             PluginConfiguration configuration = ConfigurationReader.loadConfiguration(pluginsDirectory, logger);
             configuration.validate();
-            AccessControlClient accessControlClient = this.tryToAuthenticate(configuration, logger);
+            HttpClientFactory httpClientFactory = new HttpClientFactory(configuration);
+            httpClientFactory.prewarm(configuration.getPropertyOrDefault(ConfigurationEntry.API_URL));
+            AccessControlClient accessControlClient = this.tryToAuthenticate(configuration, logger,
+                    httpClientFactory);
             this._repositories = repositories;
-            ArtifactRisksFiller risksFiller = new ArtifactRisksFiller(repositories);
+            this._revalidationExecutor = ScaExecutors.newExecutor(configuration, "cxsca-revalidation", 2);
+            ArtifactRisksFiller risksFiller = new ArtifactRisksFiller(repositories, this._revalidationExecutor);
 
             File tempFile = new File(ScaPlugin.class.getProtectionDomain().getCodeSource().getLocation()
                     .toURI());
-            String filePath = tempFile.getParentFile().getPath();
-            this._logger.debug(String.format("file path: %s", filePath));
-            ArrayList<PackageInfo> packageBlackList = this.getPackagesList(filePath + "/package_black_list.csv");
-            ArrayList<PackageInfo> packageWhiteList = this.getPackagesList(filePath + "/package_white_list.csv");
-            SecurityThresholdChecker securityThresholdChecker = new SecurityThresholdChecker(repositories,
-                    packageBlackList, packageWhiteList);
-            LicenseAllowanceChecker licenseAllowanceChecker = new LicenseAllowanceChecker(repositories);
+            PolicyStore policyStore = new PolicyStore(logger, pluginsDirectory, tempFile.getParentFile(),
+                    configuration);
             PrivatePackageSuggestionHandler privatePackageSuggestionHandler = new PrivatePackageSuggestionHandler(
                     repositories, configuration.hasAuthConfiguration());
+            ScanResultStore scanResultStore = new ScanResultStore(pluginsDirectory, configuration);
+            scanResultStore.load();
             AppInjector appInjector = new AppInjector(this._logger, accessControlClient, risksFiller, configuration,
-                    securityThresholdChecker, licenseAllowanceChecker, privatePackageSuggestionHandler);
+                    privatePackageSuggestionHandler, scanResultStore, httpClientFactory, new ArtifactIdResolver(repositories, configuration),
+                    policyStore);
             this._injector = Guice.createInjector(new Module[]{appInjector});
+            this._latencyBudgetMillis = configuration.getIntegerOrDefault(ConfigurationEntry.DOWNLOAD_LATENCY_BUDGET);
+            this._latencyBudgetPolicy = configuration
+                    .getUnverifiedDownloadPolicy(ConfigurationEntry.DOWNLOAD_LATENCY_BUDGET_POLICY);
+            this._downloadScanExecutor = this._latencyBudgetMillis > 0
+                    ? this.createDownloadScanExecutor(configuration) : null;
+            this.watchPolicy(policyStore, configuration);
+            ACTIVE_INSTANCE.set(this);
         } catch (Exception var11) {
             this._logger.error("Sca plugin could not be initialized!");
             throw var11;
         }
     }
 
-    private ArrayList<PackageInfo> getPackagesList(String packageBlacklistCsvPath) {
-        ArrayList<PackageInfo> result = new ArrayList<>();
-        File csvFile = new File(packageBlacklistCsvPath);
-        CsvMapper csvMapper = new CsvMapper();
-        CsvSchema schema = CsvSchema.emptySchema().withHeader();
-        ObjectReader oReader = csvMapper.readerFor(PackageInfo.class).with(schema);
+    /**
+     * Artifactory does not notify a plugin when its script is reloaded, so the instance created by the new script
+     * closes the one it replaces before it opens the scan result store.
+     */
+    private static void closeActiveInstance() {
+        ScaPlugin previous = ACTIVE_INSTANCE.getAndSet(null);
+        if (previous != null) {
+            previous.close();
+        }
+    }
 
-        try (MappingIterator<PackageInfo> mi = oReader.readValues(csvFile)) {
-            while (mi.hasNext()) {
-                PackageInfo current = mi.next();
-                result.add(current);
-                this._logger.debug(current.toString());
-            }
-        } catch (Exception e) {
-            this._logger.error(String.format("Error during read csv file, %s", e));
+    public void close() {
+        this._logger.info("Closing the Sca Security Plugin.");
+        ScanResultStore scanResultStore = (ScanResultStore) this._injector.getInstance(ScanResultStore.class);
+        scanResultStore.close();
+        if (this._downloadScanExecutor != null) {
+            this._downloadScanExecutor.shutdown();
         }
-        this._logger.debug(String.format("number of result: %d", result.size()));
-        return result;
+
+        this._revalidationExecutor.shutdown();
+        this.getPolicyStore().stopWatching();
+        HttpClientFactory httpClientFactory = (HttpClientFactory) this._injector.getInstance(HttpClientFactory.class);
+        httpClientFactory.close();
+    }
+
+    private ExecutorService createDownloadScanExecutor(@Nonnull PluginConfiguration configuration) {
+        return ScaExecutors.newExecutor(configuration, "cxsca-download-scan",
+                configuration.getIntegerOrDefault(ConfigurationEntry.DOWNLOAD_SCAN_THREADS));
     }
 
-    private AccessControlClient tryToAuthenticate(@Nonnull PluginConfiguration configuration, @Nonnull Logger logger) {
+    private void watchPolicy(@Nonnull PolicyStore policyStore, @Nonnull PluginConfiguration configuration) {
+        policyStore.addListener((policy) -> this.getVerdictCache().invalidateAll());
+        if (Boolean.parseBoolean(configuration.getPropertyOrDefault(ConfigurationEntry.POLICY_RELOAD_ENABLED).trim())) {
+            policyStore.startWatching(
+                    configuration.getIntegerOrDefault(ConfigurationEntry.POLICY_RELOAD_POLL_INTERVAL) * 1000L);
+        }
+    }
+
+    private AccessControlClient tryToAuthenticate(@Nonnull PluginConfiguration configuration, @Nonnull Logger logger,
+                                                  @Nonnull HttpClientFactory httpClientFactory) {
         AccessControlClient accessControlClient = null;
 
         try {
             if (configuration.hasAuthConfiguration()) {
-                accessControlClient = new AccessControlClient(configuration, logger);
+                accessControlClient = new AccessControlClient(configuration, logger, httpClientFactory);
                 accessControlClient.Authenticate(configuration.getAccessControlCredentials());
             } else {
                 this._logger.debug("Authentication configuration not defined.");
@@ -113,19 +172,30 @@ public class ScaPlugin {
     }
 
     public void checkArtifactsAlreadyPresent(RepoPath repoPath, boolean forceScan) {
+        if (!this.isPackageFile(repoPath)) {
+            return;
+        }
+
         ArrayList<RepoPath> nonVirtualRepoPaths = this.getNonVirtualRepoPaths(repoPath);
-        this.addPackageRisks(repoPath, nonVirtualRepoPaths, forceScan);
+        boolean riskAddedSuccessfully = this.addPackageRisks(repoPath, nonVirtualRepoPaths, forceScan);
+        if (forceScan && riskAddedSuccessfully) {
+            ArtifactId artifactId = this.resolveArtifactId(repoPath);
+            if (artifactId != null) {
+                this.getVerdictCache().invalidate(artifactId);
+            }
+        }
     }
 
     public void checkArtifactsForSuggestionOnPrivatePackages(RepoPath repoPath) {
+        if (!this.isPackageFile(repoPath)) {
+            return;
+        }
+
         ArrayList<RepoPath> nonVirtualRepoPaths = this.getNonVirtualRepoPaths(repoPath);
         PrivatePackageSuggestionHandler suggestion = (PrivatePackageSuggestionHandler) this._injector.getInstance(
                 PrivatePackageSuggestionHandler.class);
 
-        for (RepoPath artifact : nonVirtualRepoPaths) {
-            suggestion.suggestPrivatePackage(artifact, nonVirtualRepoPaths);
-        }
-
+        suggestion.suggestPrivatePackages(nonVirtualRepoPaths, nonVirtualRepoPaths);
     }
 
     public void beforeDownload(RepoPath repoPath) {
@@ -133,29 +203,196 @@ public class ScaPlugin {
     }
 
     public void beforeDownload(RepoPath repoPath, boolean disableBlock) {
+        if (!this.isPackageFile(repoPath)) {
+            return;
+        }
+
+        PolicySnapshot policySnapshot = this.getPolicyStore().current();
+        ArtifactId artifactId = disableBlock ? null : this.resolveArtifactId(repoPath);
+        if (artifactId != null && this.applyCachedVerdict(repoPath, artifactId, policySnapshot)) {
+            return;
+        }
+
         ArrayList<RepoPath> nonVirtualRepoPaths = this.getNonVirtualRepoPaths(repoPath);
-        boolean riskAddedSuccessfully = this.addPackageRisks(repoPath, nonVirtualRepoPaths);
-        if (!disableBlock && riskAddedSuccessfully) {
-            this.checkRiskThreshold(repoPath, nonVirtualRepoPaths);
-            this.checkLicenseAllowance(repoPath, nonVirtualRepoPaths);
+        if (!disableBlock && this.shouldSkipRemoteScan(artifactId, nonVirtualRepoPaths)) {
+            this._logger.warn(String.format("The SCA API is unavailable, the artifact will not be scanned. " +
+                    "Artifact path: %s", repoPath.getPath()));
+            this.applyUnverifiedDownloadPolicy(repoPath, nonVirtualRepoPaths, this.getCircuitBreaker().getOpenPolicy(),
+                    policySnapshot);
+            return;
         }
+
+        if (disableBlock) {
+            this.addPackageRisks(repoPath, nonVirtualRepoPaths, false);
+            return;
+        } else if (this._downloadScanExecutor == null) {
+            this.verifyDownload(repoPath, nonVirtualRepoPaths, artifactId, policySnapshot);
+            return;
+        }
+
+        CompletableFuture<Boolean> verification = CompletableFuture.supplyAsync(() -> this.verifyDownload(repoPath,
+                nonVirtualRepoPaths, artifactId, policySnapshot), this._downloadScanExecutor);
+        try {
+            verification.get(this._latencyBudgetMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException var7) {
+            this._latencyBudgetExceeded.increment();
+            this._logger.warn(String.format("The SCA verification exceeded the download latency budget of %d ms " +
+                    "and will complete in the background. Artifact path: %s", this._latencyBudgetMillis,
+                    repoPath.getPath()));
+            this.applyUnverifiedDownloadPolicy(repoPath, nonVirtualRepoPaths, this._latencyBudgetPolicy,
+                    policySnapshot);
+        } catch (InterruptedException var8) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException var9) {
+            if (var9.getCause() instanceof CancelException) {
+                throw (CancelException) var9.getCause();
+            }
+        }
+    }
+
+    /**
+     * Scans the artifact and enforces the policy on its properties. Runs on the download thread, or on a download
+     * scan thread when a latency budget is configured, so the properties are written and read by the thread that
+     * waited for the scan rather than by the HTTP client.
+     */
+    private boolean verifyDownload(@Nonnull RepoPath repoPath, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths,
+                                   ArtifactId artifactId, @Nonnull PolicySnapshot policySnapshot) {
+        if (!this.addPackageRisks(repoPath, nonVirtualRepoPaths, false)) {
+            return false;
+        }
+
+        DownloadVerdict verdict = this.evaluatePolicy(repoPath, nonVirtualRepoPaths, policySnapshot, artifactId);
+        if (verdict == null) {
+            return false;
+        }
+
+        this.enforceVerdict(repoPath, verdict);
+        return true;
     }
 
     public void beforeUpload(RepoPath repoPath) {
+        if (!this.isPackageFile(repoPath)) {
+            return;
+        }
+
         ArrayList<RepoPath> nonVirtualRepoPaths = this.getNonVirtualRepoPaths(repoPath);
         PrivatePackageSuggestionHandler suggestionHandler = (PrivatePackageSuggestionHandler) this._injector
                 .getInstance(PrivatePackageSuggestionHandler.class);
         suggestionHandler.suggestPrivatePackage(repoPath, nonVirtualRepoPaths);
     }
 
-    private ArrayList<RepoPath> getNonVirtualRepoPaths(RepoPath repoPath) {
+    /**
+     * Called by the storage hooks of the plugin script when an SCA property of an item is created or deleted, for
+     * example when an administrator sets {@code CxSCA.IgnoreRiskThreshold}. The cached verdicts of the artifact are
+     * discarded so the next download is evaluated with the new properties.
+     */
+    public void afterPropertyChanged(@Nonnull RepoPath repoPath, String propertyName) {
+        if (propertyName != null && propertyName.regionMatches(true, 0, SCA_PROPERTY_PREFIX, 0,
+                SCA_PROPERTY_PREFIX.length())) {
+            this.invalidateVerdicts(repoPath);
+        }
+    }
+
+    public void afterDelete(@Nonnull RepoPath repoPath) {
+        this.invalidateVerdicts(repoPath);
+    }
+
+    private void invalidateVerdicts(@Nonnull RepoPath repoPath) {
+        ArtifactIdResolver artifactIdResolver = (ArtifactIdResolver) this._injector
+                .getInstance(ArtifactIdResolver.class);
+        if (!artifactIdResolver.isPackageFile(repoPath)) {
+            return;
+        }
+
+        ArtifactId artifactId = this.resolveArtifactId(repoPath);
+        if (artifactId != null) {
+            this.getVerdictCache().invalidate(artifactId);
+        }
+    }
+
+    private boolean applyCachedVerdict(@Nonnull RepoPath repoPath, @Nonnull ArtifactId artifactId,
+                                       @Nonnull PolicySnapshot policySnapshot) {
+        DownloadVerdict verdict = this.getVerdictCache().get(artifactId, repoPath, policySnapshot.getVersion());
+        if (verdict == null) {
+            return false;
+        } else if (verdict.isAllowed()) {
+            this._logger.debug(String.format("Download allowed by cached verdict. Artifact path: %s",
+                    repoPath.getPath()));
+            return true;
+        } else {
+            this._logger.warn(String.format("The download was blocked by cached verdict. Artifact path: %s",
+                    repoPath.getPath()));
+            throw new CancelException(verdict.getReason(), 403);
+        }
+    }
+
+    private boolean shouldSkipRemoteScan(ArtifactId artifactId, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths) {
+        if (this.getCircuitBreaker().isCallPermitted()) {
+            return false;
+        }
+
         ArtifactRisksFiller artifactChecker = (ArtifactRisksFiller) this._injector
                 .getInstance(ArtifactRisksFiller.class);
-        return artifactChecker.getNonVirtualRepoPaths(repoPath);
+        return !artifactChecker.hasFreshScanData(artifactId, nonVirtualRepoPaths);
+    }
+
+    private void applyUnverifiedDownloadPolicy(@Nonnull RepoPath repoPath,
+                                               @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths,
+                                               @Nonnull UnverifiedDownloadPolicy policy,
+                                               @Nonnull PolicySnapshot policySnapshot) {
+        ArtifactRisksFiller artifactChecker = (ArtifactRisksFiller) this._injector
+                .getInstance(ArtifactRisksFiller.class);
+        if (policy == UnverifiedDownloadPolicy.DENY) {
+            this._logger.warn(String.format("The download was blocked because the artifact could not be verified. " +
+                    "Artifact path: %s", repoPath.getPath()));
+            throw new CancelException("The artifact could not be verified by SCA.", 403);
+        } else if (policy == UnverifiedDownloadPolicy.STALE && artifactChecker.hasScanData(nonVirtualRepoPaths)) {
+            this._logger.info(String.format("Enforcing the policy on the existing scan data. Artifact path: %s",
+                    repoPath.getPath()));
+            DownloadVerdict verdict = this.evaluatePolicy(repoPath, nonVirtualRepoPaths, policySnapshot, null);
+            if (verdict != null) {
+                this.enforceVerdict(repoPath, verdict);
+            }
+        } else {
+            this._logger.warn(String.format("The download was allowed without verification. Artifact path: %s",
+                    repoPath.getPath()));
+        }
+    }
+
+    private CircuitBreaker getCircuitBreaker() {
+        return (CircuitBreaker) this._injector.getInstance(CircuitBreaker.class);
+    }
+
+    private PolicyStore getPolicyStore() {
+        return (PolicyStore) this._injector.getInstance(PolicyStore.class);
+    }
+
+    private VerdictCache getVerdictCache() {
+        return (VerdictCache) this._injector.getInstance(VerdictCache.class);
+    }
+
+    private boolean isPackageFile(@Nonnull RepoPath repoPath) {
+        ArtifactIdResolver artifactIdResolver = (ArtifactIdResolver) this._injector
+                .getInstance(ArtifactIdResolver.class);
+        if (artifactIdResolver.isPackageFile(repoPath)) {
+            return true;
+        }
+
+        this._nonPackageFilesSkipped.increment();
+        this._logger.debug(String.format("Not a package file, skipping SCA. Artifact path: %s", repoPath.getPath()));
+        return false;
     }
 
-    private boolean addPackageRisks(@Nonnull RepoPath repoPath, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths) {
-        return this.addPackageRisks(repoPath, nonVirtualRepoPaths, false);
+    private ArtifactId resolveArtifactId(@Nonnull RepoPath repoPath) {
+        ArtifactRisksFiller artifactChecker = (ArtifactRisksFiller) this._injector
+                .getInstance(ArtifactRisksFiller.class);
+        return artifactChecker.resolveArtifactId(repoPath);
+    }
+
+    private ArrayList<RepoPath> getNonVirtualRepoPaths(RepoPath repoPath) {
+        ArtifactRisksFiller artifactChecker = (ArtifactRisksFiller) this._injector
+                .getInstance(ArtifactRisksFiller.class);
+        return artifactChecker.getNonVirtualRepoPaths(repoPath);
     }
 
     private boolean addPackageRisks(@Nonnull RepoPath repoPath, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths,
@@ -171,51 +408,116 @@ public class ScaPlugin {
                 return artifactChecker.addArtifactRisks(repoPath, nonVirtualRepoPaths, forceScan);
             }
         } catch (Exception var5) {
-            this._logger.error(String.format("SCA was unable to complete verification of: %s.\nException message: %s",
-                    repoPath.getName(), var5.getMessage()));
+            this.logVerificationFailure(repoPath, var5);
             return false;
         }
     }
 
-    private void checkRiskThreshold(@Nonnull RepoPath repoPath, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths) {
-        try {
-            SecurityThresholdChecker thresholdChecker = (SecurityThresholdChecker) this._injector
-                    .getInstance(SecurityThresholdChecker.class);
-            thresholdChecker.checkSecurityRiskThreshold(repoPath, nonVirtualRepoPaths);
-        } catch (CancelException var4) {
-            String scoreStr = this._repositories.getProperty(repoPath, PropertiesConstants.RISK_SCORE);
-            this._logger.warn(
-                    String.format("The download was blocked by security threshold configuration. " +
-                                    "Artifact path: %s, CVSS Score: %s",
-                            repoPath.getPath(), scoreStr));
-            throw var4;
-        } catch (Exception var5) {
-            this._logger.error(
-                    String.format("SCA was unable to complete the security risk threshold verification f" +
-                            "or the Artifact: %s.\nException: %s", repoPath.getName(), var5));
-        }
-
+    private void logVerificationFailure(@Nonnull RepoPath repoPath, Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        this._logger.error(String.format("SCA was unable to complete verification of: %s.\nException message: %s",
+                repoPath.getName(), cause.getMessage()));
     }
 
-    private void checkLicenseAllowance(@Nonnull RepoPath repoPath, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths) {
+    private DownloadVerdict evaluatePolicy(@Nonnull RepoPath repoPath, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths,
+                                           @Nonnull PolicySnapshot policySnapshot, ArtifactId cacheAs) {
         try {
-            LicenseAllowanceChecker licenseAllowanceChecker = (LicenseAllowanceChecker) this._injector
-                    .getInstance(LicenseAllowanceChecker.class);
-            licenseAllowanceChecker.checkLicenseAllowance(repoPath, nonVirtualRepoPaths);
-        } catch (CancelException var4) {
-            this._logger.warn(String.format("The download was blocked by license allowance configuration. " +
-                    "Artifact Name: %s", repoPath.getName()));
-            throw var4;
-        } catch (Exception var5) {
-            this._logger.error(String.format("SCA was unable to complete the license allowance verification " +
-                    "for the Artifact: %s.\nException: %s", repoPath.getName(), var5));
+            if (nonVirtualRepoPaths.size() > 1) {
+                this._logger.warn(String.format("More than one RepoPath found for the artifact: %s.",
+                        repoPath.getName()));
+            }
+
+            ArtifactIdResolver artifactIdResolver = (ArtifactIdResolver) this._injector
+                    .getInstance(ArtifactIdResolver.class);
+            long generation = cacheAs != null ? this.getVerdictCache().generation(cacheAs) : 0L;
+            RiskSnapshot risks = RiskSnapshot.read(this._repositories, nonVirtualRepoPaths);
+            DownloadVerdict verdict = policySnapshot.evaluate(artifactIdResolver.resolve(repoPath),
+                    artifactIdResolver.resolve(risks.getRepoPath()), risks);
+            if (cacheAs != null) {
+                this.getVerdictCache().put(cacheAs, repoPath, policySnapshot.getVersion(), verdict,
+                        risks.getLastScan(), generation);
+            }
+
+            return verdict;
+        } catch (Exception var6) {
+            this._logger.error(String.format("SCA was unable to complete the policy verification for the Artifact: " +
+                    "%s.\nException: %s", repoPath.getName(), var6));
+            return null;
         }
+    }
 
+    private void enforceVerdict(@Nonnull RepoPath repoPath, @Nonnull DownloadVerdict verdict) {
+        if (!verdict.isAllowed()) {
+            this._logger.warn(String.format("The download was blocked by the SCA policy. Artifact path: %s. %s",
+                    repoPath.getPath(), verdict.getReason()));
+            throw new CancelException(verdict.getReason(), 403);
+        }
     }
 
     public void scanArtifactsConcurrently(@Nonnull List<RepoPath> repoPaths, boolean forceScan) {
         ArtifactRisksFiller artifactRisksFiller = (ArtifactRisksFiller) this._injector
                 .getInstance(ArtifactRisksFiller.class);
         artifactRisksFiller.scanArtifactsConcurrently(repoPaths, forceScan);
+        if (forceScan) {
+            this.getVerdictCache().invalidateAll();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        ArtifactRisksFiller artifactRisksFiller = (ArtifactRisksFiller) this._injector
+                .getInstance(ArtifactRisksFiller.class);
+        ScanResultStore scanResultStore = (ScanResultStore) this._injector.getInstance(ScanResultStore.class);
+        NegativeCache negativeCache = (NegativeCache) this._injector.getInstance(NegativeCache.class);
+        PackagistCache packagistCache = (PackagistCache) this._injector.getInstance(PackagistCache.class);
+        AdaptiveConcurrencyLimiter concurrencyLimiter = (AdaptiveConcurrencyLimiter) this._injector
+                .getInstance(AdaptiveConcurrencyLimiter.class);
+        RetryPolicy retryPolicy = (RetryPolicy) this._injector.getInstance(RetryPolicy.class);
+        CircuitBreaker circuitBreaker = this.getCircuitBreaker();
+        RequestHedger requestHedger = (RequestHedger) this._injector.getInstance(RequestHedger.class);
+        ScaRateLimiter rateLimiter = (ScaRateLimiter) this._injector.getInstance(ScaRateLimiter.class);
+        ConditionalRequestCache conditionalRequestCache = (ConditionalRequestCache) this._injector
+                .getInstance(ConditionalRequestCache.class);
+        ArtifactIdResolver artifactIdResolver = (ArtifactIdResolver) this._injector
+                .getInstance(ArtifactIdResolver.class);
+        PolicyStore policyStore = this.getPolicyStore();
+        PolicySnapshot policy = policyStore.current();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("policyVersion", policy.getVersion());
+        statistics.put("policyLoadedAt", Instant.ofEpochMilli(policy.getLoadedAtMillis()).toString());
+        statistics.put("policyReloadFailures", policyStore.getReloadFailures());
+        statistics.put("verdictCacheSize", this.getVerdictCache().size());
+        statistics.put("verdictCacheHits", this.getVerdictCache().getHits());
+        statistics.put("scanResultStoreSize", scanResultStore.size());
+        statistics.put("artifactIdCacheSize", artifactIdResolver.size());
+        statistics.put("artifactIdCacheHits", artifactIdResolver.getHits());
+        statistics.put("artifactIdCacheMisses", artifactIdResolver.getMisses());
+        statistics.put("notFoundCacheSize", negativeCache.size());
+        statistics.put("notFoundSuppressedCalls", negativeCache.suppressedCalls());
+        statistics.put("packagistCacheSize", packagistCache.size());
+        statistics.put("packagistCacheHits", packagistCache.getHits());
+        statistics.put("packagistDownloads", packagistCache.getDownloads());
+        statistics.put("packagistNotModified", packagistCache.getNotModified());
+        statistics.put("coalescedScans", artifactRisksFiller.getCoalescedScans());
+        statistics.put("unchangedRescans", artifactRisksFiller.getUnchangedRescans());
+        statistics.put("apiNotModified", conditionalRequestCache.getNotModified());
+        statistics.put("apiConcurrencyLimit", concurrencyLimiter.getLimit());
+        statistics.put("apiRequestsInFlight", concurrencyLimiter.getInFlight());
+        statistics.put("apiQueueDepth", concurrencyLimiter.getQueueDepth());
+        statistics.put("apiInteractiveQueueDepth", concurrencyLimiter.getQueueDepth(TrafficClass.INTERACTIVE));
+        statistics.put("apiRetries", retryPolicy.getRetries());
+        statistics.put("apiSuccessesAfterRetry", retryPolicy.getSuccessesAfterRetry());
+        statistics.put("apiRetryBudgetExhausted", retryPolicy.getBudgetExhausted());
+        statistics.put("apiRetryBudgetTokens", retryPolicy.getBudgetTokens());
+        statistics.put("circuitBreakerState", circuitBreaker.getState().name());
+        statistics.put("circuitBreakerFailureRate", circuitBreaker.getFailureRate());
+        statistics.put("circuitBreakerSlowCallRate", circuitBreaker.getSlowCallRate());
+        statistics.put("circuitBreakerRejectedCalls", circuitBreaker.getRejectedCalls());
+        statistics.put("circuitBreakerOpenPolicy", circuitBreaker.getOpenPolicy().name());
+        statistics.put("downloadLatencyBudgetExceeded", this._latencyBudgetExceeded.sum());
+        statistics.put("nonPackageFilesSkipped", this._nonPackageFilesSkipped.sum());
+        statistics.put("apiLatency", requestHedger.getStatistics());
+        statistics.put("apiRateLimit", rateLimiter.getStatistics());
+        return statistics;
     }
 }
@@ -0,0 +1,85 @@
+package com.checkmarx.sca.cache;
+
+/**
+ * Count-min sketch with 4-bit counters used as the TinyLFU admission filter.
+ * Counters are halved once the number of recorded hits reaches ten times the
+ * sketch width, so the estimate favours recent popularity.
+ */
+class FrequencySketch {
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int[] SEEDS = new int[]{0x97cb3127, 0xb1a8f4d3, 0x5f3759df, 0x2c1b3c6d};
+
+    private final long[] _table;
+    private final int _tableMask;
+    private final int _sampleSize;
+    private int _size;
+
+    FrequencySketch(int maximumSize) {
+        int width = ceilingPowerOfTwo(Math.max(maximumSize, 16));
+        this._table = new long[width];
+        this._tableMask = width - 1;
+        this._sampleSize = 10 * width;
+    }
+
+    int frequency(Object item) {
+        int hash = spread(item.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = this.indexOf(hash, i);
+            int offset = this.offsetOf(hash, i);
+            int count = (int) ((this._table[index] >>> offset) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+
+        return frequency;
+    }
+
+    void increment(Object item) {
+        int hash = spread(item.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int index = this.indexOf(hash, i);
+            int offset = this.offsetOf(hash, i);
+            long mask = 0xfL << offset;
+            if ((this._table[index] & mask) != mask) {
+                this._table[index] += 1L << offset;
+                added = true;
+            }
+        }
+
+        if (added && ++this._size == this._sampleSize) {
+            this.reset();
+        }
+    }
+
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < this._table.length; i++) {
+            odd += Long.bitCount(this._table[i] & ONE_MASK);
+            this._table[i] = (this._table[i] >>> 1) & RESET_MASK;
+        }
+
+        this._size = (this._size >>> 1) - (odd >>> 2);
+    }
+
+    private int indexOf(int hash, int depth) {
+        long h = (long) (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> 32;
+        return (int) h & this._tableMask;
+    }
+
+    private int offsetOf(int hash, int depth) {
+        return (((hash >>> (depth << 3)) & 3) << 2) + (depth << 4);
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+}
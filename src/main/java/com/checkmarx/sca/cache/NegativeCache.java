@@ -0,0 +1,43 @@
+package com.checkmarx.sca.cache;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.ArtifactId;
+import com.google.inject.Inject;
+
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+public class NegativeCache {
+    private final ScanResultStore _scanResultStore;
+    private final long _timeToLiveMillis;
+    private final LongAdder _suppressedCalls = new LongAdder();
+
+    @Inject
+    public NegativeCache(@Nonnull ScanResultStore scanResultStore, @Nonnull PluginConfiguration configuration) {
+        this._scanResultStore = scanResultStore;
+        this._timeToLiveMillis = configuration.getIntegerOrDefault(ConfigurationEntry.NOT_FOUND_EXPIRATION_TIME) * 1000L;
+    }
+
+    public boolean isKnownMissing(@Nonnull ArtifactId artifactId) {
+        Long recordedAt = this._scanResultStore.getNotFound(artifactId);
+        if (recordedAt != null && System.currentTimeMillis() < recordedAt + this._timeToLiveMillis) {
+            this._suppressedCalls.increment();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public void recordMissing(@Nonnull ArtifactId artifactId) {
+        this._scanResultStore.putNotFound(artifactId, System.currentTimeMillis());
+    }
+
+    public int size() {
+        return this._scanResultStore.notFoundSize();
+    }
+
+    public long suppressedCalls() {
+        return this._suppressedCalls.sum();
+    }
+}
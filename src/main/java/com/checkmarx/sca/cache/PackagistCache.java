@@ -0,0 +1,133 @@
+package com.checkmarx.sca.cache;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.google.inject.Inject;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps the packagist metadata used to resolve Composer artifacts: per package, the commit reference to version
+ * index together with the validators (ETag, Last-Modified) of the document it was built from, and the names
+ * found by the Composer fallback search. An index is trusted for packagist.cache.revalidate-after seconds,
+ * after that it is revalidated with a conditional request. Known references are always served from the cache.
+ */
+public class PackagistCache {
+    private static final long INDEX_RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private final TinyLfuCache<String, PackageIndex> _indexes;
+    private final TinyLfuCache<String, FallbackName> _fallbackNames;
+    private final long _revalidateAfterMillis;
+    private final LongAdder _hits = new LongAdder();
+    private final LongAdder _downloads = new LongAdder();
+    private final LongAdder _notModified = new LongAdder();
+
+    @Inject
+    public PackagistCache(@Nonnull PluginConfiguration configuration) {
+        int maximumSize = configuration.getIntegerOrDefault(ConfigurationEntry.PACKAGIST_CACHE_MAXIMUM_SIZE);
+        this._revalidateAfterMillis = configuration
+                .getIntegerOrDefault(ConfigurationEntry.PACKAGIST_CACHE_REVALIDATE_AFTER) * 1000L;
+        this._indexes = new TinyLfuCache<>(maximumSize, INDEX_RETENTION_MILLIS);
+        this._fallbackNames = new TinyLfuCache<>(maximumSize, this._revalidateAfterMillis);
+    }
+
+    public PackageIndex getPackageIndex(@Nonnull String packageName) {
+        return this._indexes.get(packageName);
+    }
+
+    public String getVersion(PackageIndex index, @Nonnull String commitReference) {
+        String version = index != null ? index.getVersion(commitReference) : null;
+        if (version != null) {
+            this._hits.increment();
+        }
+
+        return version;
+    }
+
+    public boolean needsRevalidation(PackageIndex index) {
+        return index == null || System.currentTimeMillis() >= index._validatedAtMillis + this._revalidateAfterMillis;
+    }
+
+    public void putPackageIndex(@Nonnull String packageName, @Nonnull PackageIndex index) {
+        this._downloads.increment();
+        this._indexes.put(packageName, index);
+    }
+
+    public void markNotModified(@Nonnull PackageIndex index) {
+        this._notModified.increment();
+        index._validatedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the result of a previous fallback search for the name, or null if the name was not searched recently.
+     */
+    public FallbackName getFallbackName(@Nonnull String name) {
+        return this._fallbackNames.get(name);
+    }
+
+    public void putFallbackName(@Nonnull String name, String fallbackName) {
+        this._fallbackNames.put(name, new FallbackName(fallbackName));
+    }
+
+    public int size() {
+        return this._indexes.size();
+    }
+
+    public long getHits() {
+        return this._hits.sum();
+    }
+
+    public long getDownloads() {
+        return this._downloads.sum();
+    }
+
+    public long getNotModified() {
+        return this._notModified.sum();
+    }
+
+    /**
+     * Outcome of a Composer fallback search, which may have found no alternative name.
+     */
+    public static final class FallbackName {
+        private final String _name;
+
+        private FallbackName(String name) {
+            this._name = name;
+        }
+
+        public Optional<String> getName() {
+            return Optional.ofNullable(this._name);
+        }
+    }
+
+    public static final class PackageIndex {
+        private final Map<String, String> _versionsByReference;
+        private final String _etag;
+        private final String _lastModified;
+        private volatile long _validatedAtMillis;
+
+        public PackageIndex(@Nonnull Map<String, String> versionsByReference, String etag, String lastModified) {
+            this._versionsByReference = versionsByReference;
+            this._etag = etag;
+            this._lastModified = lastModified;
+            this._validatedAtMillis = System.currentTimeMillis();
+        }
+
+        public String getVersion(@Nonnull String commitReference) {
+            return this._versionsByReference.get(commitReference.toLowerCase(Locale.ROOT));
+        }
+
+        public String getEtag() {
+            return this._etag;
+        }
+
+        public String getLastModified() {
+            return this._lastModified;
+        }
+    }
+}
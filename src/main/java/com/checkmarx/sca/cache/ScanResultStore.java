@@ -0,0 +1,521 @@
+package com.checkmarx.sca.cache;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.ArtifactId;
+import com.checkmarx.sca.models.ScanResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+
+/**
+ * Append-only, memory-mapped log of scan results and "package not found" answers, indexed in memory by
+ * ArtifactId.
+ * <p>
+ * Each record is laid out as {@code [length][crc32][payload]} and padded to four bytes. The length is
+ * written last, so a record interrupted by a crash is seen as the zeroed tail of the log and dropped on
+ * the next {@link #load()}. Superseded and expired records are removed by {@link #compact()}, which rewrites the
+ * live records into a temporary file and atomically replaces the log. A mapping is released explicitly as soon as
+ * it is replaced or the store is closed, because a file that is still mapped cannot be replaced on Windows.
+ * <p>
+ * The index is only changed under the lock that orders the appends, so the order of the records in the log is
+ * the order in which the index was updated.
+ * <p>
+ * The log is owned by a single store at a time through a lock on {@code cxsca-scan-results.db.lock}. A store that
+ * cannot take the lock, because another Artifactory process or a plugin instance that was not closed owns it, keeps
+ * its scan results in memory only.
+ */
+public class ScanResultStore implements Closeable {
+    private static final String STORE_FILE = "cxsca-scan-results.db";
+    private static final String LOCK_FILE = STORE_FILE + ".lock";
+    private static final int MAGIC = 0x43785343;
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int INITIAL_CAPACITY = 1 << 20;
+    private static final byte SCAN_RESULT_RECORD = 1;
+    private static final byte NOT_FOUND_RECORD = 2;
+
+    private final Logger _logger;
+    private final Path _path;
+    private final Path _lockPath;
+    private final boolean _enabled;
+    private final long _compactionInterval;
+    private final long _timeToLiveMillis;
+    private final long _notFoundTimeToLiveMillis;
+    private final Map<ArtifactId, ScanResult> _index = new ConcurrentHashMap<>();
+    private final Map<ArtifactId, Long> _notFoundIndex = new ConcurrentHashMap<>();
+    private final Object _lock = new Object();
+    private ScheduledExecutorService _maintenanceExecutor;
+    private FileChannel _lockChannel;
+    private FileLock _fileLock;
+    private FileChannel _channel;
+    private MappedByteBuffer _buffer;
+    private int _writePosition;
+    private int _recordCount;
+
+    public ScanResultStore(@Nonnull File pluginsDirectory, @Nonnull PluginConfiguration configuration) {
+        this._logger = configuration.getLogger();
+        this._path = new File(pluginsDirectory, STORE_FILE).toPath();
+        this._lockPath = new File(pluginsDirectory, LOCK_FILE).toPath();
+        this._enabled = Boolean.parseBoolean(configuration.getPropertyOrDefault(ConfigurationEntry.SCAN_RESULT_STORE_ENABLED));
+        this._compactionInterval = configuration.getIntegerOrDefault(ConfigurationEntry.SCAN_RESULT_STORE_COMPACTION_INTERVAL);
+        this._timeToLiveMillis = configuration.getDataExpirationTime() * 1000L;
+        this._notFoundTimeToLiveMillis = configuration.getIntegerOrDefault(ConfigurationEntry.NOT_FOUND_EXPIRATION_TIME)
+                * 1000L;
+    }
+
+    public void load() {
+        if (!this._enabled) {
+            this._logger.debug("Scan result store disabled, scan results will only be kept in memory.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        synchronized (this._lock) {
+            try {
+                if (!this.acquireLock()) {
+                    this._logger.warn(String.format("The scan result store %s is used by another plugin instance or " +
+                            "process, scan results will only be kept in memory.", this._path));
+                    this.releaseLock();
+                    return;
+                }
+
+                this.open();
+                this.recover(true);
+                this.removeExpired(System.currentTimeMillis());
+            } catch (IOException var6) {
+                this._logger.error(String.format("Failed to load the scan result store %s, scan results will only be " +
+                        "kept in memory. Exception Message: %s.", this._path, var6.getMessage()));
+                this.closeChannel();
+                this.releaseLock();
+                return;
+            }
+        }
+
+        this._logger.info(String.format("Loaded %d scan results and %d not found packages from %s in %d ms.",
+                this._index.size(), this._notFoundIndex.size(), this._path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        this.scheduleMaintenance();
+    }
+
+    public ScanResult get(@Nonnull ArtifactId artifactId) {
+        return this._index.get(artifactId);
+    }
+
+    public int size() {
+        return this._index.size();
+    }
+
+    public Long getNotFound(@Nonnull ArtifactId artifactId) {
+        return this._notFoundIndex.get(artifactId);
+    }
+
+    public int notFoundSize() {
+        return this._notFoundIndex.size();
+    }
+
+    public void put(@Nonnull ArtifactId artifactId, @Nonnull ScanResult scanResult) {
+        this.persist(artifactId, () -> {
+            this._index.put(artifactId, scanResult);
+            this._notFoundIndex.remove(artifactId);
+        }, () -> encode(artifactId, scanResult));
+    }
+
+    public void putNotFound(@Nonnull ArtifactId artifactId, long recordedAt) {
+        this.persist(artifactId, () -> this._notFoundIndex.put(artifactId, recordedAt),
+                () -> encodeNotFound(artifactId, recordedAt));
+    }
+
+    private void persist(ArtifactId artifactId, Runnable indexUpdate, RecordEncoder encoder) {
+        synchronized (this._lock) {
+            indexUpdate.run();
+            if (this._buffer == null) {
+                return;
+            }
+
+            try {
+                this.append(encoder.encode());
+            } catch (IOException var6) {
+                this._logger.error(String.format("Failed to persist the scan result of %s. Exception Message: %s.",
+                        artifactId, var6.getMessage()));
+            }
+        }
+    }
+
+    public void compact() {
+        synchronized (this._lock) {
+            if (this._buffer == null) {
+                return;
+            }
+
+            Path compactedPath = this._path.resolveSibling(STORE_FILE + ".compact");
+            try {
+                this.removeExpired(System.currentTimeMillis());
+                List<byte[]> records = new ArrayList<>(this._index.size() + this._notFoundIndex.size());
+                for (Map.Entry<ArtifactId, ScanResult> entry : this._index.entrySet()) {
+                    records.add(encode(entry.getKey(), entry.getValue()));
+                }
+
+                for (Map.Entry<ArtifactId, Long> entry : this._notFoundIndex.entrySet()) {
+                    records.add(encodeNotFound(entry.getKey(), entry.getValue()));
+                }
+
+                this.writeCompacted(compactedPath, records);
+                this.closeChannel();
+                Files.move(compactedPath, this._path, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+                this.open();
+                this.recover(false);
+                this._logger.debug(String.format("Scan result store compacted to %d records.", this._recordCount));
+            } catch (IOException var4) {
+                this._logger.error(String.format("Failed to compact the scan result store. Exception Message: %s.",
+                        var4.getMessage()));
+                try {
+                    Files.deleteIfExists(compactedPath);
+                    if (this._channel == null) {
+                        this.open();
+                        this.recover(false);
+                    }
+                } catch (IOException var3) {
+                    this._logger.error("Scan result store could not be reopened, scan results will only be kept " +
+                            "in memory.");
+                    this.closeChannel();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the scan results older than the data expiration time and the "not found" answers older than the not
+     * found expiration time from the index, so they are not written back by the next compaction.
+     */
+    public int removeExpired(long nowMillis) {
+        int removed = 0;
+        for (Map.Entry<ArtifactId, ScanResult> entry : this._index.entrySet()) {
+            if (!entry.getValue().isFresh(this._timeToLiveMillis, nowMillis)
+                    && this._index.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+
+        for (Map.Entry<ArtifactId, Long> entry : this._notFoundIndex.entrySet()) {
+            if (nowMillis >= entry.getValue() + this._notFoundTimeToLiveMillis
+                    && this._notFoundIndex.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    public void flush() {
+        synchronized (this._lock) {
+            if (this._buffer != null) {
+                this._buffer.force();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this._maintenanceExecutor != null) {
+            this._maintenanceExecutor.shutdownNow();
+        }
+
+        synchronized (this._lock) {
+            this.flush();
+            this.closeChannel();
+            this.releaseLock();
+        }
+    }
+
+    private boolean acquireLock() throws IOException {
+        this._lockChannel = FileChannel.open(this._lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            this._fileLock = this._lockChannel.tryLock();
+        } catch (OverlappingFileLockException var2) {
+            this._fileLock = null;
+        }
+
+        return this._fileLock != null;
+    }
+
+    private void releaseLock() {
+        if (this._lockChannel != null) {
+            try {
+                this._lockChannel.close();
+            } catch (IOException var2) {
+                this._logger.debug("Failed to release the scan result store lock.", var2);
+            }
+
+            this._lockChannel = null;
+            this._fileLock = null;
+        }
+    }
+
+    private void scheduleMaintenance() {
+        if (this._compactionInterval <= 0) {
+            return;
+        }
+
+        this._maintenanceExecutor = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "cxsca-scan-result-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this._maintenanceExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                this.flush();
+                this.removeExpired(System.currentTimeMillis());
+                if (this._recordCount > 2 * (this._index.size() + this._notFoundIndex.size())) {
+                    this.compact();
+                }
+            } catch (Exception var2) {
+                this._logger.error(String.format("Scan result store maintenance failed. Exception Message: %s.",
+                        var2.getMessage()));
+            }
+        }, this._compactionInterval, this._compactionInterval, TimeUnit.SECONDS);
+    }
+
+    private void open() throws IOException {
+        this._channel = FileChannel.open(this._path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long capacity = Math.max(this._channel.size(), INITIAL_CAPACITY);
+        this._buffer = this._channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * Validates the log and positions the next append after its last complete record. The records are only applied
+     * to the index when the log is loaded; after a compaction the index is already newer than the log it was
+     * written from.
+     */
+    private void recover(boolean applyRecords) throws IOException {
+        int magic = this._buffer.getInt(0);
+        int version = this._buffer.getInt(4);
+        if (magic == 0 && version == 0) {
+            this._buffer.putInt(0, MAGIC);
+            this._buffer.putInt(4, FORMAT_VERSION);
+        } else if (magic != MAGIC || version != FORMAT_VERSION) {
+            throw new IOException(String.format("Unrecognized scan result store format in %s", this._path));
+        }
+
+        int position = FILE_HEADER_SIZE;
+        int recordCount = 0;
+        while (position + RECORD_HEADER_SIZE <= this._buffer.capacity()) {
+            int length = this._buffer.getInt(position);
+            if (length <= 0 || length > this._buffer.capacity() - position - RECORD_HEADER_SIZE) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            ByteBuffer record = this._buffer.duplicate();
+            record.position(position + RECORD_HEADER_SIZE);
+            record.get(payload);
+            if (this._buffer.getInt(position + 4) != checksum(payload)) {
+                this._logger.warn(String.format("Discarding a torn record at offset %d of the scan result store.",
+                        position));
+                break;
+            }
+
+            if (applyRecords) {
+                this.apply(payload);
+            }
+
+            recordCount++;
+            position += align(RECORD_HEADER_SIZE + length);
+        }
+
+        for (int i = position; i < this._buffer.capacity(); i++) {
+            if (this._buffer.get(i) != 0) {
+                this._buffer.put(i, (byte) 0);
+            }
+        }
+
+        this._writePosition = position;
+        this._recordCount = recordCount;
+    }
+
+    private void append(byte[] payload) throws IOException {
+        int recordSize = align(RECORD_HEADER_SIZE + payload.length);
+        if (this._writePosition + recordSize + RECORD_HEADER_SIZE > this._buffer.capacity()) {
+            long capacity = Math.max(2L * this._buffer.capacity(),
+                    (long) this._writePosition + recordSize + RECORD_HEADER_SIZE);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IOException("Scan result store is full.");
+            }
+
+            MappedByteBuffer previous = this._buffer;
+            previous.force();
+            this._buffer = this._channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            this.unmap(previous);
+        }
+
+        ByteBuffer record = this._buffer.duplicate();
+        record.position(this._writePosition + RECORD_HEADER_SIZE);
+        record.put(payload);
+        this._buffer.putInt(this._writePosition + 4, checksum(payload));
+        this._buffer.putInt(this._writePosition, payload.length);
+        this._writePosition += recordSize;
+        this._recordCount++;
+    }
+
+    private void writeCompacted(Path compactedPath, List<byte[]> records) throws IOException {
+        try (FileChannel channel = FileChannel.open(compactedPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            channel.write(header);
+            for (byte[] payload : records) {
+                ByteBuffer record = ByteBuffer.allocate(align(RECORD_HEADER_SIZE + payload.length));
+                record.putInt(payload.length).putInt(checksum(payload)).put(payload).rewind();
+                channel.write(record);
+            }
+
+            channel.force(true);
+        }
+    }
+
+    private void apply(byte[] payload) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte type = input.readByte();
+            ArtifactId artifactId = new ArtifactId(input.readUTF(), input.readUTF(), input.readUTF());
+            if (type == NOT_FOUND_RECORD) {
+                this._notFoundIndex.put(artifactId, input.readLong());
+                return;
+            } else if (type != SCAN_RESULT_RECORD) {
+                return;
+            }
+
+            int totalRisks = input.readInt();
+            int lowRisks = input.readInt();
+            int mediumRisks = input.readInt();
+            int highRisks = input.readInt();
+            double riskScore = input.readDouble();
+            String riskLevel = input.readUTF();
+            int licenseCount = input.readUnsignedShort();
+            List<String> licenses = new ArrayList<>(licenseCount);
+            for (int i = 0; i < licenseCount; i++) {
+                licenses.add(input.readUTF());
+            }
+
+            long scannedAt = input.readLong();
+            this._index.put(artifactId, new ScanResult(totalRisks, lowRisks, mediumRisks, highRisks, riskScore,
+                    riskLevel, licenses, scannedAt));
+            this._notFoundIndex.remove(artifactId);
+        }
+    }
+
+    private static byte[] encode(ArtifactId artifactId, ScanResult scanResult) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(SCAN_RESULT_RECORD);
+            output.writeUTF(artifactId.PackageType);
+            output.writeUTF(artifactId.Name);
+            output.writeUTF(artifactId.Version);
+            output.writeInt(scanResult.getTotalRisks());
+            output.writeInt(scanResult.getLowRisks());
+            output.writeInt(scanResult.getMediumRisks());
+            output.writeInt(scanResult.getHighRisks());
+            output.writeDouble(scanResult.getRiskScore());
+            output.writeUTF(scanResult.getRiskLevel() == null ? "" : scanResult.getRiskLevel());
+            output.writeShort(scanResult.getLicenses().size());
+            for (String license : scanResult.getLicenses()) {
+                output.writeUTF(license);
+            }
+
+            output.writeLong(scanResult.getScannedAt());
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeNotFound(ArtifactId artifactId, long recordedAt) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(NOT_FOUND_RECORD);
+            output.writeUTF(artifactId.PackageType);
+            output.writeUTF(artifactId.Name);
+            output.writeUTF(artifactId.Version);
+            output.writeLong(recordedAt);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private void closeChannel() {
+        MappedByteBuffer buffer = this._buffer;
+        this._buffer = null;
+        if (buffer != null) {
+            this.unmap(buffer);
+        }
+
+        if (this._channel != null) {
+            try {
+                this._channel.close();
+            } catch (IOException var2) {
+                this._logger.debug("Failed to close the scan result store.", var2);
+            }
+
+            this._channel = null;
+        }
+    }
+
+    /**
+     * Releases the mapping now rather than when the buffer is garbage collected. Java 11 has no public API for it,
+     * so the cleaner is invoked through {@code sun.misc.Unsafe}; when that is not available the mapping is left to
+     * the garbage collector. The buffer must not be used afterwards, which holds because it is only reachable
+     * under {@code _lock}.
+     */
+    private void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException var3) {
+            this._logger.debug("Failed to unmap the scan result store, the mapping is released by the garbage " +
+                    "collector.", var3);
+        }
+    }
+
+    private interface RecordEncoder {
+        byte[] encode() throws IOException;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    private static int align(int size) {
+        return (size + 3) & ~3;
+    }
+}
@@ -0,0 +1,158 @@
+package com.checkmarx.sca.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nonnull;
+
+/**
+ * Bounded on-heap cache with a small LRU admission window in front of a main
+ * LRU region. Entries evicted from the window only enter the main region when
+ * the {@link FrequencySketch} estimates them as more popular than the main
+ * region victim (W-TinyLFU). Every entry carries its own expiration instant.
+ */
+public class TinyLfuCache<K, V> {
+    private final Object _lock = new Object();
+    private final FrequencySketch _sketch;
+    private final LinkedHashMap<K, Node<V>> _window;
+    private final LinkedHashMap<K, Node<V>> _main;
+    private final int _windowCapacity;
+    private final int _mainCapacity;
+    private final long _timeToLiveMillis;
+
+    public TinyLfuCache(int maximumSize, long timeToLiveMillis) {
+        int capacity = Math.max(maximumSize, 2);
+        this._windowCapacity = Math.max(1, capacity / 100);
+        this._mainCapacity = capacity - this._windowCapacity;
+        this._timeToLiveMillis = timeToLiveMillis;
+        this._sketch = new FrequencySketch(capacity);
+        this._window = new LinkedHashMap<>(16, 0.75f, true);
+        this._main = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public V get(@Nonnull K key) {
+        synchronized (this._lock) {
+            this._sketch.increment(key);
+            Node<V> node = this._window.get(key);
+            if (node == null) {
+                node = this._main.get(key);
+            }
+
+            if (node == null) {
+                return null;
+            } else if (node.isExpired(System.currentTimeMillis())) {
+                this.remove(key);
+                return null;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    public void put(@Nonnull K key, @Nonnull V value) {
+        this.put(key, value, System.currentTimeMillis());
+    }
+
+    public void put(@Nonnull K key, @Nonnull V value, long createdAtMillis) {
+        Node<V> node = new Node<>(value, createdAtMillis + this._timeToLiveMillis);
+        if (node.isExpired(System.currentTimeMillis())) {
+            return;
+        }
+
+        synchronized (this._lock) {
+            this.store(key, node);
+        }
+    }
+
+    /**
+     * Replaces the value of the key with the result of the function, which receives the current value or null when
+     * there is none. The function runs under the lock of the cache, so no other update or invalidation of the key
+     * interleaves with it. Nothing is stored when it returns null.
+     */
+    public void compute(@Nonnull K key, @Nonnull UnaryOperator<V> remapping, long createdAtMillis) {
+        long now = System.currentTimeMillis();
+        synchronized (this._lock) {
+            Node<V> current = this._window.get(key);
+            if (current == null) {
+                current = this._main.get(key);
+            }
+
+            V value = remapping.apply(current == null || current.isExpired(now) ? null : current.value);
+            Node<V> node = value == null ? null : new Node<>(value, createdAtMillis + this._timeToLiveMillis);
+            if (node != null && !node.isExpired(now)) {
+                this.store(key, node);
+            }
+        }
+    }
+
+    public void invalidate(@Nonnull K key) {
+        synchronized (this._lock) {
+            this.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (this._lock) {
+            this._window.clear();
+            this._main.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (this._lock) {
+            return this._window.size() + this._main.size();
+        }
+    }
+
+    private void store(K key, Node<V> node) {
+        if (this._main.containsKey(key)) {
+            this._main.put(key, node);
+            return;
+        }
+
+        this._sketch.increment(key);
+        this._window.put(key, node);
+        if (this._window.size() > this._windowCapacity) {
+            this.evictFromWindow();
+        }
+    }
+
+    private void remove(K key) {
+        if (this._window.remove(key) == null) {
+            this._main.remove(key);
+        }
+    }
+
+    private void evictFromWindow() {
+        Iterator<Map.Entry<K, Node<V>>> windowIterator = this._window.entrySet().iterator();
+        Map.Entry<K, Node<V>> candidate = windowIterator.next();
+        windowIterator.remove();
+        if (this._main.size() < this._mainCapacity) {
+            this._main.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+
+        Iterator<Map.Entry<K, Node<V>>> mainIterator = this._main.entrySet().iterator();
+        Map.Entry<K, Node<V>> victim = mainIterator.next();
+        if (victim.getValue().isExpired(System.currentTimeMillis())
+                || this._sketch.frequency(candidate.getKey()) > this._sketch.frequency(victim.getKey())) {
+            mainIterator.remove();
+            this._main.put(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Node(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired(long nowMillis) {
+            return nowMillis >= this.expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.checkmarx.sca.cache;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.ArtifactId;
+import com.checkmarx.sca.models.DownloadVerdict;
+import com.google.inject.Inject;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+import org.artifactory.repo.RepoPath;
+
+/**
+ * Keeps the verdicts of each artifact per requested path, together with the version of the policy they were
+ * evaluated with. The requested path determines the repository, the non-virtual paths whose ignore flags apply and
+ * the layout the allow list is matched with, so a verdict is only reused for the path it was computed for. A verdict
+ * of another policy version is never returned, and a verdict does not outlive the scan data it was computed from.
+ * The verdicts of an artifact are invalidated together when its scan data or SCA properties change. Every
+ * invalidation advances a generation of the artifact, and a verdict is only stored when the generation read
+ * before its properties were read is still current, so a verdict of outdated properties never outlives an
+ * invalidation that happened while it was evaluated.
+ */
+public class VerdictCache {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final TinyLfuCache<ArtifactId, Verdicts> _cache;
+    private final AtomicLongArray _generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final long _timeToLiveMillis;
+    private final LongAdder _hits = new LongAdder();
+
+    @Inject
+    public VerdictCache(@Nonnull PluginConfiguration configuration) {
+        int maximumSize = configuration.getIntegerOrDefault(ConfigurationEntry.VERDICT_CACHE_MAXIMUM_SIZE);
+        this._timeToLiveMillis = configuration.getDataExpirationTime() * 1000L;
+        this._cache = new TinyLfuCache<>(maximumSize, this._timeToLiveMillis);
+    }
+
+    public DownloadVerdict get(@Nonnull ArtifactId artifactId, @Nonnull RepoPath repoPath, long policyVersion) {
+        Verdicts verdicts = this._cache.get(artifactId);
+        Entry entry = verdicts == null ? null : verdicts.get(repoPath.toPath());
+        if (entry == null || entry.policyVersion != policyVersion
+                || System.currentTimeMillis() >= entry.expiresAtMillis) {
+            return null;
+        }
+
+        this._hits.increment();
+        return entry.verdict;
+    }
+
+    /**
+     * Returns the invalidation generation of the artifact, to be read before the properties a verdict is
+     * evaluated from and passed to {@link #put}. Artifacts share a generation when their hashes fall into the same
+     * stripe, which only causes a verdict to be skipped needlessly.
+     */
+    public long generation(@Nonnull ArtifactId artifactId) {
+        return this._generations.get(stripe(artifactId));
+    }
+
+    /**
+     * Caches the verdict until the scan data it was evaluated from expires, {@code lastScan} being the
+     * {@code CxSCA.LastScanned} property of that data. A verdict without a valid scan date, or one whose artifact
+     * was invalidated since {@code generation} was read, is not cached.
+     */
+    public void put(@Nonnull ArtifactId artifactId, @Nonnull RepoPath repoPath, long policyVersion,
+                    @Nonnull DownloadVerdict verdict, String lastScan, long generation) {
+        long now = System.currentTimeMillis();
+        long expiresAtMillis;
+        try {
+            expiresAtMillis = lastScan == null ? now
+                    : Math.min(now + this._timeToLiveMillis, Instant.parse(lastScan.trim()).toEpochMilli()
+                    + this._timeToLiveMillis);
+        } catch (DateTimeParseException var12) {
+            expiresAtMillis = now;
+        }
+
+        if (expiresAtMillis <= now) {
+            return;
+        }
+
+        Entry entry = new Entry(policyVersion, verdict, expiresAtMillis);
+        int stripe = stripe(artifactId);
+        this._cache.compute(artifactId, (verdicts) -> this._generations.get(stripe) != generation ? verdicts
+                : (verdicts == null ? Verdicts.EMPTY : verdicts).with(repoPath.toPath(), entry), now);
+    }
+
+    /**
+     * Advances the generation before removing the verdicts, so a put that read the previous generation either
+     * sees the new one or is removed by the invalidation that follows it.
+     */
+    public void invalidate(@Nonnull ArtifactId artifactId) {
+        this._generations.incrementAndGet(stripe(artifactId));
+        this._cache.invalidate(artifactId);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            this._generations.incrementAndGet(i);
+        }
+
+        this._cache.invalidateAll();
+    }
+
+    public int size() {
+        return this._cache.size();
+    }
+
+    public long getHits() {
+        return this._hits.sum();
+    }
+
+    private static int stripe(ArtifactId artifactId) {
+        int hash = artifactId.hashCode();
+        return (hash ^ hash >>> 16) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * The verdicts of an artifact by requested path. Instances are never modified once they are in the cache.
+     */
+    private static final class Verdicts {
+        private static final Verdicts EMPTY = new Verdicts(Map.of());
+
+        private final Map<String, Entry> _byRepoPath;
+
+        private Verdicts(Map<String, Entry> byRepoPath) {
+            this._byRepoPath = byRepoPath;
+        }
+
+        private Entry get(String repoPath) {
+            return this._byRepoPath.get(repoPath);
+        }
+
+        private Verdicts with(String repoPath, Entry entry) {
+            Map<String, Entry> byRepoPath = new HashMap<>(this._byRepoPath);
+            byRepoPath.put(repoPath, entry);
+            return new Verdicts(byRepoPath);
+        }
+    }
+
+    private static final class Entry {
+        private final long policyVersion;
+        private final DownloadVerdict verdict;
+        private final long expiresAtMillis;
+
+        private Entry(long policyVersion, DownloadVerdict verdict, long expiresAtMillis) {
+            this.policyVersion = policyVersion;
+            this.verdict = verdict;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -4,12 +4,12 @@ import com.checkmarx.sca.communication.exceptions.AuthenticationFailedException;
 import com.checkmarx.sca.communication.exceptions.FailedToRefreshTokenException;
 import com.checkmarx.sca.communication.exceptions.UnexpectedAuthenticationResponseException;
 import com.checkmarx.sca.communication.exceptions.UserIsNotAuthenticatedException;
+import com.checkmarx.sca.communication.json.ScaJson;
 import com.checkmarx.sca.communication.models.AccessControlCredentials;
 import com.checkmarx.sca.communication.models.AccessControlToken;
 import com.checkmarx.sca.communication.models.AuthenticationHeader;
 import com.checkmarx.sca.configuration.ConfigurationEntry;
 import com.checkmarx.sca.configuration.PluginConfiguration;
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 import java.net.URI;
@@ -37,11 +37,13 @@ public class AccessControlClient {
     private final String OAuthScope = "sca_api";
     private final Logger _logger;
     private final HttpClient _httpClient;
+    private final HttpClientFactory _httpClientFactory;
     private final String _authenticationUrl;
     private AccessControlToken _accessControlToken;
     private AccessControlCredentials _accessControlCredentials;
 
-    public AccessControlClient(@Nonnull PluginConfiguration configuration, @Nonnull Logger logger) {
+    public AccessControlClient(@Nonnull PluginConfiguration configuration, @Nonnull Logger logger,
+                               @Nonnull HttpClientFactory httpClientFactory) {
         this._logger = logger;
         String authenticationUrl = configuration.getPropertyOrDefault(ConfigurationEntry.AUTHENTICATION_URL);
         if (!authenticationUrl.endsWith("/")) {
@@ -49,7 +51,8 @@ public class AccessControlClient {
         }
 
         this._authenticationUrl = authenticationUrl;
-        this._httpClient = HttpClient.newHttpClient();
+        this._httpClientFactory = httpClientFactory;
+        this._httpClient = httpClientFactory.getHttpClient();
     }
 
     public boolean Authenticate(@NotNull AccessControlCredentials accessControlCredentials) {
@@ -110,7 +113,7 @@ public class AccessControlClient {
         String[] chunks = token.split("\\.");
         String tokenContent = chunks[1];
         byte[] contentDecoded = Base64.getUrlDecoder().decode(tokenContent);
-        return (JsonObject) (new Gson()).fromJson(String.valueOf(contentDecoded), JsonObject.class);
+        return (JsonObject) ScaJson.GSON.fromJson(String.valueOf(contentDecoded), JsonObject.class);
     }
 
     private void AuthenticateResourceOwner() throws ExecutionException, InterruptedException {
@@ -123,8 +126,8 @@ public class AccessControlClient {
         } else {
             AccessControlToken accessControlToken;
             try {
-                accessControlToken = (AccessControlToken) (
-                        new Gson()).fromJson((String) authenticateResponse.body(), AccessControlToken.class);
+                accessControlToken = (AccessControlToken) ScaJson.GSON
+                        .fromJson((String) authenticateResponse.body(), AccessControlToken.class);
             } catch (Exception var6) {
                 throw new UnexpectedAuthenticationResponseException((String) authenticateResponse.body());
             }
@@ -149,7 +152,7 @@ public class AccessControlClient {
             String var10000 = (String) e.getKey();
             return var10000 + "=" + URLEncoder.encode((String) e.getValue(), StandardCharsets.UTF_8);
         }).collect(Collectors.joining("&"));
-        return HttpRequest.newBuilder(URI.create(
+        return this._httpClientFactory.newRequestBuilder(URI.create(
                 String.format("%s%s", this._authenticationUrl, "identity/connect/token")))
                 .header("content-type", "application/x-www-form-urlencoded")
                 .POST(BodyPublishers.ofString(form))
@@ -0,0 +1,157 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.google.inject.Inject;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+/**
+ * Limits the number of SCA requests in flight. The limit follows an AIMD rule: it grows by one permit
+ * per limit-sized window of successful responses while the permits are in use, and is cut by the backoff
+ * ratio when a request fails, is throttled (429), gets a 5xx or takes longer than the latency threshold.
+ * Requests above the limit wait without holding a thread, in one FIFO queue per traffic class. A released permit
+ * goes to the oldest waiter of the first traffic class in declaration order, so interactive downloads do not wait
+ * behind queued bulk scans.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final Object _lock = new Object();
+    private final Map<TrafficClass, ArrayDeque<CompletableFuture<Void>>> _queues = new EnumMap<>(TrafficClass.class);
+    private final int _minLimit;
+    private final int _maxLimit;
+    private final long _latencyThresholdNanos;
+    private double _limit;
+    private int _inFlight;
+
+    @Inject
+    public AdaptiveConcurrencyLimiter(@Nonnull PluginConfiguration configuration) {
+        this._minLimit = Math.max(1, configuration.getIntegerOrDefault(ConfigurationEntry.API_CONCURRENCY_MIN_LIMIT));
+        this._maxLimit = Math.max(this._minLimit,
+                configuration.getIntegerOrDefault(ConfigurationEntry.API_CONCURRENCY_MAX_LIMIT));
+        int initialLimit = configuration.getIntegerOrDefault(ConfigurationEntry.API_CONCURRENCY_INITIAL_LIMIT);
+        this._limit = Math.min(this._maxLimit, Math.max(this._minLimit, initialLimit));
+        this._latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+                configuration.getIntegerOrDefault(ConfigurationEntry.API_CONCURRENCY_LATENCY_THRESHOLD));
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            this._queues.put(trafficClass, new ArrayDeque<>());
+        }
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> execute(@Nonnull TrafficClass trafficClass,
+                                                          @Nonnull Supplier<CompletableFuture<HttpResponse<T>>> request) {
+        return this.acquire(trafficClass).thenCompose((ignored) -> {
+            long start = System.nanoTime();
+            CompletableFuture<HttpResponse<T>> response;
+            try {
+                response = request.get();
+            } catch (Throwable var6) {
+                response = CompletableFuture.failedFuture(var6);
+            }
+
+            return response.whenComplete((value, throwable) -> {
+                boolean dropped = throwable != null || value == null
+                        || value.statusCode() == 429 || value.statusCode() >= 500;
+                this.release(System.nanoTime() - start, dropped);
+            });
+        });
+    }
+
+    public int getLimit() {
+        synchronized (this._lock) {
+            return (int) this._limit;
+        }
+    }
+
+    public int getInFlight() {
+        synchronized (this._lock) {
+            return this._inFlight;
+        }
+    }
+
+    public int getQueueDepth() {
+        synchronized (this._lock) {
+            int depth = 0;
+            for (ArrayDeque<CompletableFuture<Void>> queue : this._queues.values()) {
+                depth += queue.size();
+            }
+
+            return depth;
+        }
+    }
+
+    public int getQueueDepth(@Nonnull TrafficClass trafficClass) {
+        synchronized (this._lock) {
+            return this._queues.get(trafficClass).size();
+        }
+    }
+
+    private CompletableFuture<Void> acquire(TrafficClass trafficClass) {
+        synchronized (this._lock) {
+            if (this._inFlight < (int) this._limit && !this.hasWaitersBefore(trafficClass)) {
+                this._inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+
+            CompletableFuture<Void> permit = new CompletableFuture<>();
+            this._queues.get(trafficClass).add(permit);
+            return permit;
+        }
+    }
+
+    private boolean hasWaitersBefore(TrafficClass trafficClass) {
+        for (TrafficClass waiting : TrafficClass.values()) {
+            if (!this._queues.get(waiting).isEmpty()) {
+                return true;
+            } else if (waiting == trafficClass) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    private CompletableFuture<Void> nextWaiter() {
+        for (ArrayDeque<CompletableFuture<Void>> queue : this._queues.values()) {
+            if (!queue.isEmpty()) {
+                return queue.poll();
+            }
+        }
+
+        return null;
+    }
+
+    private void release(long latencyNanos, boolean dropped) {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this._lock) {
+            if (dropped || latencyNanos > this._latencyThresholdNanos) {
+                this._limit = Math.max(this._minLimit, this._limit * BACKOFF_RATIO);
+            } else if (2 * this._inFlight >= (int) this._limit) {
+                this._limit = Math.min(this._maxLimit, this._limit + 1.0 / this._limit);
+            }
+
+            this._inFlight--;
+            while (this._inFlight < (int) this._limit) {
+                CompletableFuture<Void> permit = this.nextWaiter();
+                if (permit == null) {
+                    break;
+                }
+
+                this._inFlight++;
+                granted.add(permit);
+            }
+        }
+
+        granted.forEach((permit) -> permit.complete(null));
+    }
+}
@@ -0,0 +1,209 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.communication.exceptions.CircuitBreakerOpenException;
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.UnverifiedDownloadPolicy;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.google.inject.Inject;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+
+/**
+ * Count-based circuit breaker for the SCA API. The outcome of the last window-size calls is kept in a ring
+ * buffer; once at least minimum-calls were recorded and the failure rate or the slow call rate reaches its
+ * threshold, the circuit opens and calls are rejected for the open duration. After that a few probe calls are
+ * let through (half-open): the circuit closes when they all succeed and opens again on the first failure.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN;
+    }
+
+    private final Logger _logger;
+    private final boolean _enabled;
+    private final int _minimumCalls;
+    private final int _failureRateThreshold;
+    private final int _slowCallRateThreshold;
+    private final long _slowCallDurationNanos;
+    private final long _openDurationNanos;
+    private final int _halfOpenCalls;
+    private final UnverifiedDownloadPolicy _openPolicy;
+    private final boolean[] _failedCalls;
+    private final boolean[] _slowCalls;
+    private final LongAdder _rejectedCalls = new LongAdder();
+    private State _state = State.CLOSED;
+    private int _position;
+    private int _recordedCalls;
+    private int _failureCount;
+    private int _slowCount;
+    private long _openedAt;
+    private int _halfOpenPermits;
+    private int _halfOpenSuccesses;
+
+    @Inject
+    public CircuitBreaker(@Nonnull PluginConfiguration configuration) {
+        this._logger = configuration.getLogger();
+        this._enabled = Boolean.parseBoolean(configuration
+                .getPropertyOrDefault(ConfigurationEntry.CIRCUIT_BREAKER_ENABLED).trim());
+        int windowSize = Math.max(1, configuration.getIntegerOrDefault(ConfigurationEntry.CIRCUIT_BREAKER_WINDOW_SIZE));
+        this._minimumCalls = Math.min(windowSize,
+                Math.max(1, configuration.getIntegerOrDefault(ConfigurationEntry.CIRCUIT_BREAKER_MINIMUM_CALLS)));
+        this._failureRateThreshold = configuration
+                .getIntegerOrDefault(ConfigurationEntry.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD);
+        this._slowCallRateThreshold = configuration
+                .getIntegerOrDefault(ConfigurationEntry.CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD);
+        this._slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(
+                configuration.getIntegerOrDefault(ConfigurationEntry.CIRCUIT_BREAKER_SLOW_CALL_DURATION));
+        this._openDurationNanos = TimeUnit.SECONDS.toNanos(
+                configuration.getIntegerOrDefault(ConfigurationEntry.CIRCUIT_BREAKER_OPEN_DURATION));
+        this._halfOpenCalls = Math.max(1,
+                configuration.getIntegerOrDefault(ConfigurationEntry.CIRCUIT_BREAKER_HALF_OPEN_CALLS));
+        this._openPolicy = configuration.getUnverifiedDownloadPolicy(ConfigurationEntry.CIRCUIT_BREAKER_OPEN_POLICY);
+        this._failedCalls = new boolean[windowSize];
+        this._slowCalls = new boolean[windowSize];
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> execute(@Nonnull Supplier<CompletableFuture<HttpResponse<T>>> request) {
+        if (!this._enabled) {
+            return request.get();
+        }
+
+        if (!this.tryAcquirePermission()) {
+            this._rejectedCalls.increment();
+            return CompletableFuture.failedFuture(new CircuitBreakerOpenException());
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<T>> response;
+        try {
+            response = request.get();
+        } catch (Throwable var6) {
+            response = CompletableFuture.failedFuture(var6);
+        }
+
+        return response.whenComplete((value, throwable) -> {
+            boolean failed = throwable != null || value == null || value.statusCode() >= 500;
+            this.record(failed, System.nanoTime() - start >= this._slowCallDurationNanos);
+        });
+    }
+
+    public boolean isCallPermitted() {
+        if (!this._enabled) {
+            return true;
+        }
+
+        synchronized (this) {
+            switch (this._state) {
+                case OPEN:
+                    return System.nanoTime() - this._openedAt >= this._openDurationNanos;
+                case HALF_OPEN:
+                    return this._halfOpenPermits < this._halfOpenCalls;
+                default:
+                    return true;
+            }
+        }
+    }
+
+    public UnverifiedDownloadPolicy getOpenPolicy() {
+        return this._openPolicy;
+    }
+
+    public synchronized State getState() {
+        return this._state;
+    }
+
+    public synchronized int getFailureRate() {
+        return this.rate(this._failureCount);
+    }
+
+    public synchronized int getSlowCallRate() {
+        return this.rate(this._slowCount);
+    }
+
+    public long getRejectedCalls() {
+        return this._rejectedCalls.sum();
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        if (this._state == State.OPEN) {
+            if (System.nanoTime() - this._openedAt < this._openDurationNanos) {
+                return false;
+            }
+
+            this.transitionTo(State.HALF_OPEN);
+        }
+
+        if (this._state == State.HALF_OPEN) {
+            if (this._halfOpenPermits >= this._halfOpenCalls) {
+                return false;
+            }
+
+            this._halfOpenPermits++;
+        }
+
+        return true;
+    }
+
+    private synchronized void record(boolean failed, boolean slow) {
+        if (this._state == State.HALF_OPEN) {
+            if (failed || slow) {
+                this.transitionTo(State.OPEN);
+            } else if (++this._halfOpenSuccesses >= this._halfOpenCalls) {
+                this.transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        if (this._state == State.OPEN) {
+            return;
+        }
+
+        if (this._recordedCalls == this._failedCalls.length) {
+            this._failureCount -= this._failedCalls[this._position] ? 1 : 0;
+            this._slowCount -= this._slowCalls[this._position] ? 1 : 0;
+        } else {
+            this._recordedCalls++;
+        }
+
+        this._failedCalls[this._position] = failed;
+        this._slowCalls[this._position] = slow;
+        this._failureCount += failed ? 1 : 0;
+        this._slowCount += slow ? 1 : 0;
+        this._position = (this._position + 1) % this._failedCalls.length;
+
+        if (this._recordedCalls >= this._minimumCalls
+                && (this.rate(this._failureCount) >= this._failureRateThreshold
+                || this.rate(this._slowCount) >= this._slowCallRateThreshold)) {
+            this.transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State state) {
+        this._logger.warn(String.format("Sca API circuit breaker changed from %s to %s. Failure rate: %d%%, " +
+                "slow call rate: %d%%.", this._state, state, this.rate(this._failureCount), this.rate(this._slowCount)));
+        this._state = state;
+        this._halfOpenPermits = 0;
+        this._halfOpenSuccesses = 0;
+        if (state == State.OPEN) {
+            this._openedAt = System.nanoTime();
+        } else if (state == State.CLOSED) {
+            this._position = 0;
+            this._recordedCalls = 0;
+            this._failureCount = 0;
+            this._slowCount = 0;
+        }
+    }
+
+    private int rate(int count) {
+        return this._recordedCalls == 0 ? 0 : (int) (100L * count / this._recordedCalls);
+    }
+}
@@ -0,0 +1,87 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.cache.TinyLfuCache;
+import com.checkmarx.sca.communication.json.JsonBody;
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.google.inject.Inject;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps the validators (ETag, Last-Modified) of the SCA responses together with their decoded body, so that a
+ * refresh is sent as a conditional request and a 304 answer reuses the decoded body without reading or
+ * parsing a new one. Only the GET endpoints are sent conditionally: a POST with If-None-Match is answered
+ * with 412 Precondition Failed. An entry is discarded as soon as its endpoint answers anything but a 200 or 304.
+ */
+public class ConditionalRequestCache {
+    private static final long ENTRY_RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private final TinyLfuCache<String, Entry> _entries;
+    private final LongAdder _notModified = new LongAdder();
+
+    @Inject
+    public ConditionalRequestCache(@Nonnull PluginConfiguration configuration) {
+        this._entries = new TinyLfuCache<>(
+                configuration.getIntegerOrDefault(ConfigurationEntry.API_CONDITIONAL_CACHE_MAXIMUM_SIZE),
+                ENTRY_RETENTION_MILLIS);
+    }
+
+    public static boolean isConditional(@Nonnull ScaEndpoint endpoint) {
+        return endpoint == ScaEndpoint.ARTIFACT_INFO || endpoint == ScaEndpoint.LICENSES;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> JsonBody<T> addValidators(@Nonnull String key, @Nonnull HttpRequest.Builder requestBuilder) {
+        Entry entry = this._entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.etag != null) {
+            requestBuilder.header("If-None-Match", entry.etag);
+        }
+
+        if (entry.lastModified != null) {
+            requestBuilder.header("If-Modified-Since", entry.lastModified);
+        }
+
+        return (JsonBody<T>) entry.body;
+    }
+
+    public <T> void update(@Nonnull String key, @Nonnull HttpResponse<JsonBody<T>> response) {
+        if (response.statusCode() == 304 && response.body().isDecoded()) {
+            this._notModified.increment();
+        } else if (response.statusCode() == 200) {
+            String etag = response.headers().firstValue("ETag").orElse(null);
+            String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+            if (response.body().isDecoded() && (etag != null || lastModified != null)) {
+                this._entries.put(key, new Entry(etag, lastModified, response.body()));
+            } else {
+                this._entries.invalidate(key);
+            }
+        } else {
+            this._entries.invalidate(key);
+        }
+    }
+
+    public long getNotModified() {
+        return this._notModified.sum();
+    }
+
+    private static final class Entry {
+        private final String etag;
+        private final String lastModified;
+        private final JsonBody<?> body;
+
+        private Entry(String etag, String lastModified, JsonBody<?> body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+    }
+}
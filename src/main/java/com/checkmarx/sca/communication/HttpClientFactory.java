@@ -0,0 +1,129 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+
+public class HttpClientFactory {
+    private final Logger _logger;
+    private final HttpClient _httpClient;
+    private final ExecutorService _executor;
+    private final ExecutorService _decodeExecutor;
+    private final Duration _requestTimeout;
+
+    public HttpClientFactory(@Nonnull PluginConfiguration configuration) {
+        this._logger = configuration.getLogger();
+        int requestTimeout = configuration.getIntegerOrDefault(ConfigurationEntry.HTTP_REQUEST_TIMEOUT);
+        this._requestTimeout = requestTimeout > 0 ? Duration.ofSeconds(requestTimeout) : null;
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(this.getVersion(configuration))
+                .connectTimeout(Duration.ofSeconds(
+                        configuration.getIntegerOrDefault(ConfigurationEntry.HTTP_CONNECT_TIMEOUT)));
+        this._executor = this.createExecutor(configuration);
+        if (this._executor != null) {
+            builder.executor(this._executor);
+        }
+
+        this._httpClient = builder.build();
+        this._decodeExecutor = ScaExecutors.newExecutor(configuration, "cxsca-json", this.getDecodeThreads(configuration));
+    }
+
+    public HttpClient getHttpClient() {
+        return this._httpClient;
+    }
+
+    /**
+     * Executor that reads and decodes the streamed response bodies. Reading a body blocks until it has arrived, which
+     * must not happen on the threads of the HTTP client that deliver it.
+     */
+    public ExecutorService getDecodeExecutor() {
+        return this._decodeExecutor;
+    }
+
+    public HttpRequest.Builder newRequestBuilder(@Nonnull URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        if (this._requestTimeout != null) {
+            builder.timeout(this._requestTimeout);
+        }
+
+        return builder;
+    }
+
+    public void prewarm(@Nonnull String url) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = this.newRequestBuilder(URI.create(url)).GET().build();
+            this._httpClient.sendAsync(request, BodyHandlers.discarding())
+                    .whenComplete((response, throwable) -> {
+                        if (throwable != null) {
+                            this._logger.warn(String.format("Failed to open the connection to %s. " +
+                                    "Exception Message: %s.", url, throwable.getMessage()));
+                        } else {
+                            this._logger.debug(String.format("Connection to %s opened in %d ms using %s.", url,
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), response.version()));
+                        }
+                    });
+        } catch (Exception var5) {
+            this._logger.warn(String.format("Failed to open the connection to %s. Exception Message: %s.", url,
+                    var5.getMessage()));
+        }
+    }
+
+    /**
+     * Stops the client and the executors of the factory, so a reload of the plugin script does not leave their
+     * threads running with the class loader of the previous plugin. HttpClient.shutdownNow only exists from Java 21
+     * and is looked up by reflection; on older runtimes the selector thread of the client ends once the client is
+     * no longer referenced.
+     */
+    public void close() {
+        try {
+            HttpClient.class.getMethod("shutdownNow").invoke(this._httpClient);
+        } catch (ReflectiveOperationException | RuntimeException var2) {
+            this._logger.debug(String.format("The HTTP client of Java %s cannot be shut down, it is released when " +
+                    "it is no longer referenced.", System.getProperty("java.version")));
+        }
+
+        if (this._executor != null) {
+            this._executor.shutdownNow();
+        }
+
+        this._decodeExecutor.shutdownNow();
+    }
+
+    private HttpClient.Version getVersion(PluginConfiguration configuration) {
+        String version = configuration.getPropertyOrDefault(ConfigurationEntry.HTTP_VERSION);
+
+        try {
+            return HttpClient.Version.valueOf(version.trim().toUpperCase());
+        } catch (Exception var4) {
+            this._logger.warn(String.format("Error converting the '%s' configuration value, we will use the default " +
+                    "value. Exception Message: %s.", ConfigurationEntry.HTTP_VERSION.propertyKey(), var4.getMessage()));
+            return HttpClient.Version.valueOf(ConfigurationEntry.HTTP_VERSION.defaultValue());
+        }
+    }
+
+    private int getDecodeThreads(PluginConfiguration configuration) {
+        int threads = configuration.getIntegerOrDefault(ConfigurationEntry.HTTP_EXECUTOR_THREADS);
+        return threads > 0 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    private ExecutorService createExecutor(PluginConfiguration configuration) {
+        int threads = configuration.getIntegerOrDefault(ConfigurationEntry.HTTP_EXECUTOR_THREADS);
+        if (threads <= 0 && !ScaExecutors.useVirtualThreads(configuration)) {
+            return null;
+        }
+
+        return ScaExecutors.newExecutor(configuration, "cxsca-http", threads);
+    }
+}
@@ -0,0 +1,98 @@
+package com.checkmarx.sca.communication;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-scaled latency histogram with four buckets per power of two, from 100 microseconds to about 90 seconds,
+ * so a percentile is reported with at most ~19% error. Once a sample period has been recorded all the counts
+ * are halved, which keeps the percentiles following the recent latency of the endpoint.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 80;
+    private static final long FIRST_BUCKET_MICROS = 100;
+    private static final long[] UPPER_BOUNDS_MICROS = new long[BUCKETS];
+
+    static {
+        for (int i = 0; i < BUCKETS; i++) {
+            UPPER_BOUNDS_MICROS[i] = Math.round(FIRST_BUCKET_MICROS * Math.pow(2, i / 4.0));
+        }
+    }
+
+    private final AtomicLongArray _counts = new AtomicLongArray(BUCKETS);
+    private final int _samplePeriod;
+    private int _samplesSinceReset;
+    private long _total;
+
+    public LatencyHistogram(int samplePeriod) {
+        this._samplePeriod = samplePeriod;
+    }
+
+    public void record(long latencyNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        int bucket = 0;
+        while (bucket < BUCKETS - 1 && UPPER_BOUNDS_MICROS[bucket] < micros) {
+            bucket++;
+        }
+
+        this._counts.incrementAndGet(bucket);
+        synchronized (this) {
+            this._total++;
+            if (++this._samplesSinceReset >= this._samplePeriod) {
+                this._samplesSinceReset = 0;
+                this.halve();
+            }
+        }
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += this._counts.get(i);
+        }
+        return count;
+    }
+
+    public synchronized long total() {
+        return this._total;
+    }
+
+    public long percentileMillis(double percentile) {
+        long count = this.count();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this._counts.get(i);
+            if (seen >= rank) {
+                return TimeUnit.MICROSECONDS.toMillis(UPPER_BOUNDS_MICROS[i]);
+            }
+        }
+
+        return TimeUnit.MICROSECONDS.toMillis(UPPER_BOUNDS_MICROS[BUCKETS - 1]);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", this.total());
+        snapshot.put("p50", this.percentileMillis(50));
+        snapshot.put("p90", this.percentileMillis(90));
+        snapshot.put("p95", this.percentileMillis(95));
+        snapshot.put("p99", this.percentileMillis(99));
+        return snapshot;
+    }
+
+    private void halve() {
+        for (int i = 0; i < BUCKETS; i++) {
+            long value;
+            do {
+                value = this._counts.get(i);
+            } while (!this._counts.compareAndSet(i, value, value >>> 1));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.google.inject.Inject;
+
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+/**
+ * Records the latency of every SCA endpoint and, when enabled, hedges the idempotent GET endpoints: if the
+ * first attempt is still running after the configured latency percentile of the endpoint, a duplicate request is
+ * sent and the first successful response wins. Hedges are paid from a token budget filled by a fraction of every
+ * hedgeable request, so at most max-percent of them are duplicated. Requests reach the hedger once the rate and
+ * concurrency limiters let them through, so the latencies do not include the time spent waiting for a permit. A
+ * duplicate is sent under the concurrency permit of the request it hedges but takes its own rate token, and is
+ * skipped when none is available right away.
+ */
+public class RequestHedger {
+    private static final int HISTOGRAM_SAMPLE_PERIOD = 10000;
+    private static final double MAX_HEDGE_TOKENS = 10;
+
+    private final boolean _enabled;
+    private final double _percentile;
+    private final long _minDelayMillis;
+    private final double _hedgeRatio;
+    private final int _minSamples;
+    private final Map<ScaEndpoint, LatencyHistogram> _latencies = new EnumMap<>(ScaEndpoint.class);
+    private final Map<ScaEndpoint, LongAdder> _hedges = new EnumMap<>(ScaEndpoint.class);
+    private final Map<ScaEndpoint, LongAdder> _hedgeWins = new EnumMap<>(ScaEndpoint.class);
+    private final Object _budgetLock = new Object();
+    private final ScaRateLimiter _rateLimiter;
+    private double _hedgeTokens = MAX_HEDGE_TOKENS;
+
+    @Inject
+    public RequestHedger(@Nonnull PluginConfiguration configuration, @Nonnull ScaRateLimiter rateLimiter) {
+        this._rateLimiter = rateLimiter;
+        this._enabled = Boolean.parseBoolean(configuration
+                .getPropertyOrDefault(ConfigurationEntry.API_HEDGING_ENABLED).trim());
+        this._percentile = Math.min(99.9, Math.max(1,
+                configuration.getIntegerOrDefault(ConfigurationEntry.API_HEDGING_PERCENTILE)));
+        this._minDelayMillis = Math.max(1, configuration.getIntegerOrDefault(ConfigurationEntry.API_HEDGING_MIN_DELAY));
+        this._hedgeRatio = Math.max(0, configuration.getIntegerOrDefault(ConfigurationEntry.API_HEDGING_MAX_PERCENT))
+                / 100.0;
+        this._minSamples = Math.max(1, configuration.getIntegerOrDefault(ConfigurationEntry.API_HEDGING_MIN_SAMPLES));
+        for (ScaEndpoint endpoint : ScaEndpoint.values()) {
+            this._latencies.put(endpoint, new LatencyHistogram(HISTOGRAM_SAMPLE_PERIOD));
+            this._hedges.put(endpoint, new LongAdder());
+            this._hedgeWins.put(endpoint, new LongAdder());
+        }
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> execute(@Nonnull ScaEndpoint endpoint,
+                                                          @Nonnull TrafficClass trafficClass,
+                                                          @Nonnull Supplier<CompletableFuture<HttpResponse<T>>> request) {
+        long start = System.nanoTime();
+        LatencyHistogram histogram = this._latencies.get(endpoint);
+        CompletableFuture<HttpResponse<T>> response;
+        if (this._enabled && endpoint.isIdempotent() && histogram.count() >= this._minSamples) {
+            this.deposit();
+            long delayMillis = Math.max(this._minDelayMillis, histogram.percentileMillis(this._percentile));
+            response = this.hedge(endpoint, trafficClass, request, delayMillis);
+        } else {
+            response = this.send(request);
+        }
+
+        return response.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                histogram.record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (ScaEndpoint endpoint : ScaEndpoint.values()) {
+            Map<String, Object> endpointStatistics = this._latencies.get(endpoint).snapshot();
+            if (endpoint.isIdempotent()) {
+                endpointStatistics.put("hedges", this._hedges.get(endpoint).sum());
+                endpointStatistics.put("hedgeWins", this._hedgeWins.get(endpoint).sum());
+            }
+            statistics.put(endpoint.name(), endpointStatistics);
+        }
+        return statistics;
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> hedge(ScaEndpoint endpoint, TrafficClass trafficClass,
+                                                         Supplier<CompletableFuture<HttpResponse<T>>> request,
+                                                         long delayMillis) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        this.send(request).whenComplete((value, throwable) -> this.onAttemptCompleted(result, outstanding, value,
+                throwable, null));
+
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone() || !this.withdraw() || !this._rateLimiter.tryAcquire(endpoint, trafficClass)) {
+                return;
+            }
+
+            // the first attempt may have completed meanwhile; once counted, a done result needs no cleanup
+            if (outstanding.getAndUpdate((count) -> count == 0 ? 0 : count + 1) == 0 || result.isDone()) {
+                return;
+            }
+
+            this._hedges.get(endpoint).increment();
+            this.send(request).whenComplete((value, throwable) -> this.onAttemptCompleted(result, outstanding, value,
+                    throwable, this._hedgeWins.get(endpoint)));
+        });
+        return result;
+    }
+
+    private <T> void onAttemptCompleted(CompletableFuture<HttpResponse<T>> result, AtomicInteger outstanding,
+                                        HttpResponse<T> value, Throwable throwable, LongAdder wins) {
+        boolean usable = throwable == null && value != null && value.statusCode() < 500;
+        boolean completed = false;
+        if (usable || outstanding.decrementAndGet() == 0) {
+            completed = throwable != null ? result.completeExceptionally(throwable) : result.complete(value);
+            if (completed && usable && wins != null) {
+                wins.increment();
+            }
+        }
+
+        if (!completed && value != null && value.body() instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) value.body()).close();
+            } catch (Exception var9) {
+                // the losing attempt is discarded either way
+            }
+        }
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> send(Supplier<CompletableFuture<HttpResponse<T>>> request) {
+        try {
+            return request.get();
+        } catch (Throwable var3) {
+            return CompletableFuture.failedFuture(var3);
+        }
+    }
+
+    private void deposit() {
+        synchronized (this._budgetLock) {
+            this._hedgeTokens = Math.min(MAX_HEDGE_TOKENS, this._hedgeTokens + this._hedgeRatio);
+        }
+    }
+
+    private boolean withdraw() {
+        synchronized (this._budgetLock) {
+            if (this._hedgeTokens < 1) {
+                return false;
+            }
+
+            this._hedgeTokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.google.inject.Inject;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+
+/**
+ * Retries SCA requests that failed with an I/O error, a 429 or a 5xx. The delay before a retry is the
+ * Retry-After header when the server sent one, otherwise a full-jitter exponential backoff. Retries are
+ * paid from a shared budget: every first attempt deposits a fraction of a token and every retry withdraws
+ * a whole one, so during an outage retries stay a bounded share of the normal traffic.
+ */
+public class RetryPolicy {
+    private final Logger _logger;
+    private final int _maxAttempts;
+    private final long _baseDelayMillis;
+    private final long _maxDelayMillis;
+    private final double _budgetRatio;
+    private final double _budgetMaxTokens;
+    private final Object _budgetLock = new Object();
+    private double _budgetTokens;
+    private final LongAdder _retries = new LongAdder();
+    private final LongAdder _successesAfterRetry = new LongAdder();
+    private final LongAdder _budgetExhausted = new LongAdder();
+
+    @Inject
+    public RetryPolicy(@Nonnull PluginConfiguration configuration) {
+        this._logger = configuration.getLogger();
+        this._maxAttempts = Math.max(1, configuration.getIntegerOrDefault(ConfigurationEntry.API_RETRY_MAX_ATTEMPTS));
+        this._baseDelayMillis = Math.max(1, configuration.getIntegerOrDefault(ConfigurationEntry.API_RETRY_BASE_DELAY));
+        this._maxDelayMillis = Math.max(this._baseDelayMillis,
+                configuration.getIntegerOrDefault(ConfigurationEntry.API_RETRY_MAX_DELAY));
+        this._budgetRatio = Math.max(0, configuration.getIntegerOrDefault(ConfigurationEntry.API_RETRY_BUDGET_PERCENT))
+                / 100.0;
+        this._budgetMaxTokens = Math.max(0,
+                configuration.getIntegerOrDefault(ConfigurationEntry.API_RETRY_BUDGET_MAX_TOKENS));
+        this._budgetTokens = this._budgetMaxTokens;
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> execute(@Nonnull Supplier<CompletableFuture<HttpResponse<T>>> request) {
+        this.deposit();
+        return this.attempt(request, 1);
+    }
+
+    public long getRetries() {
+        return this._retries.sum();
+    }
+
+    public long getSuccessesAfterRetry() {
+        return this._successesAfterRetry.sum();
+    }
+
+    public long getBudgetExhausted() {
+        return this._budgetExhausted.sum();
+    }
+
+    public int getBudgetTokens() {
+        synchronized (this._budgetLock) {
+            return (int) this._budgetTokens;
+        }
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> attempt(Supplier<CompletableFuture<HttpResponse<T>>> request,
+                                                           int attempt) {
+        CompletableFuture<HttpResponse<T>> response;
+        try {
+            response = request.get();
+        } catch (Throwable var5) {
+            response = CompletableFuture.failedFuture(var5);
+        }
+
+        return response.handle((value, throwable) -> {
+            if (!this.isRetryable(value, throwable)) {
+                if (attempt > 1 && throwable == null && value.statusCode() < 400) {
+                    this._successesAfterRetry.increment();
+                }
+
+                return this.complete(value, throwable);
+            }
+
+            if (attempt >= this._maxAttempts) {
+                return this.complete(value, throwable);
+            }
+
+            long delayMillis = this.getDelayMillis(value, attempt);
+            if (delayMillis < 0) {
+                this._logger.debug("SCA request not retried, the server asked to wait longer than the maximum delay.");
+                return this.complete(value, throwable);
+            }
+
+            if (!this.withdraw()) {
+                this._budgetExhausted.increment();
+                this._logger.debug("SCA request not retried, the retry budget is exhausted.");
+                return this.complete(value, throwable);
+            }
+
+            this._retries.increment();
+            this._logger.debug(String.format("Retrying SCA request in %d ms. Attempt: %d. Reason: %s", delayMillis,
+                    attempt + 1, throwable != null ? throwable.getMessage() : "status code " + value.statusCode()));
+            return CompletableFuture
+                    .supplyAsync(() -> this.attempt(request, attempt + 1),
+                            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS))
+                    .thenCompose((next) -> next);
+        }).thenCompose((next) -> next);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> complete(HttpResponse<T> value, Throwable throwable) {
+        return throwable != null ? CompletableFuture.failedFuture(throwable) : CompletableFuture.completedFuture(value);
+    }
+
+    private boolean isRetryable(HttpResponse<?> value, Throwable throwable) {
+        if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            return cause instanceof IOException;
+        }
+
+        int statusCode = value.statusCode();
+        return statusCode == 429 || (statusCode >= 500 && statusCode != 501 && statusCode != 505);
+    }
+
+    long getDelayMillis(HttpResponse<?> value, int attempt) {
+        Optional<Long> retryAfter = value != null ? this.parseRetryAfter(value) : Optional.empty();
+        if (retryAfter.isPresent()) {
+            return retryAfter.get() <= this._maxDelayMillis ? retryAfter.get() : -1;
+        }
+
+        long ceiling = Math.min(this._maxDelayMillis, this._baseDelayMillis << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private Optional<Long> parseRetryAfter(HttpResponse<?> value) {
+        Optional<String> header = value.headers().firstValue("Retry-After");
+        if (header.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String retryAfter = header.get().trim();
+        try {
+            return Optional.of(Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter))));
+        } catch (NumberFormatException var6) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Optional.of(Math.max(0, Duration.between(ZonedDateTime.now(), date).toMillis()));
+            } catch (Exception var5) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private void deposit() {
+        synchronized (this._budgetLock) {
+            this._budgetTokens = Math.min(this._budgetMaxTokens, this._budgetTokens + this._budgetRatio);
+        }
+    }
+
+    private boolean withdraw() {
+        synchronized (this._budgetLock) {
+            if (this._budgetTokens < 1) {
+                return false;
+            }
+
+            this._budgetTokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.checkmarx.sca.communication;
+
+public enum ScaEndpoint {
+    ARTIFACT_INFO("artifact-info", true),
+    LICENSES("licenses", true),
+    RISK_AGGREGATION("risk-aggregation", false),
+    SUGGEST_PRIVATE_PACKAGE("suggest-private-package", false);
+
+    private final String key;
+    private final boolean idempotent;
+
+    private ScaEndpoint(String key, boolean idempotent) {
+        this.key = key;
+        this.idempotent = idempotent;
+    }
+
+    public String key() {
+        return this.key;
+    }
+
+    public boolean isIdempotent() {
+        return this.idempotent;
+    }
+}
@@ -0,0 +1,59 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+
+/**
+ * Creates the executors that run SCA I/O. With sca.threads.virtual enabled on Java 21 or later every task gets
+ * its own virtual thread, so the number of blocked lookups is only bounded by the concurrency limiter. The
+ * virtual thread API is looked up by reflection because the plugin is compiled for Java 11; on older runtimes
+ * the fixed platform pool is used.
+ */
+public final class ScaExecutors {
+    private ScaExecutors() {
+    }
+
+    public static ExecutorService newExecutor(@Nonnull PluginConfiguration configuration, @Nonnull String name,
+                                              int platformThreads) {
+        if (useVirtualThreads(configuration)) {
+            ExecutorService executor = newVirtualThreadExecutor(configuration.getLogger(), name);
+            if (executor != null) {
+                return executor;
+            }
+        }
+
+        return Executors.newFixedThreadPool(Math.max(1, platformThreads), (runnable) -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static boolean useVirtualThreads(@Nonnull PluginConfiguration configuration) {
+        return Boolean.parseBoolean(configuration.getPropertyOrDefault(ConfigurationEntry.THREADS_VIRTUAL).trim());
+    }
+
+    private static ExecutorService newVirtualThreadExecutor(Logger logger, String name) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException | RuntimeException var5) {
+            logger.warn(String.format("Virtual threads are not available in Java %s, the %s pool will use " +
+                    "platform threads.", System.getProperty("java.version"), name));
+            return null;
+        }
+    }
+}
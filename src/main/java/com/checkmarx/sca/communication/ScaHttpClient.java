@@ -5,6 +5,7 @@ import com.checkmarx.sca.communication.exceptions.UnexpectedResponseBodyExceptio
 import com.checkmarx.sca.communication.exceptions.UnexpectedResponseCodeException;
 import com.checkmarx.sca.communication.exceptions.UserIsNotAuthenticatedException;
 import com.checkmarx.sca.communication.fallbacks.PyPiFallback;
+import com.checkmarx.sca.communication.json.JsonBody;
 import com.checkmarx.sca.communication.models.AuthenticationHeader;
 import com.checkmarx.sca.configuration.ConfigurationEntry;
 import com.checkmarx.sca.configuration.PluginConfiguration;
@@ -12,40 +13,30 @@ import com.checkmarx.sca.models.ArtifactId;
 import com.checkmarx.sca.models.ArtifactInfo;
 import com.checkmarx.sca.models.PackageAnalysisAggregation;
 import com.checkmarx.sca.models.PackageLicensesModel;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.google.inject.Inject;
 
-import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.Objects;
 import java.util.Iterator;
 import java.util.stream.Collectors;
 import java.util.Optional;
-import java.util.Map;
 import java.util.Set;
 import java.util.MissingResourceException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
-import java.time.Duration;
 
 import org.artifactory.exception.CancelException;
 import org.jetbrains.annotations.NotNull;
-import org.artifactory.repo.RepoPath;
 import org.slf4j.Logger;
 
 public class ScaHttpClient {
@@ -59,342 +50,223 @@ public class ScaHttpClient {
             optional = true
     )
     private AccessControlClient _accessControlClient;
+    @Inject
+    private AdaptiveConcurrencyLimiter _concurrencyLimiter;
+    @Inject
+    private RetryPolicy _retryPolicy;
+    @Inject
+    private CircuitBreaker _circuitBreaker;
+    @Inject
+    private RequestHedger _requestHedger;
+    @Inject
+    private ScaRateLimiter _rateLimiter;
+    @Inject
+    private ConditionalRequestCache _conditionalRequestCache;
     private Logger _logger;
     private final String RiskAggregationAPI = "public/risk-aggregation/aggregated-risks";
     private final String LicenseAPI = "public/packages/%s/%s/versions/%s/licenses";
     private final String ArtifactInfoAPI = "public/packages/%s/%s/versions/%s";
     private final String SuggestPrivatePackageAPI = "private-dependencies-repository/dependencies";
-    private static final ExecutorService executorService = Executors.newFixedThreadPool(10);
-
-    private static final HttpClient httpClient = HttpClient.newBuilder()
-            .executor(executorService)
-            .version(HttpClient.Version.HTTP_2)
-            .connectTimeout(Duration.ofSeconds(120))
-            .build();
+    private final HttpClientFactory _httpClientFactory;
 
     @Inject
-    public ScaHttpClient(@Nonnull PluginConfiguration configuration) {
+    public ScaHttpClient(@Nonnull PluginConfiguration configuration, @Nonnull HttpClientFactory httpClientFactory) {
         String apiUrl = configuration.getPropertyOrDefault(ConfigurationEntry.API_URL);
         if (!apiUrl.endsWith("/")) {
             apiUrl = apiUrl + "/";
         }
 
         this._apiUrl = apiUrl;
-        this._httpClient = HttpClient.newHttpClient();
+        this._httpClientFactory = httpClientFactory;
+        this._httpClient = httpClientFactory.getHttpClient();
         this._logger = configuration.getLogger();
     }
 
-    private void logErrorResponse(String action, Map<RepoPath, HttpResponse<String>> repoPathHttpResponseMap) {
-        repoPathHttpResponseMap.forEach((key, value) -> {
-            if (200 != value.statusCode()) {
-                this._logger.error(
-                        String.format("Action, %s. " +
-                                        "Repopath, %s. " +
-                                        "Response, status code: %s, response body: %s",
-                                action,
-                                key.getPath(),
-                                value.statusCode(),
-                                value.body()
-                        )
-                );
-            }
-        });
+    public CompletableFuture<ArtifactInfo> getArtifactInformationAsync(String packageType, String name,
+                                                                       String version) {
+        return this.getArtifactInformationAsync(packageType, name, version, TrafficClass.INTERACTIVE);
     }
 
-    private List<HttpResponse<String>> processConcurrentRequests(List<HttpRequest> requests) {
-        List<HttpResponse<String>> responses = new ArrayList<>();
-        this._logger.debug("processConcurrentRequests, begin to send HTTP requests asynchronously.");
-        try {
-            List<CompletableFuture<HttpResponse<String>>> responseList = requests.stream()
-                    .map(request -> httpClient.sendAsync(request, BodyHandlers.ofString()))
-                    .collect(Collectors.toList());
-            this._logger.debug("HTTP requests send finished.");
-            responses = responseList.stream()
-                    .map(CompletableFuture::join)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-            this._logger.debug("All HTTP requests completed.");
-
-        } catch (Exception e) {
-            this._logger.error(String.format("Fail to processConcurrentRequests: %s", e.getMessage()));
-        }
-        return responses;
+    public CompletableFuture<ArtifactInfo> getArtifactInformationAsync(String packageType, String name,
+                                                                       String version,
+                                                                       @Nonnull TrafficClass trafficClass) {
+        return this.sendConditionalAsync(ScaEndpoint.ARTIFACT_INFO, trafficClass,
+                        this.getArtifactInfoRequest(packageType, name, version), packageType, name, version,
+                        ArtifactInfo.class)
+                .thenCompose((response) -> {
+                    if (response.statusCode() == 404) {
+                        return this.TryToFallback(response, packageType, name, version, trafficClass);
+                    }
+
+                    return CompletableFuture.completedFuture(response);
+                })
+                .thenApply(this::decodeBody);
     }
 
-    private List<HttpResponse<String>> concurrentGetRequests(List<URI> uris) {
-        this._logger.debug("concurrentGetRequests");
-        List<HttpRequest> requests = uris.stream()
-                .map(HttpRequest::newBuilder)
-                .map(reqBuilder -> reqBuilder
-                        .header("User-Agent", this.UserAgent)
-                        .header("cxorigin", this.getCxOrigin())
-                        .GET()
-                        .build())
-                .collect(Collectors.toList());
-        return processConcurrentRequests(requests);
+    public CompletableFuture<PackageAnalysisAggregation> getRiskAggregationOfArtifactAsync(String packageType,
+                                                                                          String name,
+                                                                                          String version) {
+        return this.getRiskAggregationOfArtifactAsync(packageType, name, version, TrafficClass.INTERACTIVE);
     }
 
-    private List<HttpResponse<String>> concurrentPostRequests(URI uri, List<String> bodies) {
-        this._logger.debug("concurrentPostRequests");
-        List<HttpRequest> requests = bodies.stream()
-                .map(body -> HttpRequest.newBuilder(uri)
-                        .header("User-Agent", this.UserAgent)
-                        .header("cxorigin", this.getCxOrigin())
-                        .POST(BodyPublishers.ofString(body))
-                        .build()
-                )
-                .collect(Collectors.toList());
-        return processConcurrentRequests(requests);
+    public CompletableFuture<PackageAnalysisAggregation> getRiskAggregationOfArtifactAsync(
+            String packageType,
+            String name,
+            String version,
+            @Nonnull TrafficClass trafficClass) {
+        CompletableFuture<List<String>> licensesFuture = this.getLicenseNamesAsync(packageType, name, version,
+                trafficClass);
+        return this.sendConditionalAsync(ScaEndpoint.RISK_AGGREGATION, trafficClass,
+                        this.getRiskAggregationArtifactRequest(packageType, name, version), packageType, name, version,
+                        PackageAnalysisAggregation.class)
+                .thenApply((response) -> {
+                    this._logger.debug(String.format("getRiskAggregationOfArtifact http status code: %s",
+                            response.statusCode()));
+                    return this.decodeBody(response);
+                })
+                .thenCombine(licensesFuture, (packageAnalysisAggregation, licenses) -> new PackageAnalysisAggregation(
+                        packageAnalysisAggregation.getVulnerabilitiesAggregation(), licenses));
     }
 
-    private Map<RepoPath, HttpResponse<String>> zipToMap(List<RepoPath> keys, List<HttpResponse<String>> values) {
-        return IntStream.range(0, keys.size() - 1).boxed()
-                .collect(Collectors.toMap(keys::get, values::get));
+    public CompletableFuture<PackageLicensesModel> getPackageLicenseOfArtifactAsync(String packageType, String name,
+                                                                                   String version) {
+        return this.getPackageLicenseOfArtifactAsync(packageType, name, version, TrafficClass.INTERACTIVE);
     }
 
-    public Map<RepoPath, ArtifactInfo> getArtifactInformationConcurrently(Map<RepoPath, ArtifactId> repoPathArtifactIdMap) {
-        this._logger.debug("ScaHttpClient getArtifactInformationConcurrently start");
-        List<URI> uris = repoPathArtifactIdMap.values().stream()
-                .map(artifactId -> {
-                    this._logger.debug(String.format("building URIs by using Artifacts, Package Type: %s, Name: %s, " +
-                            "Version: %s", artifactId.PackageType, artifactId.Name, artifactId.Version));
-                    return URI.create(
-                            String.format("%s%s",
-                                    this._apiUrl,
-                                    String.format(this.ArtifactInfoAPI, artifactId.PackageType,
-                                            URLEncoder.encode(artifactId.Name, StandardCharsets.UTF_8),
-                                            URLEncoder.encode(artifactId.Version, StandardCharsets.UTF_8)
-                                    )
-                            )
-                    );
+    public CompletableFuture<PackageLicensesModel> getPackageLicenseOfArtifactAsync(String packageType, String name,
+                                                                                   String version,
+                                                                                   @Nonnull TrafficClass trafficClass) {
+        return this.sendConditionalAsync(ScaEndpoint.LICENSES, trafficClass,
+                        this.getLicenceArtifactRequest(packageType, name, version), packageType, name, version,
+                        PackageLicensesModel.class)
+                .thenCompose((response) -> {
+                    if (response.statusCode() == 404) {
+                        return this.TryToFallbackLicense(response, packageType, name, version, trafficClass);
+                    }
+
+                    return CompletableFuture.completedFuture(response);
                 })
-                .collect(Collectors.toList());
-        List<HttpResponse<String>> responses = concurrentGetRequests(uris);
-        this._logger.debug("zip two list to map");
-        Map<RepoPath, HttpResponse<String>> artifactIdHttpResponseMap = this.zipToMap(
-                new ArrayList<>(repoPathArtifactIdMap.keySet()),
-                responses);
-        logErrorResponse("getArtifactInformationConcurrently", artifactIdHttpResponseMap);
-        this._logger.debug("ScaHttpClient getArtifactInformationConcurrently end, return value with response which status code is 200");
-        return artifactIdHttpResponseMap.entrySet().stream()
-                .filter(e -> e.getValue().statusCode() == 200)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> {
-                            String body = e.getValue().body();
-                            return (ArtifactInfo) (new Gson()).fromJson(body, ArtifactInfo.class);
-                        }
-                ));
+                .thenApply(this::decodeBody);
     }
 
-    public Map<RepoPath, PackageAnalysisAggregation> getRiskAggregationConcurrently(Map<RepoPath, ArtifactId> repoPathArtifactIdMap) {
-        this._logger.debug("ScaHttpClient getRiskAggregationConcurrently start");
-        URI uri = URI.create(
-                String.format("%s%s", this._apiUrl, this.RiskAggregationAPI));
-        List<String> bodies = repoPathArtifactIdMap
-                .values()
-                .stream()
-                .map(artifactId -> String.format("{\"packageName\":\"%s\",\"version\":\"%s\",\"packageManager\":\"%s\"}",
-                        artifactId.Name, artifactId.Version, artifactId.PackageType))
-                .collect(Collectors.toList());
-        List<HttpResponse<String>> responses = this.concurrentPostRequests(uri, bodies);
-        Map<RepoPath, HttpResponse<String>> artifactIdHttpResponseMap = this.zipToMap(
-                new ArrayList<>(repoPathArtifactIdMap.keySet()),
-                responses
-        );
-        logErrorResponse("getRiskAggregationConcurrently", artifactIdHttpResponseMap);
-        Map<RepoPath, PackageAnalysisAggregation> result = artifactIdHttpResponseMap.entrySet().stream()
-                .filter(e -> e.getValue().statusCode() == 200)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> {
-                            return (PackageAnalysisAggregation) (new Gson())
-                                    .fromJson((String) e.getValue().body(), PackageAnalysisAggregation.class);
-                        }
-                ));
-        Map<RepoPath, PackageLicensesModel> licensesModelMap = getPackageLicenseConcurrently(repoPathArtifactIdMap);
-        this._logger.debug("ScaHttpClient getRiskAggregationConcurrently end");
-        this._logger.debug("combine each PackageAnalysisAggregation value and  PackageLicensesModel value");
-        return result
-                .entrySet()
-                .stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> {
-                            PackageAnalysisAggregation packageAnalysisAggregation = e.getValue();
-                            PackageLicensesModel packageLicensesModel = licensesModelMap.get(e.getKey());
-                            if (packageLicensesModel != null
-                                && packageLicensesModel.getIdentifiedLicenses() != null
-                                && !packageLicensesModel.getIdentifiedLicenses().isEmpty()) {
-                                List<String> licenses = packageLicensesModel
-                                        .getIdentifiedLicenses()
-                                        .stream()
-                                        .map((identifiedLicense) -> {
-                                            return identifiedLicense.getLicense().getName();
-                                        })
-                                        .collect(Collectors.toList());
-                                packageAnalysisAggregation.setLicenses(licenses);
-                            }
-                            return packageAnalysisAggregation;
-                        }
-                ));
+    public ArtifactInfo getArtifactInformation(String packageType, String name, String version)
+            throws ExecutionException, InterruptedException {
+        return this.await(this.getArtifactInformationAsync(packageType, name, version));
     }
 
-    public Map<RepoPath, PackageLicensesModel> getPackageLicenseConcurrently(Map<RepoPath, ArtifactId> repoPathArtifactIdMap) {
-        this._logger.debug("ScaHttpClient getPackageLicenseConcurrently start");
-        List<URI> uris = repoPathArtifactIdMap
-                .values()
-                .stream()
-                .map(artifactId ->
-                        URI.create(
-                                String.format("%s%s",
-                                        this._apiUrl,
-                                        String.format(this.LicenseAPI,
-                                                artifactId.PackageType,
-                                                URLEncoder.encode(artifactId.Name, StandardCharsets.UTF_8),
-                                                URLEncoder.encode(artifactId.Version, StandardCharsets.UTF_8)
-                                        )
-                                )
-                        )
-                )
-                .collect(Collectors.toList());
-        List<HttpResponse<String>> responses = concurrentGetRequests(uris);
-        Map<RepoPath, HttpResponse<String>> artifactIdHttpResponseMap = this.zipToMap(
-                new ArrayList<>(repoPathArtifactIdMap.keySet()),
-                responses
-        );
-        logErrorResponse("getPackageLicenseConcurrently", artifactIdHttpResponseMap);
-        this._logger.debug("ScaHttpClient getPackageLicenseConcurrently end,  return value with response which status code is 200");
-        return artifactIdHttpResponseMap.entrySet().stream()
-                .filter(e -> e.getValue().statusCode() == 200)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> {
-                            return (PackageLicensesModel) (new Gson()).fromJson((String) e.getValue().body(), PackageLicensesModel.class);
-                        }
-                ));
+    public PackageAnalysisAggregation getRiskAggregationOfArtifact(String packageType, String name, String version)
+            throws ExecutionException, InterruptedException {
+        return this.await(this.getRiskAggregationOfArtifactAsync(packageType, name, version));
     }
 
-    public ArtifactInfo getArtifactInformation(String packageType, String name, String version)
+    public PackageLicensesModel getPackageLicenseOfArtifact(String packageType, String name, String version)
             throws ExecutionException, InterruptedException {
-        HttpResponse<String> artifactResponse = this.getArtifactInfoResponse(packageType, name, version);
-        if (artifactResponse.statusCode() == 404) {
-            artifactResponse = this.TryToFallback(artifactResponse, packageType, name, version);
-        }
+        return this.await(this.getPackageLicenseOfArtifactAsync(packageType, name, version));
+    }
 
-        if (artifactResponse.statusCode() != 200) {
-            throw new UnexpectedResponseCodeException(artifactResponse.statusCode());
+    private CompletableFuture<List<String>> getLicenseNamesAsync(String packageType, String name, String version,
+                                                                 TrafficClass trafficClass) {
+        return this.getPackageLicenseOfArtifactAsync(packageType, name, version, trafficClass)
+                .thenApply((license) -> {
+                    if (license.getIdentifiedLicenses() == null || license.getIdentifiedLicenses().isEmpty()) {
+                        return List.<String>of();
+                    }
+
+                    return license.getIdentifiedLicenses()
+                            .stream()
+                            .map((identifiedLicense) -> identifiedLicense.getLicense().getName())
+                            .collect(Collectors.toList());
+                })
+                .exceptionally((throwable) -> List.of());
+    }
+
+    private <T> T decodeBody(HttpResponse<JsonBody<T>> response) {
+        if (response.statusCode() != 200 && response.statusCode() != 304) {
+            throw new UnexpectedResponseCodeException(response.statusCode());
+        } else if (!response.body().isDecoded()) {
+            throw new UnexpectedResponseBodyException(response.body().getRaw());
         } else {
-            ArtifactInfo artifactInfo;
-            try {
-                artifactInfo = (ArtifactInfo) (new Gson()).fromJson((String) artifactResponse.body(), ArtifactInfo.class);
-            } catch (Exception var7) {
-                throw new UnexpectedResponseBodyException((String) artifactResponse.body());
-            }
+            return response.body().getValue();
+        }
+    }
 
-            if (artifactInfo == null) {
-                throw new UnexpectedResponseBodyException("");
-            } else {
-                return artifactInfo;
+    private <T> T await(CompletableFuture<T> future) throws ExecutionException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException var3) {
+            if (var3.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) var3.getCause();
             }
+
+            throw var3;
         }
     }
 
-    public PackageAnalysisAggregation getRiskAggregationOfArtifact(String packageType, String name, String version)
-            throws ExecutionException, InterruptedException {
-        HttpRequest request = this.getRiskAggregationArtifactRequest(packageType, name, version);
-        CompletableFuture<HttpResponse<String>> responseFuture = this._httpClient
-                .sendAsync(request, BodyHandlers.ofString());
-        HttpResponse<String> risksResponse = responseFuture.get();
-        this._logger.debug(String.format("getRiskAggregationOfArtifact http status code: %s", risksResponse.statusCode()));
-        if (risksResponse.statusCode() != 200) {
-            throw new UnexpectedResponseCodeException(risksResponse.statusCode());
-        } else {
-            PackageAnalysisAggregation packageAnalysisAggregation;
-            try {
-                packageAnalysisAggregation = (PackageAnalysisAggregation) (
-                        new Gson()).fromJson((String) risksResponse.body(), PackageAnalysisAggregation.class);
-            } catch (Exception var11) {
-                throw new UnexpectedResponseBodyException((String) risksResponse.body());
-            }
+    public CompletableFuture<Boolean> suggestPrivatePackageAsync(ArtifactId artifactId) {
+        HttpRequest request;
+        try {
+            request = this.getSuggestPrivatePackageRequest(artifactId);
+        } catch (RuntimeException var4) {
+            return CompletableFuture.failedFuture(var4);
+        }
 
-            if (packageAnalysisAggregation == null) {
-                throw new UnexpectedResponseBodyException("");
-            } else {
-                List<String> licenses = List.of();
-
-                try {
-                    PackageLicensesModel license = this.getPackageLicenseOfArtifact(packageType, name, version);
-                    if (license.getIdentifiedLicenses() != null && !license.getIdentifiedLicenses().isEmpty()) {
-                        licenses = license.getIdentifiedLicenses()
-                                .stream()
-                                .map((identifiedLicense) -> identifiedLicense.getLicense().getName())
-                                .collect(Collectors.toList());
+        return this.sendAsync(ScaEndpoint.SUGGEST_PRIVATE_PACKAGE, TrafficClass.SUGGESTION, request,
+                        BodyHandlers.ofString())
+                .thenApply((response) -> {
+                    if (response.statusCode() != 200) {
+                        throw new UnexpectedResponseBodyException((String) response.body());
                     }
-                } catch (Exception var10) {
-                    licenses = List.of();
-                }
 
-                packageAnalysisAggregation.setLicenses(licenses);
-                return packageAnalysisAggregation;
-            }
-        }
+                    return true;
+                });
     }
 
     public Boolean suggestPrivatePackage(ArtifactId artifactId) throws ExecutionException,
             InterruptedException, MissingResourceException {
-        HttpRequest request = this.getSuggestPrivatePackageRequest(artifactId);
-        CompletableFuture<HttpResponse<String>> responseFuture = this._httpClient
-                .sendAsync(request, BodyHandlers.ofString());
-        HttpResponse<String> response = responseFuture.get();
-        if (response.statusCode() != 200) {
-            throw new UnexpectedResponseBodyException((String) response.body());
-        } else {
-            return true;
-        }
+        return this.await(this.suggestPrivatePackageAsync(artifactId));
     }
 
-    private HttpRequest getRiskAggregationArtifactRequest(String packageType, String name, String version)
+    private HttpRequest.Builder getRiskAggregationArtifactRequest(String packageType, String name, String version)
             throws CancelException {
         String body = String.format("{\"packageName\":\"%s\",\"version\":\"%s\",\"packageManager\":\"%s\"}",
                 name, version, packageType);
-        return HttpRequest.newBuilder(URI.create(String.format("%s%s", this._apiUrl, this.RiskAggregationAPI)))
+        return this._httpClientFactory
+                .newRequestBuilder(URI.create(String.format("%s%s", this._apiUrl, this.RiskAggregationAPI)))
                 .header("content-type", "application/json")
                 .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 " +
                         "(KHTML, like Gecko) Chrome/100.0.4896.92 Safari/537.36")
                 .header("cxorigin", this.getCxOrigin())
-                .POST(BodyPublishers.ofString(body))
-                .build();
+                .POST(BodyPublishers.ofString(body));
     }
 
-    private HttpRequest getLicenceArtifactRequest(
+    private HttpRequest.Builder getLicenceArtifactRequest(
             @NotNull String packageType,
             @NotNull String name,
             @NotNull String version) throws CancelException {
         name = URLEncoder.encode(name, StandardCharsets.UTF_8);
         version = URLEncoder.encode(version, StandardCharsets.UTF_8);
         String url = String.format(this.LicenseAPI, packageType, name, version);
-        return HttpRequest.newBuilder(URI.create(String.format("%s%s", this._apiUrl, url)))
+        return this._httpClientFactory
+                .newRequestBuilder(URI.create(String.format("%s%s", this._apiUrl, url)))
                 .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML," +
                         " like Gecko) Chrome/100.0.4896.92 Safari/537.36")
                 .header("cxorigin", this.getCxOrigin())
-                .GET()
-                .build();
+                .GET();
     }
 
-    private HttpRequest getArtifactInfoRequest(
+    private HttpRequest.Builder getArtifactInfoRequest(
             @NotNull String packageType,
             @NotNull String name,
             @NotNull String version) {
         name = URLEncoder.encode(name, StandardCharsets.UTF_8);
         version = URLEncoder.encode(version, StandardCharsets.UTF_8);
         String artifactPath = String.format(this.ArtifactInfoAPI, packageType, name, version);
-        return HttpRequest.newBuilder(URI.create(String.format("%s%s", this._apiUrl, artifactPath)))
+        return this._httpClientFactory
+                .newRequestBuilder(URI.create(String.format("%s%s", this._apiUrl, artifactPath)))
                 .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 " +
                         "(KHTML, like Gecko) Chrome/100.0.4896.92 Safari/537.36")
                 .header("cxorigin", this.getCxOrigin())
-                .GET()
-                .build();
+                .GET();
     }
 
     private HttpRequest getSuggestPrivatePackageRequest(ArtifactId artifactId) throws CancelException {
@@ -407,7 +279,8 @@ public class ScaHttpClient {
             throw new UserIsNotAuthenticatedException();
         } else {
             AuthenticationHeader authHeader = this._accessControlClient.GetAuthorizationHeader();
-            return HttpRequest.newBuilder(URI.create(String.format("%s%s", this._apiUrl, this.SuggestPrivatePackageAPI)))
+            return this._httpClientFactory
+                .newRequestBuilder(URI.create(String.format("%s%s", this._apiUrl, this.SuggestPrivatePackageAPI)))
                     .header((String) authHeader.getKey(), (String) authHeader.getValue())
                     .header("content-type", "application/json")
                     .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 " +
@@ -418,89 +291,91 @@ public class ScaHttpClient {
         }
     }
 
-    private HttpResponse<String> TryToFallback(
-            HttpResponse<String> previousResponse,
+    private CompletableFuture<HttpResponse<JsonBody<ArtifactInfo>>> TryToFallback(
+            HttpResponse<JsonBody<ArtifactInfo>> previousResponse,
             String packageType,
             String name,
-            String version) throws ExecutionException, InterruptedException {
-        String newName = null;
-        if (packageType.equals(PackageManager.PYPI.packageType())) {
-            newName = this._pyPiFallback.applyFallback(name);
-        }
-
+            String version,
+            TrafficClass trafficClass) {
+        String newName = this.getFallbackName(packageType, name);
         if (newName == null) {
-            throw new UnexpectedResponseCodeException(previousResponse.statusCode());
+            return CompletableFuture.completedFuture(previousResponse);
         } else {
-            HttpResponse<String> artifactResponse = this.getArtifactInfoResponse(packageType, newName, version);
-            if (artifactResponse.statusCode() == 404) {
-                throw new UnexpectedResponseCodeException(artifactResponse.statusCode());
-            } else {
-                return artifactResponse;
-            }
+            return this.sendConditionalAsync(ScaEndpoint.ARTIFACT_INFO, trafficClass,
+                    this.getArtifactInfoRequest(packageType, newName, version), packageType, newName, version,
+                    ArtifactInfo.class);
         }
     }
 
-    private HttpResponse<String> TryToFallbackLicense(
-            HttpResponse<String> previousResponse,
+    private CompletableFuture<HttpResponse<JsonBody<PackageLicensesModel>>> TryToFallbackLicense(
+            HttpResponse<JsonBody<PackageLicensesModel>> previousResponse,
             String packageType,
             String name,
-            String version) throws ExecutionException, InterruptedException {
-        String newName = null;
-        if (packageType.equals(PackageManager.PYPI.packageType())) {
-            newName = this._pyPiFallback.applyFallback(name);
-        }
-
+            String version,
+            TrafficClass trafficClass) {
+        String newName = this.getFallbackName(packageType, name);
         if (newName == null) {
-            throw new UnexpectedResponseCodeException(previousResponse.statusCode());
+            return CompletableFuture.completedFuture(previousResponse);
         } else {
-            HttpRequest artifactRequest = this.getLicenceArtifactRequest(packageType, newName, version);
-            HttpResponse<String> artifactResponse = this._httpClient
-                    .sendAsync(artifactRequest, BodyHandlers.ofString()).get();
-            if (artifactResponse.statusCode() == 404) {
-                throw new UnexpectedResponseCodeException(artifactResponse.statusCode());
-            } else {
-                return artifactResponse;
-            }
+            return this.sendConditionalAsync(ScaEndpoint.LICENSES, trafficClass,
+                    this.getLicenceArtifactRequest(packageType, newName, version), packageType, newName, version,
+                    PackageLicensesModel.class);
         }
     }
 
-    private HttpResponse<String> getArtifactInfoResponse(String packageType, String name, String version)
-            throws ExecutionException, InterruptedException {
-        HttpRequest request = this.getArtifactInfoRequest(packageType, name, version);
-        CompletableFuture<HttpResponse<String>> responseFuture = this._httpClient
-                .sendAsync(request, BodyHandlers.ofString());
-        return responseFuture.get();
+    private String getFallbackName(String packageType, String name) {
+        if (packageType.equals(PackageManager.PYPI.packageType())) {
+            return this._pyPiFallback.applyFallback(name);
+        }
+
+        return null;
     }
 
-    public PackageLicensesModel getPackageLicenseOfArtifact(String packageType, String name, String version)
-            throws ExecutionException, InterruptedException {
-        HttpRequest request = this.getLicenceArtifactRequest(packageType, name, version);
-        CompletableFuture<HttpResponse<String>> responseFuture = this._httpClient
-                .sendAsync(request, BodyHandlers.ofString());
-        HttpResponse<String> licenseResponse = responseFuture.get();
-        if (licenseResponse.statusCode() == 404) {
-            licenseResponse = this.TryToFallbackLicense(licenseResponse, packageType, name, version);
+    private <T> CompletableFuture<HttpResponse<JsonBody<T>>> sendConditionalAsync(ScaEndpoint endpoint,
+                                                                                 TrafficClass trafficClass,
+                                                                                 HttpRequest.Builder requestBuilder,
+                                                                                 String packageType, String name,
+                                                                                 String version, Class<T> type) {
+        if (!ConditionalRequestCache.isConditional(endpoint)) {
+            return this.decodeAsync(this.sendAsync(endpoint, trafficClass, requestBuilder.build(),
+                    JsonBody.handler(type)), null);
         }
 
-        if (licenseResponse.statusCode() != 200) {
-            throw new UnexpectedResponseCodeException(licenseResponse.statusCode());
-        } else {
-            PackageLicensesModel packageAnalysisAggregation;
-            try {
-                Type listType = (new TypeToken<PackageLicensesModel>() {
-                }).getType();
-                packageAnalysisAggregation = (PackageLicensesModel) (new Gson())
-                        .fromJson((String) licenseResponse.body(), listType);
-            } catch (Exception var9) {
-                throw new UnexpectedResponseBodyException((String) licenseResponse.body());
-            }
+        String key = String.format("%s:%s:%s:%s", endpoint.key(), packageType, name, version);
+        HttpRequest unconditionalRequest = requestBuilder.build();
+        JsonBody<T> notModifiedBody = this._conditionalRequestCache.addValidators(key, requestBuilder);
+        return this.decodeAsync(this.sendAsync(endpoint, trafficClass, requestBuilder.build(),
+                        JsonBody.handler(type, notModifiedBody)), key)
+                .thenCompose((response) -> {
+                    if (response.statusCode() != 412 || notModifiedBody == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    this._logger.debug(String.format("The validators of the %s request were rejected, sending it " +
+                            "again without them.", endpoint.key()));
+                    return this.decodeAsync(this.sendAsync(endpoint, trafficClass, unconditionalRequest,
+                            JsonBody.handler(type)), key);
+                });
+    }
 
-            if (packageAnalysisAggregation == null) {
-                throw new UnexpectedResponseBodyException("");
-            } else {
-                return packageAnalysisAggregation;
+    private <T> CompletableFuture<HttpResponse<JsonBody<T>>> decodeAsync(
+            CompletableFuture<HttpResponse<JsonBody<T>>> responseFuture, String conditionalKey) {
+        return responseFuture.thenApplyAsync((response) -> {
+            response.body().decode();
+            if (conditionalKey != null) {
+                this._conditionalRequestCache.update(conditionalKey, response);
             }
-        }
+
+            return response;
+        }, this._httpClientFactory.getDecodeExecutor());
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> sendAsync(ScaEndpoint endpoint, TrafficClass trafficClass,
+                                                            HttpRequest request, BodyHandler<T> handler) {
+        return this._retryPolicy.execute(() -> this._rateLimiter.execute(endpoint, trafficClass,
+                () -> this._concurrencyLimiter.execute(trafficClass, () -> this._requestHedger.execute(endpoint,
+                        trafficClass, () -> this._circuitBreaker.execute(() -> this._httpClient.sendAsync(request,
+                                handler))))));
     }
 
     private String getCxOrigin() {
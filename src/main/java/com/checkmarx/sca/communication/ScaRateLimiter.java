@@ -0,0 +1,155 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.IConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.google.inject.Inject;
+
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps the SCA calls under the tenant quota with token buckets: one per traffic class
+ * (sca.api.rate-limit.&lt;class&gt;) and optionally one per class and endpoint
+ * (sca.api.rate-limit.&lt;class&gt;.&lt;endpoint&gt;), in requests per second. A request over the rate is delayed
+ * until its token is due instead of being rejected. Interactive requests that find their own bucket empty
+ * borrow a token from the bulk or suggestion buckets first, so downloads are served ahead of a rescan.
+ */
+public class ScaRateLimiter {
+    private static final TrafficClass[] LENDERS = {TrafficClass.BULK, TrafficClass.SUGGESTION};
+
+    private final Map<TrafficClass, TokenBucket> _classBuckets = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, Map<ScaEndpoint, TokenBucket>> _endpointBuckets = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, LongAdder> _throttled = new EnumMap<>(TrafficClass.class);
+    private final LongAdder _borrowed = new LongAdder();
+
+    @Inject
+    public ScaRateLimiter(@Nonnull PluginConfiguration configuration) {
+        Logger logger = configuration.getLogger();
+        int burstSeconds = Math.max(1, configuration.getIntegerOrDefault(ConfigurationEntry.API_RATE_LIMIT_BURST));
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            this._throttled.put(trafficClass, new LongAdder());
+            int rate = configuration.getIntegerOrDefault(trafficClass.rateLimit());
+            if (rate > 0) {
+                this._classBuckets.put(trafficClass, new TokenBucket(rate, (double) rate * burstSeconds));
+            }
+
+            Map<ScaEndpoint, TokenBucket> endpointBuckets = new EnumMap<>(ScaEndpoint.class);
+            for (ScaEndpoint endpoint : ScaEndpoint.values()) {
+                int endpointRate = configuration.getIntegerOrDefault(
+                        new EndpointRateLimitEntry(trafficClass.rateLimit(), endpoint));
+                if (endpointRate > 0) {
+                    endpointBuckets.put(endpoint, new TokenBucket(endpointRate, (double) endpointRate * burstSeconds));
+                }
+            }
+            this._endpointBuckets.put(trafficClass, endpointBuckets);
+        }
+
+        if (!this._classBuckets.isEmpty() || this._endpointBuckets.values().stream().anyMatch((map) -> !map.isEmpty())) {
+            logger.info("Sca API rate limiting enabled.");
+        }
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> execute(@Nonnull ScaEndpoint endpoint,
+                                                          @Nonnull TrafficClass trafficClass,
+                                                          @Nonnull Supplier<CompletableFuture<HttpResponse<T>>> request) {
+        long waitNanos = this.reserve(endpoint, trafficClass);
+        if (waitNanos <= 0) {
+            return request.get();
+        }
+
+        this._throttled.get(trafficClass).increment();
+        return CompletableFuture
+                .supplyAsync(request, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS))
+                .thenCompose((response) -> response);
+    }
+
+    /**
+     * Takes a token for an optional request without waiting or borrowing: false if the endpoint or class bucket is
+     * empty, in which case no token is consumed.
+     */
+    public boolean tryAcquire(@Nonnull ScaEndpoint endpoint, @Nonnull TrafficClass trafficClass) {
+        TokenBucket endpointBucket = this._endpointBuckets.get(trafficClass).get(endpoint);
+        if (endpointBucket != null && !endpointBucket.tryAcquire()) {
+            return false;
+        }
+
+        TokenBucket classBucket = this._classBuckets.get(trafficClass);
+        if (classBucket != null && !classBucket.tryAcquire()) {
+            if (endpointBucket != null) {
+                endpointBucket.release();
+            }
+            return false;
+        }
+
+        return true;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            Map<String, Object> classStatistics = new LinkedHashMap<>();
+            TokenBucket bucket = this._classBuckets.get(trafficClass);
+            classStatistics.put("availableTokens", bucket != null ? (long) Math.max(0, bucket.available()) : "unlimited");
+            classStatistics.put("throttled", this._throttled.get(trafficClass).sum());
+            statistics.put(trafficClass.key(), classStatistics);
+        }
+        statistics.put("borrowed", this._borrowed.sum());
+        return statistics;
+    }
+
+    private long reserve(ScaEndpoint endpoint, TrafficClass trafficClass) {
+        long waitNanos = 0;
+        TokenBucket endpointBucket = this._endpointBuckets.get(trafficClass).get(endpoint);
+        if (endpointBucket != null) {
+            waitNanos = endpointBucket.reserve();
+        }
+
+        TokenBucket classBucket = this._classBuckets.get(trafficClass);
+        if (classBucket != null && !classBucket.tryAcquire()) {
+            if (trafficClass == TrafficClass.INTERACTIVE && this.borrow()) {
+                this._borrowed.increment();
+            } else {
+                waitNanos = Math.max(waitNanos, classBucket.reserve());
+            }
+        }
+
+        return waitNanos;
+    }
+
+    private boolean borrow() {
+        for (TrafficClass lender : LENDERS) {
+            TokenBucket bucket = this._classBuckets.get(lender);
+            if (bucket != null && bucket.tryAcquire()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static class EndpointRateLimitEntry implements IConfigurationEntry {
+        private final String propertyKey;
+
+        EndpointRateLimitEntry(ConfigurationEntry classRateLimit, ScaEndpoint endpoint) {
+            this.propertyKey = String.format("%s.%s", classRateLimit.propertyKey(), endpoint.key());
+        }
+
+        public String propertyKey() {
+            return this.propertyKey;
+        }
+
+        public String defaultValue() {
+            return "0";
+        }
+    }
+}
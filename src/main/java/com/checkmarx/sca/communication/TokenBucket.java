@@ -0,0 +1,48 @@
+package com.checkmarx.sca.communication;
+
+import java.util.concurrent.TimeUnit;
+
+class TokenBucket {
+    private final double _tokensPerNano;
+    private final double _capacity;
+    private double _tokens;
+    private long _refilledAt;
+
+    TokenBucket(double tokensPerSecond, double capacity) {
+        this._tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this._capacity = Math.max(1, capacity);
+        this._tokens = this._capacity;
+        this._refilledAt = System.nanoTime();
+    }
+
+    synchronized boolean tryAcquire() {
+        this.refill();
+        if (this._tokens < 1) {
+            return false;
+        }
+
+        this._tokens--;
+        return true;
+    }
+
+    synchronized long reserve() {
+        this.refill();
+        this._tokens--;
+        return this._tokens >= 0 ? 0 : (long) Math.ceil(-this._tokens / this._tokensPerNano);
+    }
+
+    synchronized void release() {
+        this._tokens = Math.min(this._capacity, this._tokens + 1);
+    }
+
+    synchronized double available() {
+        this.refill();
+        return this._tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        this._tokens = Math.min(this._capacity, this._tokens + (now - this._refilledAt) * this._tokensPerNano);
+        this._refilledAt = now;
+    }
+}
@@ -0,0 +1,25 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+
+public enum TrafficClass {
+    INTERACTIVE("interactive", ConfigurationEntry.API_RATE_LIMIT_INTERACTIVE),
+    BULK("bulk", ConfigurationEntry.API_RATE_LIMIT_BULK),
+    SUGGESTION("suggestion", ConfigurationEntry.API_RATE_LIMIT_SUGGESTION);
+
+    private final String key;
+    private final ConfigurationEntry rateLimit;
+
+    private TrafficClass(String key, ConfigurationEntry rateLimit) {
+        this.key = key;
+        this.rateLimit = rateLimit;
+    }
+
+    public String key() {
+        return this.key;
+    }
+
+    public ConfigurationEntry rateLimit() {
+        return this.rateLimit;
+    }
+}
@@ -0,0 +1,7 @@
+package com.checkmarx.sca.communication.exceptions;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+    public CircuitBreakerOpenException() {
+        super("The Sca API circuit breaker is open, the request was not sent.");
+    }
+}
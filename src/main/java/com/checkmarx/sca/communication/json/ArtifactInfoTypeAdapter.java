@@ -0,0 +1,86 @@
+package com.checkmarx.sca.communication.json;
+
+import com.checkmarx.sca.models.ArtifactInfo;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+class ArtifactInfoTypeAdapter extends TypeAdapter<ArtifactInfo> {
+    @Override
+    public ArtifactInfo read(JsonReader reader) throws IOException {
+        if (ScaJson.nextNullIfPresent(reader)) {
+            return null;
+        }
+
+        String packageId = null;
+        String legacyPackageId = null;
+        String name = null;
+        String version = null;
+        String type = null;
+        String releaseDate = null;
+        String description = null;
+        String projectUrl = null;
+        String projectHomePage = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "packageId":
+                    packageId = ScaJson.nextStringOrNull(reader);
+                    break;
+                case "legacyPackageId":
+                    legacyPackageId = ScaJson.nextStringOrNull(reader);
+                    break;
+                case "name":
+                    name = ScaJson.nextStringOrNull(reader);
+                    break;
+                case "version":
+                    version = ScaJson.nextStringOrNull(reader);
+                    break;
+                case "type":
+                    type = ScaJson.nextStringOrNull(reader);
+                    break;
+                case "releaseDate":
+                    releaseDate = ScaJson.nextStringOrNull(reader);
+                    break;
+                case "description":
+                    description = ScaJson.nextStringOrNull(reader);
+                    break;
+                case "projectUrl":
+                    projectUrl = ScaJson.nextStringOrNull(reader);
+                    break;
+                case "projectHomePage":
+                    projectHomePage = ScaJson.nextStringOrNull(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new ArtifactInfo(packageId, legacyPackageId, name, version, type, releaseDate, description,
+                projectUrl, projectHomePage);
+    }
+
+    @Override
+    public void write(JsonWriter writer, ArtifactInfo value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+            return;
+        }
+
+        writer.beginObject();
+        writer.name("packageId").value(value.getPackageId());
+        writer.name("legacyPackageId").value(value.getId());
+        writer.name("name").value(value.getName());
+        writer.name("version").value(value.getVersion());
+        writer.name("type").value(value.getPackageType());
+        writer.name("releaseDate").value(value.getReleaseDate());
+        writer.name("description").value(value.getDescription());
+        writer.name("projectUrl").value(value.getProjectUrl());
+        writer.name("projectHomePage").value(value.getProjectHomePage());
+        writer.endObject();
+    }
+}
@@ -0,0 +1,169 @@
+package com.checkmarx.sca.communication.json;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nonnull;
+
+/**
+ * Body of an SCA response. A successful response is received as an InputStream and decoded with the shared
+ * {@link ScaJson#GSON} adapters straight from the stream, so neither the bytes nor the text of the whole body are
+ * held in memory. The stream is only read by {@link #decode()}, which blocks until the body has arrived and must
+ * therefore not run on a thread of the HTTP client. The raw text is kept when the response is not a 200 or cannot be
+ * decoded, so it can still be logged or reported; for a 200 it is limited to the first {@value #RAW_LIMIT} bytes. A
+ * 304 answer to a conditional request is given the previously decoded body.
+ */
+public final class JsonBody<T> implements Closeable {
+    private static final int RAW_LIMIT = 512;
+
+    private final Class<T> _type;
+    private InputStream _stream;
+    private volatile boolean _done;
+    private T _value;
+    private String _raw;
+
+    private JsonBody(Class<T> type, InputStream stream, T value, String raw) {
+        this._type = type;
+        this._stream = stream;
+        this._value = value;
+        this._raw = raw;
+        this._done = stream == null;
+    }
+
+    public static <T> BodyHandler<JsonBody<T>> handler(@Nonnull Class<T> type) {
+        return handler(type, null);
+    }
+
+    public static <T> BodyHandler<JsonBody<T>> handler(@Nonnull Class<T> type, JsonBody<T> notModifiedBody) {
+        return (responseInfo) -> {
+            if (responseInfo.statusCode() == 304 && notModifiedBody != null) {
+                return BodySubscribers.replacing(notModifiedBody);
+            } else if (responseInfo.statusCode() != 200) {
+                return BodySubscribers.mapping(BodySubscribers.ofString(StandardCharsets.UTF_8),
+                        (body) -> new JsonBody<>(type, null, null, body));
+            }
+
+            return BodySubscribers.mapping(BodySubscribers.ofInputStream(),
+                    (stream) -> new JsonBody<>(type, stream, null, null));
+        };
+    }
+
+    public static <T> JsonBody<T> of(@Nonnull InputStream stream, @Nonnull Class<T> type) {
+        return new JsonBody<>(type, stream, null, null);
+    }
+
+    /**
+     * Reads and decodes the body if that was not done yet. Blocks while the body is being received.
+     */
+    public JsonBody<T> decode() {
+        if (this._done) {
+            return this;
+        }
+
+        synchronized (this) {
+            if (this._done) {
+                return this;
+            }
+
+            PrefixInputStream input = new PrefixInputStream(this._stream);
+            try {
+                this._value = ScaJson.read(input, this._type);
+            } catch (Exception var8) {
+                this._raw = input.getPrefix().isEmpty() ? "" : String.format("%s... (%s)", input.getPrefix(),
+                        var8.getMessage());
+            } finally {
+                closeQuietly(input);
+            }
+
+            this._stream = null;
+            this._done = true;
+            return this;
+        }
+    }
+
+    public T getValue() {
+        return this.decode()._value;
+    }
+
+    public boolean isDecoded() {
+        return this.decode()._value != null;
+    }
+
+    public String getRaw() {
+        String raw = this.decode()._raw;
+        return raw != null ? raw : "";
+    }
+
+    /**
+     * Releases the connection of a body that will not be decoded, for example the losing attempt of a hedged request.
+     */
+    @Override
+    public void close() {
+        if (this._done) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!this._done) {
+                closeQuietly(this._stream);
+                this._stream = null;
+                this._done = true;
+            }
+        }
+    }
+
+    /**
+     * Keeps a copy of the first bytes read from the body, so a body that is not JSON can still be reported.
+     */
+    private static final class PrefixInputStream extends FilterInputStream {
+        private final byte[] _prefix = new byte[RAW_LIMIT];
+        private int _prefixLength;
+
+        private PrefixInputStream(InputStream stream) {
+            super(stream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0 && this._prefixLength < RAW_LIMIT) {
+                this._prefix[this._prefixLength++] = (byte) value;
+            }
+
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = this.in.read(buffer, offset, length);
+            if (count > 0 && this._prefixLength < RAW_LIMIT) {
+                int copied = Math.min(count, RAW_LIMIT - this._prefixLength);
+                System.arraycopy(buffer, offset, this._prefix, this._prefixLength, copied);
+                this._prefixLength += copied;
+            }
+
+            return count;
+        }
+
+        private String getPrefix() {
+            return new String(this._prefix, 0, this._prefixLength, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException var2) {
+            // the connection is discarded by the HTTP client
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this._raw != null ? this._raw : String.valueOf(this._value);
+    }
+}
@@ -0,0 +1,134 @@
+package com.checkmarx.sca.communication.json;
+
+import com.checkmarx.sca.models.PackageAnalysisAggregation;
+import com.checkmarx.sca.models.VulnerabilitiesAggregation;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class PackageAnalysisAggregationTypeAdapter extends TypeAdapter<PackageAnalysisAggregation> {
+    @Override
+    public PackageAnalysisAggregation read(JsonReader reader) throws IOException {
+        if (ScaJson.nextNullIfPresent(reader)) {
+            return null;
+        }
+
+        VulnerabilitiesAggregation vulnerabilitiesAggregation = null;
+        List<String> licenses = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "packageVulnerabilitiesAggregation":
+                    vulnerabilitiesAggregation = this.readVulnerabilitiesAggregation(reader);
+                    break;
+                case "packageLicenses":
+                    licenses = this.readLicenses(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new PackageAnalysisAggregation(vulnerabilitiesAggregation, licenses);
+    }
+
+    @Override
+    public void write(JsonWriter writer, PackageAnalysisAggregation value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+            return;
+        }
+
+        writer.beginObject();
+        writer.name("packageVulnerabilitiesAggregation");
+        VulnerabilitiesAggregation aggregation = value.getVulnerabilitiesAggregation();
+        if (aggregation == null) {
+            writer.nullValue();
+        } else {
+            writer.beginObject();
+            writer.name("vulnerabilitiesCount").value(aggregation.getVulnerabilitiesCount());
+            writer.name("maxRiskSeverity").value(aggregation.getMaxRiskSeverity());
+            writer.name("maxRiskScore").value(aggregation.getMaxRiskScore());
+            writer.name("highRiskCount").value(aggregation.getHighRiskCount());
+            writer.name("mediumRiskCount").value(aggregation.getMediumRiskCount());
+            writer.name("lowRiskCount").value(aggregation.getLowRiskCount());
+            writer.endObject();
+        }
+
+        writer.name("packageLicenses");
+        if (value.getLicenses() == null) {
+            writer.nullValue();
+        } else {
+            writer.beginArray();
+            for (String license : value.getLicenses()) {
+                writer.value(license);
+            }
+            writer.endArray();
+        }
+        writer.endObject();
+    }
+
+    private VulnerabilitiesAggregation readVulnerabilitiesAggregation(JsonReader reader) throws IOException {
+        if (ScaJson.nextNullIfPresent(reader)) {
+            return null;
+        }
+
+        int vulnerabilitiesCount = 0;
+        String maxRiskSeverity = null;
+        double maxRiskScore = 0;
+        int highRiskCount = 0;
+        int mediumRiskCount = 0;
+        int lowRiskCount = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "vulnerabilitiesCount":
+                    vulnerabilitiesCount = ScaJson.nextIntOrZero(reader);
+                    break;
+                case "maxRiskSeverity":
+                    maxRiskSeverity = ScaJson.nextStringOrNull(reader);
+                    break;
+                case "maxRiskScore":
+                    maxRiskScore = ScaJson.nextDoubleOrZero(reader);
+                    break;
+                case "highRiskCount":
+                    highRiskCount = ScaJson.nextIntOrZero(reader);
+                    break;
+                case "mediumRiskCount":
+                    mediumRiskCount = ScaJson.nextIntOrZero(reader);
+                    break;
+                case "lowRiskCount":
+                    lowRiskCount = ScaJson.nextIntOrZero(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new VulnerabilitiesAggregation(vulnerabilitiesCount, maxRiskSeverity, maxRiskScore, highRiskCount,
+                mediumRiskCount, lowRiskCount);
+    }
+
+    private List<String> readLicenses(JsonReader reader) throws IOException {
+        if (ScaJson.nextNullIfPresent(reader)) {
+            return null;
+        }
+
+        List<String> licenses = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            licenses.add(ScaJson.nextStringOrNull(reader));
+        }
+        reader.endArray();
+
+        return licenses;
+    }
+}
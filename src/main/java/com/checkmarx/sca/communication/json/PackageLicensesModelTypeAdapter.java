@@ -0,0 +1,124 @@
+package com.checkmarx.sca.communication.json;
+
+import com.checkmarx.sca.models.IdentifiedLicensesModel;
+import com.checkmarx.sca.models.PackageLicensesModel;
+import com.checkmarx.sca.models.SoftwareLicenseModel;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class PackageLicensesModelTypeAdapter extends TypeAdapter<PackageLicensesModel> {
+    @Override
+    public PackageLicensesModel read(JsonReader reader) throws IOException {
+        if (ScaJson.nextNullIfPresent(reader)) {
+            return null;
+        }
+
+        List<IdentifiedLicensesModel> identifiedLicenses = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("identifiedLicenses".equals(reader.nextName())) {
+                identifiedLicenses = this.readIdentifiedLicenses(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new PackageLicensesModel(identifiedLicenses);
+    }
+
+    @Override
+    public void write(JsonWriter writer, PackageLicensesModel value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+            return;
+        }
+
+        writer.beginObject();
+        writer.name("identifiedLicenses");
+        if (value.getIdentifiedLicenses() == null) {
+            writer.nullValue();
+        } else {
+            writer.beginArray();
+            for (IdentifiedLicensesModel identifiedLicense : value.getIdentifiedLicenses()) {
+                if (identifiedLicense == null) {
+                    writer.nullValue();
+                    continue;
+                }
+
+                writer.beginObject();
+                writer.name("license");
+                SoftwareLicenseModel license = identifiedLicense.getLicense();
+                if (license == null) {
+                    writer.nullValue();
+                } else {
+                    writer.beginObject();
+                    writer.name("name").value(license.getName());
+                    writer.endObject();
+                }
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+        writer.endObject();
+    }
+
+    private List<IdentifiedLicensesModel> readIdentifiedLicenses(JsonReader reader) throws IOException {
+        if (ScaJson.nextNullIfPresent(reader)) {
+            return null;
+        }
+
+        List<IdentifiedLicensesModel> identifiedLicenses = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            identifiedLicenses.add(this.readIdentifiedLicense(reader));
+        }
+        reader.endArray();
+
+        return identifiedLicenses;
+    }
+
+    private IdentifiedLicensesModel readIdentifiedLicense(JsonReader reader) throws IOException {
+        if (ScaJson.nextNullIfPresent(reader)) {
+            return null;
+        }
+
+        SoftwareLicenseModel license = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("license".equals(reader.nextName())) {
+                license = this.readLicense(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new IdentifiedLicensesModel(license);
+    }
+
+    private SoftwareLicenseModel readLicense(JsonReader reader) throws IOException {
+        if (ScaJson.nextNullIfPresent(reader)) {
+            return null;
+        }
+
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("name".equals(reader.nextName())) {
+                name = ScaJson.nextStringOrNull(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new SoftwareLicenseModel(name);
+    }
+}
@@ -0,0 +1,70 @@
+package com.checkmarx.sca.communication.json;
+
+import com.checkmarx.sca.models.ArtifactInfo;
+import com.checkmarx.sca.models.PackageAnalysisAggregation;
+import com.checkmarx.sca.models.PackageLicensesModel;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nonnull;
+
+public final class ScaJson {
+    public static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(ArtifactInfo.class, new ArtifactInfoTypeAdapter())
+            .registerTypeAdapter(PackageAnalysisAggregation.class, new PackageAnalysisAggregationTypeAdapter())
+            .registerTypeAdapter(PackageLicensesModel.class, new PackageLicensesModelTypeAdapter())
+            .create();
+
+    private ScaJson() {
+    }
+
+    /**
+     * Decodes one value from the stream as it is read. The stream is not closed.
+     */
+    public static <T> T read(@Nonnull InputStream stream, @Nonnull Class<T> type) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        return GSON.getAdapter(type).read(reader);
+    }
+
+    static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        return reader.nextString();
+    }
+
+    static int nextIntOrZero(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0;
+        }
+
+        return reader.nextInt();
+    }
+
+    static double nextDoubleOrZero(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0;
+        }
+
+        return reader.nextDouble();
+    }
+
+    static boolean nextNullIfPresent(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -2,16 +2,62 @@ package com.checkmarx.sca.configuration;
 
 public enum ConfigurationEntry implements IConfigurationEntry {
     API_URL("sca.api.url", "https://api-sca.checkmarx.net"),
+    API_CONCURRENCY_INITIAL_LIMIT("sca.api.concurrency.initial-limit", "20"),
+    API_CONCURRENCY_MIN_LIMIT("sca.api.concurrency.min-limit", "2"),
+    API_CONCURRENCY_MAX_LIMIT("sca.api.concurrency.max-limit", "200"),
+    API_CONCURRENCY_LATENCY_THRESHOLD("sca.api.concurrency.latency-threshold", "2000"),
+    API_RETRY_MAX_ATTEMPTS("sca.api.retry.max-attempts", "4"),
+    API_RETRY_BASE_DELAY("sca.api.retry.base-delay", "200"),
+    API_RETRY_MAX_DELAY("sca.api.retry.max-delay", "10000"),
+    API_RETRY_BUDGET_PERCENT("sca.api.retry.budget-percent", "20"),
+    API_RETRY_BUDGET_MAX_TOKENS("sca.api.retry.budget-max-tokens", "100"),
+    CIRCUIT_BREAKER_ENABLED("sca.circuit-breaker.enabled", "true"),
+    CIRCUIT_BREAKER_WINDOW_SIZE("sca.circuit-breaker.window-size", "50"),
+    CIRCUIT_BREAKER_MINIMUM_CALLS("sca.circuit-breaker.minimum-calls", "20"),
+    CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD("sca.circuit-breaker.failure-rate-threshold", "50"),
+    CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD("sca.circuit-breaker.slow-call-rate-threshold", "80"),
+    CIRCUIT_BREAKER_SLOW_CALL_DURATION("sca.circuit-breaker.slow-call-duration", "10000"),
+    CIRCUIT_BREAKER_OPEN_DURATION("sca.circuit-breaker.open-duration", "30"),
+    CIRCUIT_BREAKER_HALF_OPEN_CALLS("sca.circuit-breaker.half-open-calls", "3"),
+    CIRCUIT_BREAKER_OPEN_POLICY("sca.circuit-breaker.open-policy", "STALE"),
+    API_HEDGING_ENABLED("sca.api.hedging.enabled", "false"),
+    API_HEDGING_PERCENTILE("sca.api.hedging.percentile", "95"),
+    API_HEDGING_MIN_DELAY("sca.api.hedging.min-delay", "50"),
+    API_HEDGING_MAX_PERCENT("sca.api.hedging.max-percent", "10"),
+    API_HEDGING_MIN_SAMPLES("sca.api.hedging.min-samples", "100"),
+    API_RATE_LIMIT_INTERACTIVE("sca.api.rate-limit.interactive", "0"),
+    API_RATE_LIMIT_BULK("sca.api.rate-limit.bulk", "0"),
+    API_RATE_LIMIT_SUGGESTION("sca.api.rate-limit.suggestion", "0"),
+    API_RATE_LIMIT_BURST("sca.api.rate-limit.burst", "1"),
+    API_CONDITIONAL_CACHE_MAXIMUM_SIZE("sca.api.conditional-cache.maximum-size", "10000"),
+    DOWNLOAD_LATENCY_BUDGET("sca.download.latency-budget", "0"),
+    DOWNLOAD_LATENCY_BUDGET_POLICY("sca.download.latency-budget.policy", "STALE"),
+    DOWNLOAD_SCAN_THREADS("sca.download.scan-threads", "20"),
+    HTTP_VERSION("sca.http.version", "HTTP_2"),
+    HTTP_CONNECT_TIMEOUT("sca.http.connect-timeout", "120"),
+    HTTP_REQUEST_TIMEOUT("sca.http.request-timeout", "0"),
+    HTTP_EXECUTOR_THREADS("sca.http.executor-threads", "10"),
+    THREADS_VIRTUAL("sca.threads.virtual", "false"),
     AUTHENTICATION_URL("sca.authentication.url", "https://platform.checkmarx.net/"),
     DATA_EXPIRATION_TIME("sca.data.expiration-time", "21600"),
+    DATA_STALE_WHILE_REVALIDATE("sca.data.stale-while-revalidate", "false"),
     SECURITY_RISK_THRESHOLD("sca.security.risk.threshold", "None"),
     SECURITY_RISK_THRESHOLD_CVSS_SCORE("sca.security.risk.threshold.cvss.score", (String) null),
     BLOCK_REPOSITORY_KEYS("sca.security.block.repository.keys", (String) null),
     LICENSES_ALLOWED("sca.licenses.allowed", ""),
     PACKAGIST_REPOSITORY("packagist.repository", "https://packagist.org"),
+    PACKAGIST_CACHE_MAXIMUM_SIZE("packagist.cache.maximum-size", "1000"),
+    PACKAGIST_CACHE_REVALIDATE_AFTER("packagist.cache.revalidate-after", "3600"),
     ACCOUNT("sca.account", (String) null),
     USERNAME("sca.username", (String) null),
-    PASSWORD("sca.password", (String) null);
+    PASSWORD("sca.password", (String) null),
+    VERDICT_CACHE_MAXIMUM_SIZE("sca.cache.verdict.maximum-size", "10000"),
+    ARTIFACT_ID_CACHE_MAXIMUM_SIZE("sca.cache.artifact-id.maximum-size", "50000"),
+    SCAN_RESULT_STORE_ENABLED("sca.store.enabled", "true"),
+    SCAN_RESULT_STORE_COMPACTION_INTERVAL("sca.store.compaction-interval", "3600"),
+    NOT_FOUND_EXPIRATION_TIME("sca.cache.not-found.expiration-time", "3600"),
+    POLICY_RELOAD_ENABLED("sca.policy.reload.enabled", "true"),
+    POLICY_RELOAD_POLL_INTERVAL("sca.policy.reload.poll-interval", "30");
 
 
     private final String propertyKey;
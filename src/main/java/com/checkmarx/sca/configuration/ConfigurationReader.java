@@ -9,13 +9,13 @@ import javax.annotation.Nonnull;
 import org.slf4j.Logger;
 
 public final class ConfigurationReader {
-    private static final String CONFIGURATIONS_FILE = "cxsca-security-plugin.properties";
+    public static final String CONFIGURATIONS_FILE = "cxsca-security-plugin.properties";
 
     public static PluginConfiguration loadConfiguration(@Nonnull File pluginsDirectory, @Nonnull Logger logger) throws IOException {
         if (!pluginsDirectory.exists()) {
             throw new IOException(String.format("Directory '%s' not found", pluginsDirectory.getAbsolutePath()));
         } else {
-            File propertyFile = new File(pluginsDirectory, "cxsca-security-plugin.properties");
+            File propertyFile = new File(pluginsDirectory, CONFIGURATIONS_FILE);
             if (!propertyFile.exists()) {
                 throw new IOException(String.format("File '%s' not found", propertyFile.getAbsolutePath()));
             } else {
@@ -186,6 +186,34 @@ public class PluginConfiguration {
         return value;
     }
 
+    public int getIntegerOrDefault(IConfigurationEntry config) {
+        String value = this.getPropertyOrDefault(config);
+
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (Exception var4) {
+            this.logger.warn(String.format("Error converting the '%s' configuration value, we will use the default " +
+                    "value. Exception Message: %s.", config.propertyKey(), var4.getMessage()));
+            return Integer.parseInt(config.defaultValue());
+        }
+    }
+
+    public UnverifiedDownloadPolicy getUnverifiedDownloadPolicy(IConfigurationEntry config) {
+        String value = this.getPropertyOrDefault(config);
+
+        try {
+            return UnverifiedDownloadPolicy.valueOf(value.trim().toUpperCase());
+        } catch (Exception var4) {
+            this.logger.warn(String.format("Error converting the '%s' configuration value, we will use the default " +
+                    "value. Exception Message: %s.", config.propertyKey(), var4.getMessage()));
+            return UnverifiedDownloadPolicy.valueOf(config.defaultValue());
+        }
+    }
+
+    public int getDataExpirationTime() {
+        return this.getIntegerOrDefault(ConfigurationEntry.DATA_EXPIRATION_TIME);
+    }
+
     public String getScaSecurityBlockRepositoryKeys() {
         return this.getPropertyOrDefault(ConfigurationEntry.BLOCK_REPOSITORY_KEYS);
     }
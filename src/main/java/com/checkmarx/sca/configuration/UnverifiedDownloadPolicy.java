@@ -0,0 +1,7 @@
+package com.checkmarx.sca.configuration;
+
+public enum UnverifiedDownloadPolicy {
+    ALLOW,
+    DENY,
+    STALE;
+}
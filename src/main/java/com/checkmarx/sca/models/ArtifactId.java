@@ -2,6 +2,8 @@ package com.checkmarx.sca.models;
 
 import com.google.gson.annotations.SerializedName;
 
+import java.util.Objects;
+
 public class ArtifactId {
     public final transient String Name;
     public final transient String Version;
@@ -22,4 +24,28 @@ public class ArtifactId {
     public String getIdentifier() {
         return this._identifier;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof ArtifactId)) {
+            return false;
+        } else {
+            ArtifactId other = (ArtifactId) o;
+            return Objects.equals(this.PackageType, other.PackageType)
+                    && Objects.equals(this.Name, other.Name)
+                    && Objects.equals(this.Version, other.Version);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.PackageType, this.Name, this.Version);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s:%s:%s", this.PackageType, this.Name, this.Version);
+    }
 }
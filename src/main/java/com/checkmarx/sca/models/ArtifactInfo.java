@@ -22,6 +22,26 @@ public class ArtifactInfo {
     @SerializedName("projectHomePage")
     private String _projectHomePage;
 
+    public ArtifactInfo() {
+    }
+
+    public ArtifactInfo(String packageId, String legacyPackageId, String name, String version, String type,
+                        String releaseDate, String description, String projectUrl, String projectHomePage) {
+        this._packageId = packageId;
+        this._legacyPackageId = legacyPackageId;
+        this._name = name;
+        this._version = version;
+        this._type = type;
+        this._releaseDate = releaseDate;
+        this._description = description;
+        this._projectUrl = projectUrl;
+        this._projectHomePage = projectHomePage;
+    }
+
+    public String getPackageId() {
+        return this._packageId;
+    }
+
     public String getId() {
         return this._legacyPackageId;
     }
@@ -37,4 +57,20 @@ public class ArtifactInfo {
     public String getVersion() {
         return this._version;
     }
+
+    public String getReleaseDate() {
+        return this._releaseDate;
+    }
+
+    public String getDescription() {
+        return this._description;
+    }
+
+    public String getProjectUrl() {
+        return this._projectUrl;
+    }
+
+    public String getProjectHomePage() {
+        return this._projectHomePage;
+    }
 }
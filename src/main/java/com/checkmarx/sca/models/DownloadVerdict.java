@@ -0,0 +1,28 @@
+package com.checkmarx.sca.models;
+
+public class DownloadVerdict {
+    private static final DownloadVerdict ALLOWED = new DownloadVerdict(true, null);
+    private final boolean _allowed;
+    private final String _reason;
+
+    private DownloadVerdict(boolean allowed, String reason) {
+        this._allowed = allowed;
+        this._reason = reason;
+    }
+
+    public static DownloadVerdict allow() {
+        return ALLOWED;
+    }
+
+    public static DownloadVerdict deny(String reason) {
+        return new DownloadVerdict(false, reason);
+    }
+
+    public boolean isAllowed() {
+        return this._allowed;
+    }
+
+    public String getReason() {
+        return this._reason;
+    }
+}
@@ -6,6 +6,13 @@ public class IdentifiedLicensesModel {
     @SerializedName("license")
     private SoftwareLicenseModel _license;
 
+    public IdentifiedLicensesModel() {
+    }
+
+    public IdentifiedLicensesModel(SoftwareLicenseModel license) {
+        this._license = license;
+    }
+
     public SoftwareLicenseModel getLicense() {
         return this._license;
     }
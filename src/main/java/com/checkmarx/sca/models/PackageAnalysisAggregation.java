@@ -10,6 +10,14 @@ public class PackageAnalysisAggregation {
     @SerializedName("packageLicenses")
     private List<String> _licenses;
 
+    public PackageAnalysisAggregation() {
+    }
+
+    public PackageAnalysisAggregation(VulnerabilitiesAggregation vulnerabilitiesAggregation, List<String> licenses) {
+        this._vulnerabilitiesAggregation = vulnerabilitiesAggregation;
+        this._licenses = licenses;
+    }
+
     public VulnerabilitiesAggregation getVulnerabilitiesAggregation() {
         return this._vulnerabilitiesAggregation;
     }
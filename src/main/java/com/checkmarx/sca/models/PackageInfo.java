@@ -5,6 +5,8 @@ public class PackageInfo {
     private String packageManager;
     private String packageName;
 
+    private String name;
+
     private String packageVersion;
 
     private Double cvssScore;
@@ -17,7 +19,7 @@ public class PackageInfo {
 
     public PackageInfo(String packageManager, String packageName, String packageVersion, Double cvssScore, Boolean monitored) {
         this.packageManager = packageManager;
-        this.packageName = packageName;
+        this.setPackageName(packageName);
         this.packageVersion = packageVersion;
         this.cvssScore = cvssScore;
         this.monitored = monitored;
@@ -33,15 +35,16 @@ public class PackageInfo {
 
     public void setPackageName(String packageName) {
         this.packageName = packageName;
+        if (packageName == null) {
+            this.name = null;
+        } else {
+            String[] names = packageName.split(":");
+            this.name = names.length > 1 ? names[1] : names[0];
+        }
     }
 
     public String getPackageName() {
-        String[] names = this.packageName.split(":");
-        if (names.length > 1) {
-            return names[1];
-        } else {
-            return names[0];
-        }
+        return this.name;
     }
 
     public void setPackageVersion(String packageVersion) {
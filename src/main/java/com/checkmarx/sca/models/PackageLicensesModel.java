@@ -11,6 +11,10 @@ public class PackageLicensesModel {
     public PackageLicensesModel() {
     }
 
+    public PackageLicensesModel(List<IdentifiedLicensesModel> identifiedLicenses) {
+        this._identifiedLicenses = identifiedLicenses;
+    }
+
     public List<IdentifiedLicensesModel> getIdentifiedLicenses() {
         return this._identifiedLicenses;
     }
@@ -0,0 +1,109 @@
+package com.checkmarx.sca.models;
+
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+public class ScanResult {
+    private final int _totalRisks;
+    private final int _lowRisks;
+    private final int _mediumRisks;
+    private final int _highRisks;
+    private final double _riskScore;
+    private final String _riskLevel;
+    private final List<String> _licenses;
+    private final long _scannedAt;
+    private final long _previousScannedAt;
+
+    public ScanResult(int totalRisks, int lowRisks, int mediumRisks, int highRisks, double riskScore,
+                      String riskLevel, @Nonnull List<String> licenses, long scannedAt) {
+        this(totalRisks, lowRisks, mediumRisks, highRisks, riskScore, riskLevel, licenses, scannedAt, 0L);
+    }
+
+    private ScanResult(int totalRisks, int lowRisks, int mediumRisks, int highRisks, double riskScore,
+                       String riskLevel, @Nonnull List<String> licenses, long scannedAt, long previousScannedAt) {
+        this._totalRisks = totalRisks;
+        this._lowRisks = lowRisks;
+        this._mediumRisks = mediumRisks;
+        this._highRisks = highRisks;
+        this._riskScore = riskScore;
+        this._riskLevel = riskLevel;
+        this._licenses = List.copyOf(licenses);
+        this._scannedAt = scannedAt;
+        this._previousScannedAt = previousScannedAt;
+    }
+
+    public static ScanResult fromAggregation(@Nonnull PackageAnalysisAggregation packageAnalysisAggregation,
+                                             long scannedAt) {
+        VulnerabilitiesAggregation vulnerabilitiesAggregation = packageAnalysisAggregation
+                .getVulnerabilitiesAggregation();
+        List<String> licenses = packageAnalysisAggregation.getLicenses();
+        if (licenses == null) {
+            licenses = List.of();
+        }
+
+        return new ScanResult(vulnerabilitiesAggregation.getVulnerabilitiesCount(),
+                vulnerabilitiesAggregation.getLowRiskCount(),
+                vulnerabilitiesAggregation.getMediumRiskCount(),
+                vulnerabilitiesAggregation.getHighRiskCount(),
+                vulnerabilitiesAggregation.getMaxRiskScore(),
+                vulnerabilitiesAggregation.getMaxRiskSeverity(),
+                licenses,
+                scannedAt);
+    }
+
+    public int getTotalRisks() {
+        return this._totalRisks;
+    }
+
+    public int getLowRisks() {
+        return this._lowRisks;
+    }
+
+    public int getMediumRisks() {
+        return this._mediumRisks;
+    }
+
+    public int getHighRisks() {
+        return this._highRisks;
+    }
+
+    public double getRiskScore() {
+        return this._riskScore;
+    }
+
+    public String getRiskLevel() {
+        return this._riskLevel;
+    }
+
+    public List<String> getLicenses() {
+        return this._licenses;
+    }
+
+    public long getScannedAt() {
+        return this._scannedAt;
+    }
+
+    public long getPreviousScannedAt() {
+        return this._previousScannedAt;
+    }
+
+    public boolean hasSameContent(@Nonnull ScanResult other) {
+        return this._totalRisks == other._totalRisks
+                && this._lowRisks == other._lowRisks
+                && this._mediumRisks == other._mediumRisks
+                && this._highRisks == other._highRisks
+                && Double.compare(this._riskScore, other._riskScore) == 0
+                && Objects.equals(this._riskLevel, other._riskLevel)
+                && this._licenses.equals(other._licenses);
+    }
+
+    public ScanResult revalidated(long scannedAt) {
+        return new ScanResult(this._totalRisks, this._lowRisks, this._mediumRisks, this._highRisks, this._riskScore,
+                this._riskLevel, this._licenses, scannedAt, this._scannedAt);
+    }
+
+    public boolean isFresh(long timeToLiveMillis, long nowMillis) {
+        return nowMillis < this._scannedAt + timeToLiveMillis;
+    }
+}
@@ -6,6 +6,13 @@ public class SoftwareLicenseModel {
     @SerializedName("name")
     private String _name;
 
+    public SoftwareLicenseModel() {
+    }
+
+    public SoftwareLicenseModel(String name) {
+        this._name = name;
+    }
+
     public String getName() {
         return this._name;
     }
@@ -16,6 +16,19 @@ public class VulnerabilitiesAggregation {
     @SerializedName("lowRiskCount")
     private int _lowRiskCount;
 
+    public VulnerabilitiesAggregation() {
+    }
+
+    public VulnerabilitiesAggregation(int vulnerabilitiesCount, String maxRiskSeverity, double maxRiskScore,
+                                      int highRiskCount, int mediumRiskCount, int lowRiskCount) {
+        this._vulnerabilitiesCount = vulnerabilitiesCount;
+        this._maxRiskSeverity = maxRiskSeverity;
+        this._maxRiskScore = maxRiskScore;
+        this._highRiskCount = highRiskCount;
+        this._mediumRiskCount = mediumRiskCount;
+        this._lowRiskCount = lowRiskCount;
+    }
+
     public int getVulnerabilitiesCount() {
         return this._vulnerabilitiesCount;
     }
@@ -0,0 +1,210 @@
+package com.checkmarx.sca.policy;
+
+import com.checkmarx.sca.PropertiesConstants;
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.configuration.SecurityRiskThreshold;
+import com.checkmarx.sca.models.DownloadVerdict;
+import com.checkmarx.sca.models.PackageInfo;
+import com.checkmarx.sca.scan.ArtifactIdResolver.ResolvedArtifact;
+import com.checkmarx.sca.scan.PackageListIndex;
+import com.checkmarx.sca.scan.RiskSnapshot;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+
+/**
+ * An immutable, compiled view of the download policy: the security risk threshold and license allowance of the
+ * plugin configuration and the package allow/deny lists. A download is checked against a single snapshot from
+ * start to end, so a reload never changes the rules in the middle of a verification. Besides the ArtifactId, a
+ * verdict depends on the requested path, which decides the allow list coordinates and the non-virtual paths, and on
+ * the ignore flags and risks read from those paths. It can therefore only be reused for the same requested path
+ * and policy version until one of those properties changes (see {@code VerdictCache}).
+ */
+public final class PolicySnapshot {
+    private final long _version;
+    private final long _loadedAtMillis;
+    private final String _fingerprint;
+    private final PluginConfiguration _configuration;
+    private final SecurityRiskThreshold _securityRiskThreshold;
+    private final Optional<Double> _securityRiskThresholdCvssScore;
+    private final Set<String> _licensesAllowed;
+    private final boolean _noLicenseAllowed;
+    private final PackageListIndex _packageBlackList;
+    private final PackageListIndex _packageWhiteList;
+
+    PolicySnapshot(long version, @Nonnull String fingerprint, @Nonnull PluginConfiguration configuration,
+                   @Nonnull PackageListIndex packageBlackList, @Nonnull PackageListIndex packageWhiteList) {
+        this._version = version;
+        this._loadedAtMillis = System.currentTimeMillis();
+        this._fingerprint = fingerprint;
+        this._configuration = configuration;
+        this._securityRiskThreshold = configuration.getSecurityRiskThreshold();
+        this._securityRiskThresholdCvssScore = configuration.getSecurityRiskThresholdCvssScore();
+        this._licensesAllowed = Arrays
+                .stream(configuration.getPropertyOrDefault(ConfigurationEntry.LICENSES_ALLOWED).split(","))
+                .filter((name) -> !name.isBlank())
+                .map(String::trim)
+                .collect(Collectors.toUnmodifiableSet());
+        this._noLicenseAllowed = this._licensesAllowed.size() == 1
+                && this._licensesAllowed.iterator().next().equalsIgnoreCase("none");
+        this._packageBlackList = packageBlackList;
+        this._packageWhiteList = packageWhiteList;
+    }
+
+    /**
+     * Checks the security risk threshold and then the license allowance. The allow list is matched with the
+     * coordinates of the requested artifact, the deny list with those of the artifact the risks were read from.
+     */
+    public DownloadVerdict evaluate(@Nonnull ResolvedArtifact artifact, @Nonnull ResolvedArtifact scannedArtifact,
+                                    @Nonnull RiskSnapshot risks) {
+        DownloadVerdict verdict = this.evaluateSecurityRiskThreshold(artifact, scannedArtifact, risks);
+        return verdict.isAllowed() ? this.evaluateLicenseAllowance(risks) : verdict;
+    }
+
+    private DownloadVerdict evaluateSecurityRiskThreshold(ResolvedArtifact artifact, ResolvedArtifact scannedArtifact,
+                                                          RiskSnapshot risks) {
+        if (this._packageWhiteList.contains(artifact.getPackageType(), artifact.getLayoutModule(),
+                artifact.getLayoutRevision())) {
+            return DownloadVerdict.allow();
+        }
+
+        if (risks.isRiskThresholdIgnored()) {
+            this.getLogger().warn(String.format("Ignoring the security risk threshold. Artifact Property \"%s\" is " +
+                    "\"true\". Artifact Name: %s", PropertiesConstants.IGNORE_THRESHOLD, risks.getRepoPath().getName()));
+            return DownloadVerdict.allow();
+        }
+
+        if (this._securityRiskThresholdCvssScore.isPresent()) {
+            return this.evaluateCvssScore(scannedArtifact, risks, this._securityRiskThresholdCvssScore.get());
+        }
+
+        switch (this._securityRiskThreshold) {
+            case LOW:
+                if (risks.getTotalRisks() == null) {
+                    return this.missingProperty(PropertiesConstants.TOTAL_RISKS_COUNT, risks);
+                }
+
+                return Integer.parseInt(risks.getTotalRisks()) > 0 ? this.thresholdViolation(risks)
+                        : DownloadVerdict.allow();
+            case MEDIUM:
+                if (risks.getMediumRisks() == null) {
+                    return this.missingProperty(PropertiesConstants.MEDIUM_RISKS_COUNT, risks);
+                } else if (risks.getHighRisks() == null) {
+                    return this.missingProperty(PropertiesConstants.HIGH_RISKS_COUNT, risks);
+                }
+
+                return Integer.parseInt(risks.getMediumRisks()) > 0 || Integer.parseInt(risks.getHighRisks()) > 0
+                        ? this.thresholdViolation(risks) : DownloadVerdict.allow();
+            case HIGH:
+                if (risks.getHighRisks() == null) {
+                    return this.missingProperty(PropertiesConstants.HIGH_RISKS_COUNT, risks);
+                }
+
+                return Integer.parseInt(risks.getHighRisks()) > 0 ? this.thresholdViolation(risks)
+                        : DownloadVerdict.allow();
+            default:
+                return DownloadVerdict.allow();
+        }
+    }
+
+    private DownloadVerdict evaluateCvssScore(ResolvedArtifact scannedArtifact, RiskSnapshot risks,
+                                              double scoreConfigured) {
+        if (risks.getRiskScore() == null) {
+            return this.missingProperty(PropertiesConstants.RISK_SCORE, risks);
+        }
+
+        double score = Double.parseDouble(risks.getRiskScore());
+        if (score >= scoreConfigured) {
+            return this.thresholdViolation(risks);
+        }
+
+        PackageInfo packageInfo = this._packageBlackList.firstMatch(scannedArtifact.getPackageType(),
+                scannedArtifact.getLayoutModule(), scannedArtifact.getLayoutRevision(), score);
+        if (packageInfo == null) {
+            return DownloadVerdict.allow();
+        } else if (packageInfo.getMonitored()) {
+            this.getLogger().warn(String.format("This package violate threshold configuration, packagename: %s, " +
+                    "packageversion: %s, score: %s", scannedArtifact.getLayoutModule(),
+                    scannedArtifact.getLayoutRevision(), score));
+            return DownloadVerdict.allow();
+        } else {
+            return this.thresholdViolation(risks);
+        }
+    }
+
+    private DownloadVerdict evaluateLicenseAllowance(RiskSnapshot risks) {
+        if (risks.isLicensesIgnored()) {
+            this.getLogger().warn(String.format("Ignoring the License allowance. Artifact Property \"%s\" is " +
+                    "\"true\". Artifact Name: %s", PropertiesConstants.IGNORE_LICENSE, risks.getRepoPath().getName()));
+            return DownloadVerdict.allow();
+        }
+
+        if (this._licensesAllowed.isEmpty()) {
+            return DownloadVerdict.allow();
+        } else if (!this._noLicenseAllowed) {
+            for (String license : risks.getLicenses().split(",")) {
+                if (this._licensesAllowed.contains(license)) {
+                    return DownloadVerdict.allow();
+                }
+            }
+        }
+
+        return DownloadVerdict.deny(String.format("License allowance not compliant for the artifact: %s",
+                risks.getRepoPath().getName()));
+    }
+
+    private DownloadVerdict missingProperty(String property, RiskSnapshot risks) {
+        return DownloadVerdict.deny(String.format("Property %s missing in %s", property, risks.getRepoPath()));
+    }
+
+    private DownloadVerdict thresholdViolation(RiskSnapshot risks) {
+        return DownloadVerdict.deny(String.format("Artifact has risks that do not comply with the security risk " +
+                "threshold. Artifact Name: %s", risks.getRepoPath().getName()));
+    }
+
+    private Logger getLogger() {
+        return this._configuration.getLogger();
+    }
+
+    public long getVersion() {
+        return this._version;
+    }
+
+    public long getLoadedAtMillis() {
+        return this._loadedAtMillis;
+    }
+
+    String getFingerprint() {
+        return this._fingerprint;
+    }
+
+    public PluginConfiguration getConfiguration() {
+        return this._configuration;
+    }
+
+    public SecurityRiskThreshold getSecurityRiskThreshold() {
+        return this._securityRiskThreshold;
+    }
+
+    public Optional<Double> getSecurityRiskThresholdCvssScore() {
+        return this._securityRiskThresholdCvssScore;
+    }
+
+    public Set<String> getLicensesAllowed() {
+        return this._licensesAllowed;
+    }
+
+    public PackageListIndex getPackageBlackList() {
+        return this._packageBlackList;
+    }
+
+    public PackageListIndex getPackageWhiteList() {
+        return this._packageWhiteList;
+    }
+}
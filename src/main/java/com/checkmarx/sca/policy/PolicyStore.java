@@ -0,0 +1,166 @@
+package com.checkmarx.sca.policy;
+
+import com.checkmarx.sca.configuration.ConfigurationReader;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.PackageInfo;
+import com.checkmarx.sca.scan.PackageListIndex;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+
+/**
+ * Holds the active policy snapshot. A reload reads the configuration file and the package lists into a new
+ * snapshot and swaps it in atomically; a reload that fails keeps the active snapshot.
+ */
+public class PolicyStore {
+    private static final String BLACK_LIST_FILE = "package_black_list.csv";
+    private static final String WHITE_LIST_FILE = "package_white_list.csv";
+
+    private final Logger _logger;
+    private final File _configurationFile;
+    private final File _packageBlackListFile;
+    private final File _packageWhiteListFile;
+    private final AtomicReference<PolicySnapshot> _current = new AtomicReference<>();
+    private final List<Consumer<PolicySnapshot>> _listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder _reloadFailures = new LongAdder();
+    private volatile PolicyWatcher _watcher;
+    private String _failedFingerprint;
+
+    public PolicyStore(@Nonnull Logger logger, @Nonnull File pluginsDirectory, @Nonnull File packageListsDirectory,
+                       @Nonnull PluginConfiguration configuration) {
+        this._logger = logger;
+        this._configurationFile = new File(pluginsDirectory, ConfigurationReader.CONFIGURATIONS_FILE);
+        this._packageBlackListFile = new File(packageListsDirectory, BLACK_LIST_FILE);
+        this._packageWhiteListFile = new File(packageListsDirectory, WHITE_LIST_FILE);
+        this._logger.debug(String.format("file path: %s", packageListsDirectory.getPath()));
+        String fingerprint = this.fingerprint();
+        PackageListIndex packageBlackList = this.readPackageList(this._packageBlackListFile, false);
+        PackageListIndex packageWhiteList = this.readPackageList(this._packageWhiteListFile, false);
+        this._current.set(new PolicySnapshot(1L, fingerprint, configuration, packageBlackList, packageWhiteList));
+    }
+
+    public PolicySnapshot current() {
+        return this._current.get();
+    }
+
+    public void addListener(@Nonnull Consumer<PolicySnapshot> listener) {
+        this._listeners.add(listener);
+    }
+
+    public void startWatching(long pollIntervalMillis) {
+        this._watcher = PolicyWatcher.start(this, List.of(this._configurationFile, this._packageBlackListFile,
+                this._packageWhiteListFile), pollIntervalMillis, this._logger);
+    }
+
+    public void stopWatching() {
+        PolicyWatcher watcher = this._watcher;
+        if (watcher != null) {
+            this._watcher = null;
+            watcher.stop();
+        }
+    }
+
+    PolicyWatcher getWatcher() {
+        return this._watcher;
+    }
+
+    public synchronized boolean reloadIfChanged() {
+        PolicySnapshot current = this._current.get();
+        String fingerprint = this.fingerprint();
+        if (fingerprint.equals(current.getFingerprint()) || fingerprint.equals(this._failedFingerprint)) {
+            return false;
+        }
+
+        PolicySnapshot snapshot;
+        try {
+            PluginConfiguration configuration = ConfigurationReader
+                    .loadConfiguration(this._configurationFile.getParentFile(), this._logger);
+            configuration.validate();
+            PackageListIndex packageBlackList = this.readPackageList(this._packageBlackListFile, true);
+            PackageListIndex packageWhiteList = this.readPackageList(this._packageWhiteListFile, true);
+            snapshot = new PolicySnapshot(current.getVersion() + 1, fingerprint, configuration, packageBlackList,
+                    packageWhiteList);
+        } catch (Exception var6) {
+            this._failedFingerprint = fingerprint;
+            this._reloadFailures.increment();
+            this._logger.error(String.format("The SCA policy could not be reloaded, version %d remains active. " +
+                    "Exception message: %s", current.getVersion(), var6.getMessage()));
+            return false;
+        }
+
+        this._failedFingerprint = null;
+        this._current.set(snapshot);
+        this._logger.info(String.format("SCA policy version %d loaded (package black list: %d entries, package " +
+                "white list: %d entries).", snapshot.getVersion(), snapshot.getPackageBlackList().size(),
+                snapshot.getPackageWhiteList().size()));
+        for (Consumer<PolicySnapshot> listener : this._listeners) {
+            listener.accept(snapshot);
+        }
+
+        return true;
+    }
+
+    public long getReloadFailures() {
+        return this._reloadFailures.sum();
+    }
+
+    private String fingerprint() {
+        return String.format("%s;%s;%s", fingerprint(this._configurationFile),
+                fingerprint(this._packageBlackListFile), fingerprint(this._packageWhiteListFile));
+    }
+
+    private static String fingerprint(File file) {
+        return String.format("%d:%d", file.lastModified(), file.length());
+    }
+
+    private PackageListIndex readPackageList(File csvFile, boolean strict) {
+        PackageListIndex.Builder result = new PackageListIndex.Builder();
+        if (!csvFile.exists()) {
+            this._logger.debug(String.format("Package list %s not found.", csvFile.getPath()));
+            return result.build();
+        }
+
+        CsvMapper csvMapper = new CsvMapper();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+
+        try (MappingIterator<PackageInfo> mi = csvMapper.readerFor(PackageInfo.class).with(schema)
+                .readValues(csvFile)) {
+            while (mi.hasNext()) {
+                PackageInfo current = mi.next();
+                try {
+                    result.add(current);
+                } catch (IllegalArgumentException var8) {
+                    this._logger.warn(String.format("Ignoring package list entry %s of %s. %s", current,
+                            csvFile.getPath(), var8.getMessage()));
+                    continue;
+                }
+
+                if (this._logger.isDebugEnabled()) {
+                    this._logger.debug(current.toString());
+                }
+            }
+        } catch (IOException | RuntimeException var9) {
+            if (strict) {
+                throw new IllegalStateException(String.format("Error during read csv file %s, %s", csvFile.getPath(),
+                        var9.getMessage()), var9);
+            }
+
+            this._logger.error(String.format("Error during read csv file, %s", var9));
+        }
+
+        PackageListIndex packagesList = result.build();
+        this._logger.debug(String.format("number of result: %d", packagesList.size()));
+        return packagesList;
+    }
+}
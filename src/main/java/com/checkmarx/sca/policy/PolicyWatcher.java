@@ -0,0 +1,139 @@
+package com.checkmarx.sca.policy;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+
+/**
+ * Reloads the policy store from a daemon thread when one of its files changes. WatchService events on the parent
+ * directories trigger a reload once they have been quiet for a moment, and the files are also compared every poll
+ * interval for file systems that do not deliver events. The store stops the watcher when the plugin is closed; the
+ * thread only holds a weak reference to the store, so it also ends if the store is discarded without being closed.
+ */
+final class PolicyWatcher implements Runnable {
+    private static final long QUIET_PERIOD_MILLIS = 500L;
+
+    private final WeakReference<PolicyStore> _store;
+    private final Set<Path> _directories;
+    private final long _pollIntervalMillis;
+    private final Logger _logger;
+    private final WatchService _watchService;
+    private final Thread _thread;
+    private volatile boolean _stopped;
+
+    private PolicyWatcher(PolicyStore store, Set<Path> directories, long pollIntervalMillis, Logger logger) {
+        this._store = new WeakReference<>(store);
+        this._directories = directories;
+        this._pollIntervalMillis = pollIntervalMillis;
+        this._logger = logger;
+        this._watchService = this.openWatchService();
+        this._thread = new Thread(this, "cxsca-policy-watcher");
+        this._thread.setDaemon(true);
+    }
+
+    static PolicyWatcher start(@Nonnull PolicyStore store, @Nonnull List<File> files, long pollIntervalMillis,
+                      @Nonnull Logger logger) {
+        Set<Path> directories = new LinkedHashSet<>();
+        for (File file : files) {
+            directories.add(file.getAbsoluteFile().getParentFile().toPath());
+        }
+
+        PolicyWatcher watcher = new PolicyWatcher(store, directories, Math.max(1000L, pollIntervalMillis), logger);
+        watcher._thread.start();
+        return watcher;
+    }
+
+    /**
+     * Stops the thread and closes the watch service without waiting for a reload in progress to finish.
+     */
+    void stop() {
+        this._stopped = true;
+        this._thread.interrupt();
+        this.close(this._watchService);
+    }
+
+    Thread getThread() {
+        return this._thread;
+    }
+
+    public void run() {
+        try {
+            while (!this._stopped) {
+                this.awaitChange(this._watchService);
+                PolicyStore store = this._store.get();
+                if (store == null || this._stopped) {
+                    return;
+                }
+
+                store.reloadIfChanged();
+            }
+        } catch (InterruptedException var10) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException var11) {
+            // closed by stop()
+        } catch (RuntimeException var12) {
+            this._logger.error(String.format("The SCA policy watcher stopped. Exception message: %s",
+                    var12.getMessage()), var12);
+        } finally {
+            this.close(this._watchService);
+        }
+    }
+
+    private WatchService openWatchService() {
+        WatchService watchService = null;
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path directory : this._directories) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+
+            return watchService;
+        } catch (IOException | RuntimeException var4) {
+            this._logger.warn(String.format("Unable to watch the SCA policy files, they will be checked every %d " +
+                    "seconds. Exception message: %s", this._pollIntervalMillis / 1000L, var4.getMessage()));
+            this.close(watchService);
+            return null;
+        }
+    }
+
+    private void awaitChange(WatchService watchService) throws InterruptedException {
+        if (watchService == null) {
+            Thread.sleep(this._pollIntervalMillis);
+            return;
+        }
+
+        WatchKey key = watchService.poll(this._pollIntervalMillis, TimeUnit.MILLISECONDS);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this._pollIntervalMillis);
+        while (key != null) {
+            key.pollEvents();
+            key.reset();
+            key = System.nanoTime() < deadline ? watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS) : null;
+        }
+    }
+
+    private void close(WatchService watchService) {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException var3) {
+                this._logger.debug(String.format("Unable to close the SCA policy watch service: %s",
+                        var3.getMessage()));
+            }
+        }
+    }
+}
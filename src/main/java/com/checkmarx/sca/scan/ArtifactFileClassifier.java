@@ -0,0 +1,72 @@
+package com.checkmarx.sca.scan;
+
+import com.checkmarx.sca.PackageManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tells package files apart from the metadata, index and checksum files served by the same repositories, using
+ * only the path. Checksums, signatures, maven-metadata.xml, JSON and HTML documents are never packages; for the
+ * package managers whose artifacts are parsed from the path, the file must also have one of the package
+ * extensions (or, for Composer, be under a commits folder). Package managers without a rule, like Maven and
+ * Gradle, accept every other file because their artifact id comes from the repository layout.
+ */
+public final class ArtifactFileClassifier {
+    private static final String[] NON_PACKAGE_SUFFIXES = {".json", ".html", ".md5", ".sha1", ".sha256", ".sha512",
+            ".asc", "/maven-metadata.xml"};
+    private static final Map<PackageManager, Rule> RULES = new EnumMap<>(PackageManager.class);
+
+    static {
+        RULES.put(PackageManager.NPM, new Rule(null, ".tgz"));
+        RULES.put(PackageManager.BOWER, new Rule(null, "tar.gz"));
+        RULES.put(PackageManager.PYPI, new Rule(null, ".whl", ".egg", ".zip", ".tar.gz"));
+        RULES.put(PackageManager.NUGET, new Rule(null, ".nupkg"));
+        RULES.put(PackageManager.GO, new Rule(null, ".zip"));
+        RULES.put(PackageManager.COCOAPODS, new Rule(null, ".tar.gz", ".zip"));
+        RULES.put(PackageManager.COMPOSER, new Rule("/commits/"));
+        RULES.put(PackageManager.DOCKER, new Rule(null));
+    }
+
+    private ArtifactFileClassifier() {
+    }
+
+    public static boolean isPackageFile(String path, PackageManager packageManager) {
+        if (path == null || path.isEmpty() || path.equals("maven-metadata.xml")) {
+            return false;
+        }
+
+        for (String suffix : NON_PACKAGE_SUFFIXES) {
+            if (path.endsWith(suffix)) {
+                return false;
+            }
+        }
+
+        Rule rule = RULES.get(packageManager);
+        return rule == null || rule.matches(path);
+    }
+
+    private static final class Rule {
+        private final String _segment;
+        private final String[] _suffixes;
+
+        private Rule(String segment, String... suffixes) {
+            this._segment = segment;
+            this._suffixes = suffixes;
+        }
+
+        private boolean matches(String path) {
+            if (this._segment != null) {
+                return path.contains(this._segment);
+            }
+
+            for (String suffix : this._suffixes) {
+                if (path.endsWith(suffix)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
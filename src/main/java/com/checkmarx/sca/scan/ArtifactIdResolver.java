@@ -0,0 +1,139 @@
+package com.checkmarx.sca.scan;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.cache.TinyLfuCache;
+import com.checkmarx.sca.configuration.ConfigurationEntry;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.ArtifactId;
+import com.google.inject.Inject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+import org.artifactory.fs.FileLayoutInfo;
+import org.artifactory.repo.RepoPath;
+import org.artifactory.repo.Repositories;
+import org.artifactory.repo.RepositoryConfiguration;
+
+/**
+ * Resolves a RepoPath to its package manager, layout coordinates and ArtifactId once and keeps the result, so a
+ * download does not read the repository configuration and layout or parse the path again for every check.
+ * Composer ids that could not be resolved are not kept because they depend on packagist being reachable. The
+ * package manager of each repository is kept as well, so non-package files are recognised from a map lookup.
+ */
+public class ArtifactIdResolver {
+    private static final long ENTRY_RETENTION_MILLIS = Long.MAX_VALUE / 2;
+
+    @Inject
+    private ArtifactIdBuilder _artifactIdBuilder;
+    private final Repositories _repositories;
+    private final TinyLfuCache<String, ResolvedArtifact> _resolved;
+    private final Map<String, PackageManager> _packageManagers = new ConcurrentHashMap<>();
+    private final LongAdder _hits = new LongAdder();
+    private final LongAdder _misses = new LongAdder();
+
+    public ArtifactIdResolver(@Nonnull Repositories repositories, @Nonnull PluginConfiguration configuration) {
+        this._repositories = repositories;
+        this._resolved = new TinyLfuCache<>(
+                configuration.getIntegerOrDefault(ConfigurationEntry.ARTIFACT_ID_CACHE_MAXIMUM_SIZE),
+                ENTRY_RETENTION_MILLIS);
+    }
+
+    public ResolvedArtifact resolve(@Nonnull RepoPath repoPath) {
+        String key = repoPath.getId();
+        ResolvedArtifact resolved = this._resolved.get(key);
+        if (resolved != null) {
+            this._hits.increment();
+            return resolved;
+        }
+
+        this._misses.increment();
+        RepositoryConfiguration repoConfiguration = this._repositories.getRepositoryConfiguration(repoPath.getRepoKey());
+        String packageType = repoConfiguration.getPackageType();
+        PackageManager packageManager = PackageManager.GetPackageType(packageType);
+        FileLayoutInfo fileLayoutInfo = this._repositories.getLayoutInfo(repoPath);
+        ArtifactId artifactId = this._artifactIdBuilder.getArtifactId(fileLayoutInfo, repoPath, packageManager);
+        resolved = new ResolvedArtifact(intern(packageType), packageManager, intern(fileLayoutInfo.getModule()),
+                fileLayoutInfo.getBaseRevision(),
+                new ArtifactId(intern(artifactId.PackageType), intern(artifactId.Name), artifactId.Version));
+        if (packageManager != PackageManager.COMPOSER || !artifactId.isInvalid()) {
+            this._resolved.put(key, resolved);
+        }
+
+        return resolved;
+    }
+
+    public boolean isPackageFile(@Nonnull RepoPath repoPath) {
+        return ArtifactFileClassifier.isPackageFile(repoPath.getPath(), this.getPackageManager(repoPath.getRepoKey()));
+    }
+
+    public PackageManager getPackageManager(@Nonnull String repoKey) {
+        PackageManager packageManager = this._packageManagers.get(repoKey);
+        if (packageManager == null) {
+            RepositoryConfiguration repoConfiguration = this._repositories.getRepositoryConfiguration(repoKey);
+            if (repoConfiguration == null) {
+                return PackageManager.NOTSUPPORTED;
+            }
+
+            packageManager = PackageManager.GetPackageType(repoConfiguration.getPackageType());
+            this._packageManagers.put(repoKey, packageManager);
+        }
+
+        return packageManager;
+    }
+
+    public int size() {
+        return this._resolved.size();
+    }
+
+    public long getHits() {
+        return this._hits.sum();
+    }
+
+    public long getMisses() {
+        return this._misses.sum();
+    }
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
+    }
+
+    public static final class ResolvedArtifact {
+        private final String _packageType;
+        private final PackageManager _packageManager;
+        private final String _layoutModule;
+        private final String _layoutRevision;
+        private final ArtifactId _artifactId;
+
+        private ResolvedArtifact(String packageType, PackageManager packageManager, String layoutModule,
+                                 String layoutRevision, ArtifactId artifactId) {
+            this._packageType = packageType;
+            this._packageManager = packageManager;
+            this._layoutModule = layoutModule;
+            this._layoutRevision = layoutRevision;
+            this._artifactId = artifactId;
+        }
+
+        public String getPackageType() {
+            return this._packageType;
+        }
+
+        public PackageManager getPackageManager() {
+            return this._packageManager;
+        }
+
+        public String getLayoutModule() {
+            return this._layoutModule;
+        }
+
+        public String getLayoutRevision() {
+            return this._layoutRevision;
+        }
+
+        public ArtifactId getArtifactId() {
+            return this._artifactId;
+        }
+    }
+}
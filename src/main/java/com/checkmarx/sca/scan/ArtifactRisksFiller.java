@@ -1,20 +1,24 @@
 package com.checkmarx.sca.scan;
 
-import com.checkmarx.sca.IPackageManager;
-import com.checkmarx.sca.PackageManager;
 import com.checkmarx.sca.PropertiesConstants;
+import com.checkmarx.sca.cache.NegativeCache;
+import com.checkmarx.sca.cache.ScanResultStore;
+import com.checkmarx.sca.cache.VerdictCache;
 import com.checkmarx.sca.communication.ScaHttpClient;
+import com.checkmarx.sca.communication.TrafficClass;
 import com.checkmarx.sca.communication.exceptions.UnexpectedResponseCodeException;
 import com.checkmarx.sca.configuration.ConfigurationEntry;
 import com.checkmarx.sca.configuration.PluginConfiguration;
 import com.checkmarx.sca.configuration.SecurityRiskThreshold;
 import com.checkmarx.sca.models.ArtifactId;
 import com.checkmarx.sca.models.ArtifactInfo;
-import com.checkmarx.sca.models.PackageAnalysisAggregation;
-import com.checkmarx.sca.models.VulnerabilitiesAggregation;
+import com.checkmarx.sca.models.ScanResult;
+import com.checkmarx.sca.policy.PolicySnapshot;
+import com.checkmarx.sca.policy.PolicyStore;
 import com.google.inject.Inject;
 
 import java.time.Instant;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -22,9 +26,15 @@ import java.util.stream.Collectors;
 import java.util.Optional;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nonnull;
 
-import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.md.Properties;
 import org.artifactory.repo.RepoPath;
 import org.artifactory.repo.Repositories;
@@ -39,51 +49,70 @@ public class ArtifactRisksFiller {
     @Inject
     private ScaHttpClient _scaHttpClient;
     @Inject
-    private ArtifactIdBuilder _artifactIdBuilder;
+    private ArtifactIdResolver _artifactIdResolver;
     @Inject
     private PluginConfiguration _configuration;
+    @Inject
+    private ScanResultStore _scanResultStore;
+    @Inject
+    private NegativeCache _negativeCache;
+    @Inject
+    private VerdictCache _verdictCache;
+    @Inject
+    private PolicyStore _policyStore;
     private final Repositories _repositories;
+    private final ExecutorService _revalidationExecutor;
+    private final SingleFlight<ArtifactId, ScanResult> _inFlightScans = new SingleFlight<>();
+    private final StripedLocks _propertyLocks = new StripedLocks(64);
+    private final LongAdder _unchangedRescans = new LongAdder();
 
-    public ArtifactRisksFiller(@Nonnull Repositories repositories) {
+    public ArtifactRisksFiller(@Nonnull Repositories repositories, @Nonnull ExecutorService revalidationExecutor) {
         this._repositories = repositories;
+        this._revalidationExecutor = revalidationExecutor;
     }
 
     public void scanArtifactsConcurrently(@Nonnull List<RepoPath> repoPaths, boolean forceScan) {
         this._logger.debug("scanArtifactsConcurrently start");
         Map<RepoPath, ArtifactId> repoPathArtifactIdMap = getArtifactsNeedToBeScanned(repoPaths, forceScan);
         this._logger.debug("Finish collect artifacts");
-        Map<RepoPath, ArtifactInfo> repoPathArtifactInfoMap = this
-                ._scaHttpClient
-                .getArtifactInformationConcurrently(repoPathArtifactIdMap);
-        Map<RepoPath, ArtifactId> newRepoPathArtifactIdMap = repoPathArtifactInfoMap.entrySet()
-                .stream()
-                .collect(Collectors.toMap(
-                                Map.Entry::getKey,
-                                e -> {
-                                    ArtifactInfo artifactInfo = e.getValue();
-                                    return new ArtifactId(
-                                            artifactInfo.getPackageType(),
-                                            artifactInfo.getName(),
-                                            artifactInfo.getVersion()
-                                    );
-                                }
-                        )
-                );
-        Map<RepoPath, PackageAnalysisAggregation> artifactIdPackageAnalysisAggregationMap = this
-                ._scaHttpClient
-                .getRiskAggregationConcurrently(newRepoPathArtifactIdMap);
-        this._logger.debug("Finish API calls, start to write properties, and log violations");
-        artifactIdPackageAnalysisAggregationMap.forEach((repoPath, packageAnalysisAggregation) -> {
-            ArrayList<RepoPath> nonVirtualRepoPaths = this.getNonVirtualRepoPaths(repoPath);
-            this.addArtifactAnalysisInfo(nonVirtualRepoPaths, packageAnalysisAggregation);
-            this.logThresholdViolationArtifact(repoPath, nonVirtualRepoPaths);
-        });
+        BlockingQueue<Map.Entry<RepoPath, Optional<ScanResult>>> completedScans = new LinkedBlockingQueue<>();
+        repoPathArtifactIdMap.forEach((repoPath, artifactId) -> this._inFlightScans
+                .submit(artifactId, () -> this.scanAndStore(artifactId, TrafficClass.BULK))
+                .whenComplete((scanResult, throwable) -> completedScans.add(
+                        new AbstractMap.SimpleImmutableEntry<>(repoPath, Optional.ofNullable(scanResult)))));
+
+        for (int pending = repoPathArtifactIdMap.size(); pending > 0; pending--) {
+            Map.Entry<RepoPath, Optional<ScanResult>> completedScan;
+            try {
+                completedScan = completedScans.take();
+            } catch (InterruptedException var9) {
+                Thread.currentThread().interrupt();
+                this._logger.warn(String.format("Bulk scan interrupted with %d artifacts still pending.", pending));
+                return;
+            }
+
+            RepoPath repoPath = completedScan.getKey();
+            completedScan.getValue().ifPresent((scanResult) -> {
+                ArrayList<RepoPath> nonVirtualRepoPaths = this.getNonVirtualRepoPaths(repoPath);
+                this.addArtifactAnalysisInfo(nonVirtualRepoPaths, scanResult);
+                this.logThresholdViolationArtifact(repoPath, nonVirtualRepoPaths);
+            });
+        }
         this._logger.debug("scanArtifactsConcurrently end");
     }
 
+    public long getCoalescedScans() {
+        return this._inFlightScans.coalescedCalls();
+    }
+
+    public long getUnchangedRescans() {
+        return this._unchangedRescans.sum();
+    }
+
     public Map<RepoPath, ArtifactId> getArtifactsNeedToBeScanned(@Nonnull List<RepoPath> repoPaths, boolean forceScan) {
 
         Map<RepoPath, ArtifactId> map = repoPaths.stream()
+                .filter(this._artifactIdResolver::isPackageFile)
                 .filter(repoPath -> {
                     ArrayList<RepoPath> nonVirtualRepoPaths = this.getNonVirtualRepoPaths(repoPath);
                     return !nonVirtualRepoPaths.isEmpty();
@@ -94,14 +123,7 @@ public class ArtifactRisksFiller {
                 })
                 .collect(Collectors.toMap(
                         repoPath -> repoPath,
-                        repoPath -> {
-                            String repositoryKey = repoPath.getRepoKey();
-                            RepositoryConfiguration repoConfiguration = this._repositories.getRepositoryConfiguration(repositoryKey);
-                            String packageType = repoConfiguration.getPackageType();
-                            PackageManager packageManager = PackageManager.GetPackageType(packageType);
-                            FileLayoutInfo fileLayoutInfo = this._repositories.getLayoutInfo(repoPath);
-                            return this._artifactIdBuilder.getArtifactId(fileLayoutInfo, repoPath, packageManager);
-                        }
+                        repoPath -> this._artifactIdResolver.resolve(repoPath).getArtifactId()
                 ));
 
         return map.entrySet()
@@ -113,15 +135,23 @@ public class ArtifactRisksFiller {
                             && artifactId.Version != null;
                         }
                 )
+                .filter(item -> forceScan || !this._negativeCache.isKnownMissing(item.getValue()))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    /**
+     * Scans the artifact if its scan data is missing or expired and writes the result to its properties. The SCA calls
+     * run asynchronously (and are shared with concurrent scans of the same artifact), but the properties are only
+     * written on the calling thread once the scan has completed, never on an HTTP client thread.
+     */
     public boolean addArtifactRisks(@Nonnull RepoPath repoPath, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths,
                                     boolean forceScan) {
         String repositoryKey = repoPath.getRepoKey();
         this._logger.debug(String.format("repository key: %s.", repositoryKey));
-        RepositoryConfiguration repoConfiguration = this._repositories.getRepositoryConfiguration(repositoryKey);
-        if (nonVirtualRepoPaths.isEmpty()) {
+        if (!this._artifactIdResolver.isPackageFile(repoPath)) {
+            this._logger.debug(String.format("Not an artifact should be ignored. File Name: %s", repoPath.getName()));
+            return false;
+        } else if (nonVirtualRepoPaths.isEmpty()) {
             this._logger.warn(String.format("Artifact not found in any repository. Artifact name: %s.",
                     repoPath.getName()));
             return false;
@@ -133,16 +163,7 @@ public class ArtifactRisksFiller {
         } else {
             ArtifactId artifactId;
             try {
-                String packageType = repoConfiguration.getPackageType();
-                PackageManager packageManager = PackageManager.GetPackageType(packageType);
-                if (this.FileShouldBeIgnored(repoPath, packageManager)) {
-                    this._logger.debug(String.format("Not an artifact should be ignored. File Name: %s",
-                            repoPath.getName()));
-                    return false;
-                }
-
-                FileLayoutInfo fileLayoutInfo = this._repositories.getLayoutInfo(repoPath);
-                artifactId = this._artifactIdBuilder.getArtifactId(fileLayoutInfo, repoPath, packageManager);
+                artifactId = this._artifactIdResolver.resolve(repoPath).getArtifactId();
                 this._logger.debug(String.format("The artifact is, " +
                                 "PackageType: %s, Name: %s, Version: %s", artifactId.PackageType, artifactId.Name,
                         artifactId.Version));
@@ -159,15 +180,64 @@ public class ArtifactRisksFiller {
             }
 
             this._logger.debug(String.format("Started artifact verification. Artifact name: %s", repoPath.getPath()));
-            PackageAnalysisAggregation packageRiskAggregation = this.scanArtifact(artifactId);
-            boolean risksAddedSuccessfully = false;
-            if (packageRiskAggregation != null) {
-                this.addArtifactAnalysisInfo(nonVirtualRepoPaths, packageRiskAggregation);
+            ScanResult scanResult = forceScan ? null : this.getStoredScanResult(artifactId);
+            if (scanResult != null) {
+                this._logger.debug(String.format("Scan result restored from the scan result store. Artifact name: %s",
+                        repoPath.getPath()));
+            } else if (!forceScan && this.isStaleWhileRevalidateEnabled() && this.scanDataDefined(nonVirtualRepoPaths)) {
+                this._logger.info(String.format("Using expired scan data while the artifact is scanned in the " +
+                        "background. Artifact name: %s", repoPath.getName()));
+                this.revalidateInBackground(artifactId, nonVirtualRepoPaths);
                 this.logThresholdViolationArtifact(repoPath, nonVirtualRepoPaths);
-                risksAddedSuccessfully = true;
+                return true;
+            } else if (!forceScan && this._negativeCache.isKnownMissing(artifactId)) {
+                this._logger.debug(String.format("Scan skipped, the artifact was recently not found by SCA. " +
+                        "Artifact name: %s", repoPath.getPath()));
+                return false;
+            } else {
+                final ArtifactId scannedArtifactId = artifactId;
+                scanResult = this._inFlightScans
+                        .submit(artifactId, () -> this.scanAndStore(scannedArtifactId, TrafficClass.INTERACTIVE))
+                        .join();
+            }
+
+            return this.applyScanResult(repoPath, nonVirtualRepoPaths, scanResult);
+        }
+    }
+
+    private boolean applyScanResult(@Nonnull RepoPath repoPath, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths,
+                                    ScanResult scanResult) {
+        boolean risksAddedSuccessfully = false;
+        if (scanResult != null) {
+            this.addArtifactAnalysisInfo(nonVirtualRepoPaths, scanResult);
+            this.logThresholdViolationArtifact(repoPath, nonVirtualRepoPaths);
+            risksAddedSuccessfully = true;
+        }
+        this._logger.debug(String.format("Ended the artifact verification. Artifact name: %s", repoPath.getPath()));
+        return risksAddedSuccessfully;
+    }
+
+    public boolean hasFreshScanData(ArtifactId artifactId, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths) {
+        return (!nonVirtualRepoPaths.isEmpty() && this.scanIsNotNeeded(nonVirtualRepoPaths))
+                || (artifactId != null && this.getStoredScanResult(artifactId) != null);
+    }
+
+    public boolean hasScanData(@Nonnull ArrayList<RepoPath> nonVirtualRepoPaths) {
+        return !nonVirtualRepoPaths.isEmpty() && this.scanDataDefined(nonVirtualRepoPaths);
+    }
+
+    public ArtifactId resolveArtifactId(@Nonnull RepoPath repoPath) {
+        try {
+            if (!this._artifactIdResolver.isPackageFile(repoPath)) {
+                return null;
             }
-            this._logger.debug(String.format("Ended the artifact verification. Artifact name: %s", repoPath.getPath()));
-            return risksAddedSuccessfully;
+
+            ArtifactId artifactId = this._artifactIdResolver.resolve(repoPath).getArtifactId();
+            return artifactId.isInvalid() ? null : artifactId;
+        } catch (Exception var5) {
+            this._logger.debug(String.format("Unable to resolve the artifact id. Artifact Name: %s.",
+                    repoPath.getName()), var5);
+            return null;
         }
     }
 
@@ -175,27 +245,26 @@ public class ArtifactRisksFiller {
             @Nonnull RepoPath repoPath, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths) {
         this._logger.debug("logThresholdViolationArtifact start");
 
-        String repositoryKey = repoPath.getRepoKey();
-        RepositoryConfiguration repoConfiguration = this._repositories.getRepositoryConfiguration(repositoryKey);
-        String packageType = repoConfiguration.getPackageType();
-        this._logger.debug(String.format("jfrog package type (not SCA): %s", packageType));
-        PackageManager packageManager = PackageManager.GetPackageType(packageType);
-        FileLayoutInfo fileLayoutInfo = this._repositories.getLayoutInfo(repoPath);
-        ArtifactId artifactId = this._artifactIdBuilder.getArtifactId(fileLayoutInfo, repoPath, packageManager);
-        Optional<Double> securityRiskThresholdCvssScore = this._configuration.getSecurityRiskThresholdCvssScore();
+        ArtifactIdResolver.ResolvedArtifact resolved = this._artifactIdResolver.resolve(repoPath);
+        this._logger.debug(String.format("jfrog package type (not SCA): %s", resolved.getPackageType()));
+        ArtifactId artifactId = resolved.getArtifactId();
+        PolicySnapshot policy = this._policyStore.current();
+        Optional<Double> securityRiskThresholdCvssScore = policy.getSecurityRiskThresholdCvssScore();
         securityRiskThresholdCvssScore.ifPresentOrElse(
                 (value) -> {
                     this.logThresholdViolationByCvssScore((RepoPath) nonVirtualRepoPaths.get(0), artifactId, value);
                 },
                 () -> {
-                    this.logThresholdViolationBySeverity((RepoPath) nonVirtualRepoPaths.get(0), artifactId);
+                    this.logThresholdViolationBySeverity((RepoPath) nonVirtualRepoPaths.get(0), artifactId,
+                            policy.getSecurityRiskThreshold());
                 }
         );
         this._logger.debug("logThresholdViolationArtifact end");
     }
 
     private void logThresholdViolationBySeverity(RepoPath repoPath,
-                                                 ArtifactId artifactId) {
+                                                 ArtifactId artifactId,
+                                                 SecurityRiskThreshold securityRiskThreshold) {
         this._logger.debug("logThresholdViolationBySeverity start");
         Set<Map.Entry<String, String>> properties = this._repositories.getProperties(repoPath).entries();
         for (Map.Entry<String, String> stringStringEntry : properties) {
@@ -205,7 +274,6 @@ public class ArtifactRisksFiller {
         String vulnerabilities = this._repositories.getProperty(repoPath, PropertiesConstants.TOTAL_RISKS_COUNT);
         String mediumRisk = this._repositories.getProperty(repoPath, PropertiesConstants.MEDIUM_RISKS_COUNT);
         String highRisk = this._repositories.getProperty(repoPath, PropertiesConstants.HIGH_RISKS_COUNT);
-        SecurityRiskThreshold securityRiskThreshold = this._configuration.getSecurityRiskThreshold();
         this._logger.debug(String.format("repo path: %s", repoPath.toPath()));
         this._logger.debug(String.format("number of entries: %s", properties.size()));
         this._logger.debug(String.format("package name: %s", this._repositories.getProperty(repoPath, "pypi.name")));
@@ -267,7 +335,7 @@ public class ArtifactRisksFiller {
     }
 
     private boolean scanIsNotNeeded(@Nonnull ArrayList<RepoPath> repoPaths) {
-        int expirationTime = this.getExpirationTime();
+        int expirationTime = this._configuration.getDataExpirationTime();
         Iterator<RepoPath> var3 = repoPaths.iterator();
 
         RepoPath repoPath;
@@ -310,6 +378,16 @@ public class ArtifactRisksFiller {
         }
     }
 
+    private ScanResult getStoredScanResult(@Nonnull ArtifactId artifactId) {
+        ScanResult scanResult = this._scanResultStore.get(artifactId);
+        long timeToLiveMillis = this._configuration.getDataExpirationTime() * 1000L;
+        if (scanResult != null && scanResult.isFresh(timeToLiveMillis, System.currentTimeMillis())) {
+            return scanResult;
+        } else {
+            return null;
+        }
+    }
+
     private boolean allPropertiesDefined(Properties properties) {
         return properties.containsKey(PropertiesConstants.TOTAL_RISKS_COUNT)
                 && properties.containsKey(PropertiesConstants.LOW_RISKS_COUNT)
@@ -320,68 +398,94 @@ public class ArtifactRisksFiller {
                 && properties.containsKey(PropertiesConstants.LAST_SCAN);
     }
 
-    private int getExpirationTime() {
-        String configurationTime = this._configuration.getPropertyOrDefault(ConfigurationEntry.DATA_EXPIRATION_TIME);
-
-        try {
-            return Integer.parseInt(configurationTime);
-        } catch (Exception var3) {
-            this._logger.warn(String.format("Error converting the 'sca.data.expiration-time' configuration value, " +
-                    "we will use the default value. Exception Message: %s.", var3.getMessage()));
-            return Integer.parseInt(ConfigurationEntry.DATA_EXPIRATION_TIME.defaultValue());
-        }
+    private void revalidateInBackground(@Nonnull ArtifactId artifactId, @Nonnull ArrayList<RepoPath> nonVirtualRepoPaths) {
+        this._inFlightScans
+                .submit(artifactId, () -> this.scanAndStore(artifactId, TrafficClass.BULK))
+                .thenAcceptAsync((scanResult) -> {
+                    if (scanResult != null) {
+                        this.addArtifactAnalysisInfo(nonVirtualRepoPaths, scanResult);
+                        this._verdictCache.invalidate(artifactId);
+                        this._logger.debug(String.format("Background scan completed. Artifact: %s", artifactId));
+                    }
+                }, this._revalidationExecutor);
     }
 
-    private boolean FileShouldBeIgnored(RepoPath repoPath, IPackageManager packageManager) {
-        boolean notNugetPackage = packageManager == PackageManager.NUGET && !repoPath.getPath().endsWith(".nupkg");
-        boolean notGoPackage = packageManager == PackageManager.GO && !repoPath.getPath().endsWith(".zip");
-        boolean notCocoaPodsPackage = packageManager == PackageManager.COCOAPODS
-                && !repoPath.getPath().endsWith(".tar.gz")
-                && !repoPath.getPath().endsWith(".zip");
-        boolean jsonFile = repoPath.getPath().endsWith(".json");
-        boolean htmlFile = repoPath.getPath().endsWith(".html");
-        return notNugetPackage || notGoPackage || notCocoaPodsPackage || jsonFile || htmlFile;
+    private boolean isStaleWhileRevalidateEnabled() {
+        return Boolean.parseBoolean(this._configuration
+                .getPropertyOrDefault(ConfigurationEntry.DATA_STALE_WHILE_REVALIDATE));
     }
 
-    private PackageAnalysisAggregation scanArtifact(@Nonnull ArtifactId artifactId) {
-        ArtifactInfo artifactInfo;
+    private boolean scanDataDefined(@Nonnull ArrayList<RepoPath> repoPaths) {
         try {
-            this._logger.debug(String.format("Info from artifactId: package type: %s, name: %s, version: %s", artifactId.PackageType, artifactId.Name,
-                    artifactId.Version));
-            artifactInfo = this._scaHttpClient.getArtifactInformation(artifactId.PackageType, artifactId.Name,
-                    artifactId.Version);
-            this._logger.debug(String.format("For CxSCA the artifact is identified by %s.", artifactInfo.getId()));
-        } catch (Exception var5) {
-            if (var5 instanceof UnexpectedResponseCodeException
-                    && ((UnexpectedResponseCodeException) var5).StatusCode == 404) {
-                this._logger.error(String.format("Artifact not found, artifact name: %s. Exception Message: %s.",
-                        artifactId.Name, var5.getMessage()));
-                return null;
+            for (RepoPath repoPath : repoPaths) {
+                Properties properties = this._repositories.getProperties(repoPath);
+                if (properties == null || !this.allPropertiesDefined(properties)
+                        || !properties.containsKey(PropertiesConstants.LICENSE_NAMES)) {
+                    return false;
+                }
             }
 
-            this._logger.error(String.format("Failed to get artifact information. " +
-                    "Exception Message: %s. Artifact Name: %s.", var5.getMessage(), artifactId.Name));
-            return null;
+            return true;
+        } catch (Exception var5) {
+            this._logger.debug("Unable to read the existing scan data.", var5);
+            return false;
         }
+    }
 
-        try {
-            this._logger.debug(String.format("Info from artifactInfo: package type: %s, name: %s, version: %s", artifactInfo.getPackageType(),
-                    artifactInfo.getName(), artifactInfo.getVersion()));
-            return this._scaHttpClient.getRiskAggregationOfArtifact(artifactInfo.getPackageType(),
-                    artifactInfo.getName(), artifactInfo.getVersion());
-        } catch (Exception var4) {
+    private CompletableFuture<ScanResult> scanAndStore(@Nonnull ArtifactId artifactId,
+                                                       @Nonnull TrafficClass trafficClass) {
+        this._logger.debug(String.format("Info from artifactId: package type: %s, name: %s, version: %s",
+                artifactId.PackageType, artifactId.Name, artifactId.Version));
+        CompletableFuture<ArtifactInfo> artifactInfoFuture = this._scaHttpClient
+                .getArtifactInformationAsync(artifactId.PackageType, artifactId.Name, artifactId.Version, trafficClass);
+        return artifactInfoFuture
+                .thenCompose((artifactInfo) -> {
+                    this._logger.debug(String.format("For CxSCA the artifact is identified by %s.",
+                            artifactInfo.getId()));
+                    return this._scaHttpClient.getRiskAggregationOfArtifactAsync(artifactInfo.getPackageType(),
+                            artifactInfo.getName(), artifactInfo.getVersion(), trafficClass);
+                })
+                .handle((packageRiskAggregation, throwable) -> {
+                    if (throwable != null) {
+                        this.logScanFailure(artifactId, artifactInfoFuture.isCompletedExceptionally(), throwable);
+                        return null;
+                    }
+
+                    ScanResult scanResult = ScanResult.fromAggregation(packageRiskAggregation,
+                            System.currentTimeMillis());
+                    ScanResult previousScanResult = this._scanResultStore.get(artifactId);
+                    if (previousScanResult != null && scanResult.hasSameContent(previousScanResult)) {
+                        scanResult = previousScanResult.revalidated(scanResult.getScannedAt());
+                    }
+
+                    this._scanResultStore.put(artifactId, scanResult);
+                    return scanResult;
+                });
+    }
+
+    private void logScanFailure(@Nonnull ArtifactId artifactId, boolean artifactInfoFailed,
+                                @Nonnull Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        if (!artifactInfoFailed) {
             this._logger.error(String.format("Failed to get risk aggregation of artifact. " +
-                    "Exception Message: %s. Artifact Name: %s.", var4.getMessage(), artifactId.Name));
-            return null;
+                    "Exception Message: %s. Artifact Name: %s.", cause.getMessage(), artifactId.Name));
+        } else if (cause instanceof UnexpectedResponseCodeException
+                && ((UnexpectedResponseCodeException) cause).StatusCode == 404) {
+            this._logger.error(String.format("Artifact not found, artifact name: %s. Exception Message: %s.",
+                    artifactId.Name, cause.getMessage()));
+            this._negativeCache.recordMissing(artifactId);
+        } else {
+            this._logger.error(String.format("Failed to get artifact information. " +
+                    "Exception Message: %s. Artifact Name: %s.", cause.getMessage(), artifactId.Name));
         }
     }
 
-    private void addArtifactAnalysisInfo(@Nonnull ArrayList<RepoPath> repoPaths,
-                                         @Nonnull PackageAnalysisAggregation packageAnalysisAggregation) {
+    private void addArtifactAnalysisInfo(@Nonnull ArrayList<RepoPath> repoPaths, @Nonnull ScanResult scanResult) {
 
         for (RepoPath repoPath : repoPaths) {
             try {
-                this.addArtifactAnalysisInfo(repoPath, packageAnalysisAggregation);
+                this.addArtifactAnalysisInfo(repoPath, scanResult);
             } catch (Exception var6) {
                 this._logger.error(String.format("Failed to add risks information to the properties. " +
                         "Exception Message: %s. Artifact Name: %s.", var6.getMessage(), repoPath.getName()));
@@ -390,30 +494,50 @@ public class ArtifactRisksFiller {
 
     }
 
-    private void addArtifactAnalysisInfo(RepoPath repoPath, PackageAnalysisAggregation packageAnalysisAggregation) {
-        VulnerabilitiesAggregation vulnerabilitiesAggregation = packageAnalysisAggregation
-                .getVulnerabilitiesAggregation();
-        List<String> licenceTypes = packageAnalysisAggregation.getLicenses();
-        if (licenceTypes == null) {
-            licenceTypes = List.of();
+    private void addArtifactAnalysisInfo(RepoPath repoPath, ScanResult scanResult) {
+        String scanDate = Instant.ofEpochMilli(scanResult.getScannedAt()).toString();
+        ReentrantLock lock = this._propertyLocks.get(repoPath.toPath());
+        lock.lock();
+        try {
+            String lastScan = this._repositories.getProperty(repoPath, PropertiesConstants.LAST_SCAN);
+            if (scanDate.equals(lastScan)) {
+                this._logger.debug(String.format("Properties already written by a concurrent scan. Artifact Name: %s.",
+                        repoPath.getName()));
+                return;
+            }
+
+            if (scanResult.getPreviousScannedAt() > 0
+                    && Instant.ofEpochMilli(scanResult.getPreviousScannedAt()).toString().equals(lastScan)) {
+                this._unchangedRescans.increment();
+                this._logger.debug(String.format("Scan result unchanged, only the scan date is updated. " +
+                        "Artifact Name: %s.", repoPath.getName()));
+                this._repositories.setProperty(repoPath, PropertiesConstants.LAST_SCAN, new String[]{scanDate});
+                return;
+            }
+
+            this.writeArtifactAnalysisInfo(repoPath, scanResult, scanDate);
+        } finally {
+            lock.unlock();
         }
+    }
 
+    private void writeArtifactAnalysisInfo(RepoPath repoPath, ScanResult scanResult, String scanDate) {
         this._repositories.setProperty(repoPath, PropertiesConstants.TOTAL_RISKS_COUNT,
-                new String[]{String.valueOf(vulnerabilitiesAggregation.getVulnerabilitiesCount())});
+                new String[]{String.valueOf(scanResult.getTotalRisks())});
         this._repositories.setProperty(repoPath, PropertiesConstants.LOW_RISKS_COUNT,
-                new String[]{String.valueOf(vulnerabilitiesAggregation.getLowRiskCount())});
+                new String[]{String.valueOf(scanResult.getLowRisks())});
         this._repositories.setProperty(repoPath, PropertiesConstants.MEDIUM_RISKS_COUNT,
-                new String[]{String.valueOf(vulnerabilitiesAggregation.getMediumRiskCount())});
+                new String[]{String.valueOf(scanResult.getMediumRisks())});
         this._repositories.setProperty(repoPath, PropertiesConstants.HIGH_RISKS_COUNT,
-                new String[]{String.valueOf(vulnerabilitiesAggregation.getHighRiskCount())});
+                new String[]{String.valueOf(scanResult.getHighRisks())});
         this._repositories.setProperty(repoPath, PropertiesConstants.RISK_SCORE,
-                new String[]{String.valueOf(vulnerabilitiesAggregation.getMaxRiskScore())});
+                new String[]{String.valueOf(scanResult.getRiskScore())});
         this._repositories.setProperty(repoPath, PropertiesConstants.RISK_LEVEL,
-                new String[]{vulnerabilitiesAggregation.getMaxRiskSeverity()});
+                new String[]{scanResult.getRiskLevel()});
         this._repositories.setProperty(repoPath, PropertiesConstants.LAST_SCAN,
-                new String[]{Instant.now().toString()});
+                new String[]{scanDate});
         this._repositories.setProperty(repoPath, PropertiesConstants.LICENSE_NAMES,
-                new String[]{String.join(",", licenceTypes)});
+                new String[]{String.join(",", scanResult.getLicenses())});
     }
 
     public ArrayList<RepoPath> getNonVirtualRepoPaths(RepoPath repoPath) {
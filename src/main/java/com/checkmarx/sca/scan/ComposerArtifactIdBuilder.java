@@ -1,27 +1,29 @@
 package com.checkmarx.sca.scan;
 
 import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.cache.PackagistCache;
+import com.checkmarx.sca.communication.HttpClientFactory;
 import com.checkmarx.sca.configuration.ConfigurationEntry;
 import com.checkmarx.sca.configuration.PluginConfiguration;
 import com.checkmarx.sca.models.ArtifactId;
 import com.checkmarx.sca.scan.fallbacks.ComposerFallback;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.checkmarx.sca.scan.parsers.RepoPathParsers;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Inject;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.net.http.HttpClient.Version;
 import java.net.http.HttpResponse.BodyHandlers;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 
 import org.artifactory.repo.RepoPath;
@@ -33,17 +35,21 @@ public class ComposerArtifactIdBuilder {
     private Logger _logger;
     @Inject
     private ComposerFallback _composerFallback;
+    @Inject
+    private PackagistCache _packagistCache;
     private final String _baseUrl;
     private final HttpClient _httpClient;
+    private final HttpClientFactory _httpClientFactory;
 
     @Inject
-    public ComposerArtifactIdBuilder(@Nonnull PluginConfiguration configuration) {
+    public ComposerArtifactIdBuilder(@Nonnull PluginConfiguration configuration, @Nonnull HttpClientFactory httpClientFactory) {
         this._baseUrl = configuration.getPropertyOrDefault(ConfigurationEntry.PACKAGIST_REPOSITORY);
-        this._httpClient = HttpClient.newBuilder().version(Version.HTTP_1_1).build();
+        this._httpClientFactory = httpClientFactory;
+        this._httpClient = httpClientFactory.getHttpClient();
     }
 
     public ArtifactId generateArtifactId(@Nonnull RepoPath repoPath, @Nonnull PackageManager packageManager) {
-        Pair artifactInfo = this.parseRepoPath(repoPath);
+        Pair artifactInfo = this.parseRepoPath(repoPath, packageManager);
         if (artifactInfo.getFirst() == null) {
             return new ArtifactId(packageManager.packageType(), (String) null, (String) null);
         } else {
@@ -71,50 +77,113 @@ public class ComposerArtifactIdBuilder {
         }
     }
 
-    private Pair parseRepoPath(@Nonnull RepoPath repoPath) {
-        String regex = "(?<name>.+)/commits/(?<version>.+)/.+";
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(repoPath.getPath());
-        if (!matcher.matches()) {
+    private Pair parseRepoPath(@Nonnull RepoPath repoPath, @Nonnull PackageManager packageManager) {
+        ArtifactId parsedPath = RepoPathParsers.get(PackageManager.COMPOSER).parse(repoPath.getPath(), packageManager);
+        if (parsedPath.Name == null || parsedPath.Version == null) {
             this._logger.error(String.format("Unable to parse RepoPath from Composer. Artifact path: %s", repoPath.getPath()));
             return new Pair((Object) null, (Object) null);
         } else {
-            String artifactName = matcher.group("name");
-            String artifactVersion = matcher.group("version");
-            if (artifactName != null && artifactVersion != null) {
-                return new Pair(artifactName, artifactVersion);
-            } else {
-                this._logger.error(String.format("Unable to parse RepoPath from Composer. Artifact path: %s", repoPath.getPath()));
-                return new Pair((Object) null, (Object) null);
+            return new Pair(parsedPath.Name, parsedPath.Version);
+        }
+    }
+
+    private ArtifactId requestPackageInfoFromPackagist(@Nonnull PackageManager packageManager, @Nonnull String packageName, @Nonnull String commitReference) throws ExecutionException, InterruptedException, IOException {
+        PackagistCache.PackageIndex index = this._packagistCache.getPackageIndex(packageName);
+        String version = this._packagistCache.getVersion(index, commitReference);
+        if (version == null && this._packagistCache.needsRevalidation(index)) {
+            index = this.fetchPackageIndex(packageName, index);
+            version = index != null ? index.getVersion(commitReference) : null;
+        }
+
+        return version != null ? new ArtifactId(packageManager.packageType(), packageName, version) : null;
+    }
+
+    private PackagistCache.PackageIndex fetchPackageIndex(@Nonnull String packageName, PackagistCache.PackageIndex cachedIndex) throws ExecutionException, InterruptedException, IOException {
+        HttpRequest.Builder requestBuilder = this._httpClientFactory.newRequestBuilder(URI.create(String.format("%s/p2/%s.json", this._baseUrl, packageName))).GET();
+        if (cachedIndex != null && cachedIndex.getEtag() != null) {
+            requestBuilder.header("If-None-Match", cachedIndex.getEtag());
+        }
+
+        if (cachedIndex != null && cachedIndex.getLastModified() != null) {
+            requestBuilder.header("If-Modified-Since", cachedIndex.getLastModified());
+        }
+
+        CompletableFuture<HttpResponse<String>> responseFuture = this._httpClient.sendAsync(requestBuilder.build(), BodyHandlers.ofString());
+        HttpResponse<String> response = responseFuture.get();
+        if (response.statusCode() == 304 && cachedIndex != null) {
+            this._packagistCache.markNotModified(cachedIndex);
+            return cachedIndex;
+        } else if (response.statusCode() == 200 || response.statusCode() == 404) {
+            Map<String, String> versionsByReference = response.statusCode() == 200
+                    ? this.readVersionsByReference(packageName, response.body()) : Map.of();
+            PackagistCache.PackageIndex index = new PackagistCache.PackageIndex(versionsByReference,
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null));
+            this._packagistCache.putPackageIndex(packageName, index);
+            return index;
+        } else {
+            this._logger.debug(String.format("Unexpected response from packagist. Package: %s, status code: %d", packageName, response.statusCode()));
+            return cachedIndex;
+        }
+    }
+
+    private Map<String, String> readVersionsByReference(@Nonnull String packageName, @Nonnull String body) throws IOException {
+        Map<String, String> versionsByReference = new HashMap<>();
+        try (JsonReader reader = new JsonReader(new StringReader(body))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"packages".equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (!packageName.equals(reader.nextName())) {
+                        reader.skipValue();
+                        continue;
+                    }
+
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        this.readVersion(reader, versionsByReference);
+                    }
+                    reader.endArray();
+                }
+                reader.endObject();
             }
+            reader.endObject();
         }
+
+        return versionsByReference;
     }
 
-    private ArtifactId requestPackageInfoFromPackagist(@Nonnull PackageManager packageManager, @Nonnull String packageName, @Nonnull String commitReference) throws ExecutionException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder(URI.create(String.format("%s/p2/%s.json", this._baseUrl, packageName))).GET().build();
-        CompletableFuture responseFuture = this._httpClient.sendAsync(request, BodyHandlers.ofString());
-        HttpResponse response = (HttpResponse) responseFuture.get();
-        if (response.statusCode() == 200) {
-            JsonElement jElement = JsonParser.parseString((String) response.body());
-            JsonObject jObject = jElement.getAsJsonObject();
-            JsonObject packages = jObject.getAsJsonObject("packages");
-            JsonArray versions = packages.getAsJsonArray(packageName);
-            Iterator var11 = versions.iterator();
-
-            while (var11.hasNext()) {
-                JsonElement vElement = (JsonElement) var11.next();
-                JsonObject version = vElement.getAsJsonObject();
-                JsonObject source = version.getAsJsonObject("source");
-                if (source != null) {
-                    String reference = source.get("reference").getAsString();
-                    if (commitReference.equalsIgnoreCase(reference)) {
-                        String usedVersion = version.get("version").getAsString();
-                        return new ArtifactId(packageManager.packageType(), packageName, usedVersion);
+    private void readVersion(JsonReader reader, Map<String, String> versionsByReference) throws IOException {
+        String version = null;
+        String reference = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("version".equals(name) && reader.peek() == JsonToken.STRING) {
+                version = reader.nextString();
+            } else if ("source".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if ("reference".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                        reference = reader.nextString();
+                    } else {
+                        reader.skipValue();
                     }
                 }
+                reader.endObject();
+            } else {
+                reader.skipValue();
             }
         }
+        reader.endObject();
 
-        return null;
+        if (version != null && reference != null) {
+            versionsByReference.putIfAbsent(reference.toLowerCase(Locale.ROOT), version);
+        }
     }
 }
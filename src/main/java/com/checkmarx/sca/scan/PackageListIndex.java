@@ -0,0 +1,375 @@
+package com.checkmarx.sca.scan;
+
+import com.checkmarx.sca.models.PackageInfo;
+import com.checkmarx.sca.scan.versions.Version;
+import com.checkmarx.sca.scan.versions.VersionRange;
+import com.checkmarx.sca.scan.versions.VersionScheme;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import javax.annotation.Nonnull;
+
+/**
+ * Allow/deny list entries in an open addressing table keyed by (package manager, name, version), compared
+ * ignoring case like the lists always were. "*" versions are stored under their own key, so a lookup probes
+ * the exact version and the wildcard and does not allocate. Version ranges ({@link VersionRange}) are compiled
+ * per (package manager, name) into a segment tree over the elementary intervals between their sorted bounds:
+ * each range is stored in the O(log n) nodes that exactly cover it, and a lookup finds the interval of the
+ * version with a binary search and walks from it to the root. Entries keep their position in the CSV because
+ * the first matching deny entry decides whether a violation is only monitored.
+ */
+public final class PackageListIndex {
+    private static final String ANY_VERSION = "*";
+    private static final String RANGES = "";
+    private static final PackageListIndex EMPTY = new Builder().build();
+
+    private final Slot[] _slots;
+    private final Slot[] _rangeSlots;
+    private final int _size;
+
+    private PackageListIndex(Slot[] slots, Slot[] rangeSlots, int size) {
+        this._slots = slots;
+        this._rangeSlots = rangeSlots;
+        this._size = size;
+    }
+
+    public static PackageListIndex empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return this._size;
+    }
+
+    public boolean contains(String packageManager, String packageName, String packageVersion) {
+        if (find(this._slots, packageManager, packageName, packageVersion) != null
+                || find(this._slots, packageManager, packageName, ANY_VERSION) != null) {
+            return true;
+        }
+
+        RangeSlot ranges = (RangeSlot) find(this._rangeSlots, packageManager, packageName, RANGES);
+        return ranges != null && ranges.covers(packageVersion);
+    }
+
+    /**
+     * Returns the first entry, in list order, for the package and version (exact, "*" or range) whose CVSS score
+     * is less than or equal to the given score.
+     */
+    public PackageInfo firstMatch(String packageManager, String packageName, String packageVersion, double score) {
+        Slot exact = find(this._slots, packageManager, packageName, packageVersion);
+        Slot wildcard = ANY_VERSION.equalsIgnoreCase(packageVersion) ? null
+                : find(this._slots, packageManager, packageName, ANY_VERSION);
+        RangeSlot ranges = (RangeSlot) find(this._rangeSlots, packageManager, packageName, RANGES);
+        PackageInfo first = null;
+        int firstPosition = Integer.MAX_VALUE;
+        if (exact != null) {
+            int index = firstWithin(exact.entries, score);
+            if (index >= 0) {
+                first = exact.entries[index];
+                firstPosition = exact.positions[index];
+            }
+        }
+
+        if (wildcard != null) {
+            int index = firstWithin(wildcard.entries, score);
+            if (index >= 0 && wildcard.positions[index] < firstPosition) {
+                first = wildcard.entries[index];
+                firstPosition = wildcard.positions[index];
+            }
+        }
+
+        PackageInfo firstRange = ranges != null ? ranges.firstMatch(packageVersion, score, firstPosition) : null;
+        return firstRange != null ? firstRange : first;
+    }
+
+    private static int firstWithin(PackageInfo[] entries, double score) {
+        for (int i = 0; i < entries.length; i++) {
+            Double cvssScore = entries[i].getCvssScore();
+            if (cvssScore != null && score >= cvssScore) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static Slot find(Slot[] slots, String packageManager, String packageName, String packageVersion) {
+        if (packageManager == null || packageName == null || packageVersion == null) {
+            return null;
+        }
+
+        int mask = slots.length - 1;
+        for (int index = hash(packageManager, packageName, packageVersion) & mask; ; index = (index + 1) & mask) {
+            Slot slot = slots[index];
+            if (slot == null) {
+                return null;
+            } else if (slot.packageManager.equalsIgnoreCase(packageManager)
+                    && slot.packageName.equalsIgnoreCase(packageName)
+                    && slot.packageVersion.equalsIgnoreCase(packageVersion)) {
+                return slot;
+            }
+        }
+    }
+
+    private static int hash(String packageManager, String packageName, String packageVersion) {
+        int hash = foldedHash(foldedHash(foldedHash(17, packageManager) * 31 + 1, packageName) * 31 + 2,
+                packageVersion);
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int foldedHash(int hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = hash * 31 + Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+
+        return hash;
+    }
+
+    private static Slot[] table(List<? extends Slot> slots) {
+        int capacity = Integer.highestOneBit(Math.max(2, slots.size() * 2 - 1)) << 1;
+        Slot[] table = new Slot[capacity];
+        for (Slot slot : slots) {
+            int index = hash(slot.packageManager, slot.packageName, slot.packageVersion) & (capacity - 1);
+            while (table[index] != null) {
+                index = (index + 1) & (capacity - 1);
+            }
+
+            table[index] = slot;
+        }
+
+        return table;
+    }
+
+    private static String fold(String value) {
+        char[] folded = new char[value.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+
+        return new String(folded);
+    }
+
+    public static final class Builder {
+        private final Map<String, Slot> _slots = new HashMap<>();
+        private final Map<String, RangeSlot> _rangeSlots = new HashMap<>();
+        private final List<Slot> _orderedSlots = new ArrayList<>();
+        private final List<RangeSlot> _orderedRangeSlots = new ArrayList<>();
+        private int _size;
+
+        /**
+         * Adds a list entry. Throws IllegalArgumentException when its version is a range that cannot be parsed.
+         */
+        public Builder add(@Nonnull PackageInfo packageInfo) {
+            String packageManager = packageInfo.getPackageManager();
+            String packageName = packageInfo.getPackageName();
+            String packageVersion = packageInfo.getPackageVersion();
+            if (packageManager == null || packageName == null || packageVersion == null) {
+                this._size++;
+                return this;
+            }
+
+            String key = String.format("%s\u0000%s", fold(packageManager), fold(packageName));
+            if (VersionRange.isRange(packageVersion)) {
+                VersionScheme scheme = VersionScheme.forPackageManager(packageManager);
+                VersionRange range = VersionRange.parse(packageVersion, scheme);
+                this._rangeSlots.computeIfAbsent(key, (ignored) -> {
+                    RangeSlot slot = new RangeSlot(packageManager, packageName, scheme);
+                    this._orderedRangeSlots.add(slot);
+                    return slot;
+                }).add(range, packageInfo, this._size++);
+            } else {
+                this._slots.computeIfAbsent(String.format("%s\u0000%s", key, fold(packageVersion)), (ignored) -> {
+                    Slot slot = new Slot(packageManager, packageName, packageVersion);
+                    this._orderedSlots.add(slot);
+                    return slot;
+                }).add(packageInfo, this._size++);
+            }
+
+            return this;
+        }
+
+        public PackageListIndex build() {
+            this._orderedSlots.forEach(Slot::compile);
+            this._orderedRangeSlots.forEach(RangeSlot::compile);
+            return new PackageListIndex(table(this._orderedSlots), table(this._orderedRangeSlots), this._size);
+        }
+    }
+
+    private static class Slot {
+        private final String packageManager;
+        private final String packageName;
+        private final String packageVersion;
+        private List<PackageInfo> pendingEntries = new ArrayList<>(1);
+        private List<Integer> pendingPositions = new ArrayList<>(1);
+        private PackageInfo[] entries;
+        private int[] positions;
+
+        private Slot(String packageManager, String packageName, String packageVersion) {
+            this.packageManager = packageManager;
+            this.packageName = packageName;
+            this.packageVersion = packageVersion;
+        }
+
+        private void add(PackageInfo packageInfo, int position) {
+            this.pendingEntries.add(packageInfo);
+            this.pendingPositions.add(position);
+        }
+
+        private void compile() {
+            this.entries = this.pendingEntries.toArray(new PackageInfo[0]);
+            this.positions = this.pendingPositions.stream().mapToInt(Integer::intValue).toArray();
+            this.pendingEntries = null;
+            this.pendingPositions = null;
+        }
+    }
+
+    private static final class RangeSlot extends Slot {
+        private static final PackageInfo[] NO_ENTRIES = new PackageInfo[0];
+        private static final int[] NO_POSITIONS = new int[0];
+
+        private final VersionScheme scheme;
+        private List<VersionRange> pendingRanges = new ArrayList<>(1);
+        private List<PackageInfo> pendingRangeEntries = new ArrayList<>(1);
+        private List<Integer> pendingRangePositions = new ArrayList<>(1);
+        private Version[] bounds;
+        private int leaves;
+        private PackageInfo[][] nodeEntries;
+        private int[][] nodePositions;
+
+        private RangeSlot(String packageManager, String packageName, VersionScheme scheme) {
+            super(packageManager, packageName, RANGES);
+            this.scheme = scheme;
+        }
+
+        private void add(VersionRange range, PackageInfo packageInfo, int position) {
+            this.pendingRanges.add(range);
+            this.pendingRangeEntries.add(packageInfo);
+            this.pendingRangePositions.add(position);
+        }
+
+        /**
+         * Splits the version line at every distinct bound: region 2i + 1 is bounds[i] itself and region 2i the
+         * versions between bounds[i - 1] and bounds[i]. The regions are the leaves of a segment tree and every
+         * interval of a range is added, in list order, to the nodes that cover its regions.
+         */
+        private void compile() {
+            TreeSet<Version> sortedBounds = new TreeSet<>();
+            for (VersionRange range : this.pendingRanges) {
+                for (VersionRange.Interval interval : range.getIntervals()) {
+                    if (interval.getLower() != null) {
+                        sortedBounds.add(interval.getLower());
+                    }
+
+                    if (interval.getUpper() != null) {
+                        sortedBounds.add(interval.getUpper());
+                    }
+                }
+            }
+
+            this.bounds = sortedBounds.toArray(new Version[0]);
+            int regions = this.bounds.length * 2 + 1;
+            this.leaves = Integer.highestOneBit(regions) == regions ? regions : Integer.highestOneBit(regions) << 1;
+            List<List<PackageInfo>> entries = new ArrayList<>(this.leaves * 2);
+            List<List<Integer>> positions = new ArrayList<>(this.leaves * 2);
+            for (int node = 0; node < this.leaves * 2; node++) {
+                entries.add(null);
+                positions.add(null);
+            }
+
+            for (int i = 0; i < this.pendingRanges.size(); i++) {
+                for (VersionRange.Interval interval : this.pendingRanges.get(i).getIntervals()) {
+                    int first = interval.getLower() == null ? 0
+                            : this.boundIndex(interval.getLower()) * 2 + (interval.isLowerInclusive() ? 1 : 2);
+                    int last = interval.getUpper() == null ? regions - 1
+                            : this.boundIndex(interval.getUpper()) * 2 + (interval.isUpperInclusive() ? 1 : 0);
+                    for (int low = first + this.leaves, high = last + this.leaves + 1; low < high;
+                         low >>= 1, high >>= 1) {
+                        if ((low & 1) == 1) {
+                            this.addToNode(entries, positions, low++, i);
+                        }
+
+                        if ((high & 1) == 1) {
+                            this.addToNode(entries, positions, --high, i);
+                        }
+                    }
+                }
+            }
+
+            this.nodeEntries = new PackageInfo[this.leaves * 2][];
+            this.nodePositions = new int[this.leaves * 2][];
+            for (int node = 0; node < this.leaves * 2; node++) {
+                List<PackageInfo> nodeList = entries.get(node);
+                this.nodeEntries[node] = nodeList == null ? NO_ENTRIES : nodeList.toArray(new PackageInfo[0]);
+                this.nodePositions[node] = nodeList == null ? NO_POSITIONS
+                        : positions.get(node).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            this.pendingRanges = null;
+            this.pendingRangeEntries = null;
+            this.pendingRangePositions = null;
+        }
+
+        private void addToNode(List<List<PackageInfo>> entries, List<List<Integer>> positions, int node, int range) {
+            int position = this.pendingRangePositions.get(range);
+            if (entries.get(node) == null) {
+                entries.set(node, new ArrayList<>(1));
+                positions.set(node, new ArrayList<>(1));
+            }
+
+            List<Integer> nodePositions = positions.get(node);
+            if (nodePositions.isEmpty() || nodePositions.get(nodePositions.size() - 1) != position) {
+                entries.get(node).add(this.pendingRangeEntries.get(range));
+                nodePositions.add(position);
+            }
+        }
+
+        private boolean covers(String packageVersion) {
+            for (int node = this.leaf(packageVersion); node > 0; node >>= 1) {
+                if (this.nodeEntries[node].length > 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Returns the entry listed first among the ranges that cover the version and whose CVSS score is less than
+         * or equal to the given score, if it comes before the given list position.
+         */
+        private PackageInfo firstMatch(String packageVersion, double score, int beforePosition) {
+            PackageInfo first = null;
+            int firstPosition = beforePosition;
+            for (int node = this.leaf(packageVersion); node > 0; node >>= 1) {
+                int index = firstWithin(this.nodeEntries[node], score);
+                if (index >= 0 && this.nodePositions[node][index] < firstPosition) {
+                    first = this.nodeEntries[node][index];
+                    firstPosition = this.nodePositions[node][index];
+                }
+            }
+
+            return first;
+        }
+
+        /**
+         * Returns the tree node of the region of the version, or 0 when it is not a version of the scheme.
+         */
+        private int leaf(String packageVersion) {
+            Version version = this.scheme.parse(packageVersion);
+            if (version == null) {
+                return 0;
+            }
+
+            int index = this.boundIndex(version);
+            return (index >= 0 ? index * 2 + 1 : (-index - 1) * 2) + this.leaves;
+        }
+
+        private int boundIndex(Version version) {
+            return Arrays.binarySearch(this.bounds, version);
+        }
+    }
+}
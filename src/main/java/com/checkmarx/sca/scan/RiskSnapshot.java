@@ -0,0 +1,111 @@
+package com.checkmarx.sca.scan;
+
+import com.checkmarx.sca.PropertiesConstants;
+
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+import org.artifactory.repo.RepoPath;
+import org.artifactory.repo.Repositories;
+
+/**
+ * The SCA properties a download is checked against, read with a single pass over the properties of each
+ * non-virtual path: the ignore flags of every path and the risk counts, score, licenses and scan date of the first
+ * one.
+ */
+public final class RiskSnapshot {
+    private final RepoPath _repoPath;
+    private boolean _riskThresholdIgnored;
+    private boolean _licensesIgnored;
+    private String _totalRisks;
+    private String _mediumRisks;
+    private String _highRisks;
+    private String _riskScore;
+    private String _licenses;
+    private String _lastScan;
+
+    private RiskSnapshot(RepoPath repoPath) {
+        this._repoPath = repoPath;
+    }
+
+    public static RiskSnapshot read(@Nonnull Repositories repositories, @Nonnull List<RepoPath> nonVirtualRepoPaths) {
+        RiskSnapshot snapshot = new RiskSnapshot(nonVirtualRepoPaths.get(0));
+        for (int i = 0; i < nonVirtualRepoPaths.size(); i++) {
+            snapshot.readProperties(repositories.getProperties(nonVirtualRepoPaths.get(i)).entries(), i == 0);
+        }
+
+        return snapshot;
+    }
+
+    private void readProperties(Iterable<Map.Entry<String, String>> properties, boolean readRisks) {
+        String ignoreThreshold = null;
+        String ignoreLicenses = null;
+
+        for (Map.Entry<String, String> property : properties) {
+            String key = property.getKey();
+            if (ignoreThreshold == null && PropertiesConstants.IGNORE_THRESHOLD.equalsIgnoreCase(key)) {
+                ignoreThreshold = property.getValue();
+            } else if (ignoreLicenses == null && PropertiesConstants.IGNORE_LICENSE.equalsIgnoreCase(key)) {
+                ignoreLicenses = property.getValue();
+            } else if (readRisks) {
+                this.readRisk(key, property.getValue());
+            }
+        }
+
+        this._riskThresholdIgnored |= "true".equalsIgnoreCase(ignoreThreshold);
+        this._licensesIgnored |= "true".equalsIgnoreCase(ignoreLicenses);
+    }
+
+    private void readRisk(String key, String value) {
+        if (this._totalRisks == null && PropertiesConstants.TOTAL_RISKS_COUNT.equals(key)) {
+            this._totalRisks = value;
+        } else if (this._mediumRisks == null && PropertiesConstants.MEDIUM_RISKS_COUNT.equals(key)) {
+            this._mediumRisks = value;
+        } else if (this._highRisks == null && PropertiesConstants.HIGH_RISKS_COUNT.equals(key)) {
+            this._highRisks = value;
+        } else if (this._riskScore == null && PropertiesConstants.RISK_SCORE.equals(key)) {
+            this._riskScore = value;
+        } else if (this._licenses == null && PropertiesConstants.LICENSE_NAMES.equals(key)) {
+            this._licenses = value;
+        } else if (this._lastScan == null && PropertiesConstants.LAST_SCAN.equals(key)) {
+            this._lastScan = value;
+        }
+    }
+
+    public RepoPath getRepoPath() {
+        return this._repoPath;
+    }
+
+    public boolean isRiskThresholdIgnored() {
+        return this._riskThresholdIgnored;
+    }
+
+    public boolean isLicensesIgnored() {
+        return this._licensesIgnored;
+    }
+
+    public String getTotalRisks() {
+        return this._totalRisks;
+    }
+
+    public String getMediumRisks() {
+        return this._mediumRisks;
+    }
+
+    public String getHighRisks() {
+        return this._highRisks;
+    }
+
+    public String getRiskScore() {
+        return this._riskScore;
+    }
+
+    public String getLicenses() {
+        return this._licenses;
+    }
+
+    public String getLastScan() {
+        return this._lastScan;
+    }
+}
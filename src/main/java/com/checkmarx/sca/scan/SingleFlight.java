@@ -0,0 +1,50 @@
+package com.checkmarx.sca.scan;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+/**
+ * Registry of in-flight work keyed by K. The first caller for a key runs the loader, every caller that
+ * arrives while it is running receives the same future.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> _inFlight = new ConcurrentHashMap<>();
+    private final LongAdder _coalescedCalls = new LongAdder();
+
+    public CompletableFuture<V> submit(@Nonnull K key, @Nonnull Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = this._inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            this._coalescedCalls.increment();
+            return existing;
+        }
+
+        CompletableFuture<V> result;
+        try {
+            result = loader.get();
+        } catch (Throwable var7) {
+            result = CompletableFuture.failedFuture(var7);
+        }
+
+        result.whenComplete((value, throwable) -> {
+            this._inFlight.remove(key, promise);
+            if (throwable != null) {
+                promise.completeExceptionally(throwable);
+            } else {
+                promise.complete(value);
+            }
+        });
+        return promise;
+    }
+
+    public int inFlightCount() {
+        return this._inFlight.size();
+    }
+
+    public long coalescedCalls() {
+        return this._coalescedCalls.sum();
+    }
+}
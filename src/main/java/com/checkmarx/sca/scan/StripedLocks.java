@@ -0,0 +1,22 @@
+package com.checkmarx.sca.scan;
+
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nonnull;
+
+public class StripedLocks {
+    private final ReentrantLock[] _locks;
+
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1);
+        this._locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this._locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock get(@Nonnull Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return this._locks[hash & (this._locks.length - 1)];
+    }
+}
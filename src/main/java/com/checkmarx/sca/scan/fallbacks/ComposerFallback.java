@@ -1,5 +1,7 @@
 package com.checkmarx.sca.scan.fallbacks;
 
+import com.checkmarx.sca.cache.PackagistCache;
+import com.checkmarx.sca.communication.HttpClientFactory;
 import com.checkmarx.sca.configuration.ConfigurationEntry;
 import com.checkmarx.sca.configuration.PluginConfiguration;
 import com.google.gson.JsonArray;
@@ -12,7 +14,6 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.net.http.HttpClient.Version;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
@@ -23,13 +24,17 @@ import org.slf4j.Logger;
 public class ComposerFallback {
     @Inject
     private Logger _logger;
+    @Inject
+    private PackagistCache _packagistCache;
     private final String _baseUrl;
     private final HttpClient _httpClient;
+    private final HttpClientFactory _httpClientFactory;
 
     @Inject
-    public ComposerFallback(@Nonnull PluginConfiguration configuration) {
+    public ComposerFallback(@Nonnull PluginConfiguration configuration, @Nonnull HttpClientFactory httpClientFactory) {
         this._baseUrl = configuration.getPropertyOrDefault(ConfigurationEntry.PACKAGIST_REPOSITORY);
-        this._httpClient = HttpClient.newBuilder().version(Version.HTTP_1_1).build();
+        this._httpClientFactory = httpClientFactory;
+        this._httpClient = httpClientFactory.getHttpClient();
     }
 
     public String applyFallback(String name) {
@@ -38,11 +43,17 @@ public class ComposerFallback {
         if (arrOfStr.length != 2) {
             return null;
         } else {
+            PackagistCache.FallbackName cachedName = this._packagistCache.getFallbackName(name);
+            if (cachedName != null) {
+                return cachedName.getName().orElse(null);
+            }
+
             try {
-                HttpRequest request = HttpRequest.newBuilder(URI.create(String.format("%s/search.json?q=%s", this._baseUrl, arrOfStr[1]))).GET().build();
+                HttpRequest request = this._httpClientFactory.newRequestBuilder(URI.create(String.format("%s/search.json?q=%s", this._baseUrl, arrOfStr[1]))).GET().build();
                 CompletableFuture responseFuture = this._httpClient.sendAsync(request, BodyHandlers.ofString());
                 HttpResponse response = (HttpResponse) responseFuture.get();
                 if (response.statusCode() == 200) {
+                    String fallbackName = null;
                     JsonElement jElement = JsonParser.parseString((String) response.body());
                     JsonObject jObject = jElement.getAsJsonObject();
                     JsonArray results = jObject.getAsJsonArray("results");
@@ -54,9 +65,15 @@ public class ComposerFallback {
                         String repository = packageData.get("repository").getAsString();
                         if (repository != null && repository.contains(name)) {
                             this._logger.debug("Composer fallback found new name for the artifact.");
-                            return packageData.get("name").getAsString();
+                            fallbackName = packageData.get("name").getAsString();
+                            break;
                         }
                     }
+
+                    this._packagistCache.putFallbackName(name, fallbackName);
+                    if (fallbackName != null) {
+                        return fallbackName;
+                    }
                 }
             } catch (Exception var13) {
                 this._logger.debug("Exception", var13);
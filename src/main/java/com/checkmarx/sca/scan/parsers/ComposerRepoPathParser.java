@@ -0,0 +1,31 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.models.ArtifactId;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Single-pass equivalent of {@code (?<name>.+)/commits/(?<version>.+)/.+}. The version is the commit reference
+ * used to look the package up in packagist.
+ */
+class ComposerRepoPathParser implements RepoPathParser {
+    private static final String SEPARATOR = "/commits/";
+
+    @Override
+    public ArtifactId parse(@Nonnull String path, @Nonnull PackageManager packageManager) {
+        if (!PathScanning.hasLineTerminator(path)) {
+            for (int separator = path.lastIndexOf(SEPARATOR); separator >= 1;
+                 separator = path.lastIndexOf(SEPARATOR, separator - 1)) {
+                int versionStart = separator + SEPARATOR.length();
+                int slash = path.lastIndexOf('/', path.length() - 2);
+                if (slash > versionStart) {
+                    return new ArtifactId(packageManager.packageType(), path.substring(0, separator),
+                            path.substring(versionStart, slash));
+                }
+            }
+        }
+
+        return new ArtifactId(packageManager.packageType(), (String) null, (String) null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.models.ArtifactId;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+
+/**
+ * Single-pass equivalent of {@code (?<packagePath>.+)/(?<version>\d+(?:\.[A-Za-z0-9]+)*).*}: the version starts
+ * after the last "/" that is followed by a digit, the last segment before it is the module and the other
+ * segments are the organisation.
+ */
+class MavenRepoPathParser implements RepoPathParser {
+    @Override
+    public ArtifactId parse(@Nonnull String path, @Nonnull PackageManager packageManager) {
+        if (!PathScanning.hasLineTerminator(path)) {
+            int slash = path.lastIndexOf('/');
+            while (slash >= 1 && !PathScanning.isDigit(path, slash + 1, path.length())) {
+                slash = path.lastIndexOf('/', slash - 1);
+            }
+
+            if (slash >= 1) {
+                String version = path.substring(slash + 1, PathScanning.versionEnd(path, slash + 1, path.length()));
+                String[] packagePathArray = path.substring(0, slash).split("/");
+                String organisation = String.join(".",
+                        (CharSequence[]) Arrays.copyOfRange(packagePathArray, 0, packagePathArray.length - 1));
+                String packageName = packagePathArray[packagePathArray.length - 1];
+                return new ArtifactId(packageManager.packageType(), String.format("%s:%s", organisation, packageName),
+                        version);
+            }
+        }
+
+        return new ArtifactId(packageManager.packageType(), (String) null, (String) null);
+    }
+}
@@ -0,0 +1,35 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.models.ArtifactId;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Single-pass equivalent of {@code (?<name>.+)/-/.+-(?<version>\d+\.\d+\.\d+.*)\.tgz}: the name ends at the
+ * last "/-/" that is followed by a file name whose last "-" starts a three-number version.
+ */
+class NpmRepoPathParser implements RepoPathParser {
+    private static final String SEPARATOR = "/-/";
+    private static final String EXTENSION = ".tgz";
+
+    @Override
+    public ArtifactId parse(@Nonnull String path, @Nonnull PackageManager packageManager) {
+        if (path.endsWith(EXTENSION) && !PathScanning.hasLineTerminator(path)) {
+            int end = path.length() - EXTENSION.length();
+            for (int separator = path.lastIndexOf(SEPARATOR, end - SEPARATOR.length()); separator >= 1;
+                 separator = path.lastIndexOf(SEPARATOR, separator - 1)) {
+                int fileNameStart = separator + SEPARATOR.length();
+                for (int dash = path.lastIndexOf('-', end - 1); dash > fileNameStart;
+                     dash = path.lastIndexOf('-', dash - 1)) {
+                    if (PathScanning.startsWithThreeNumbers(path, dash + 1, end)) {
+                        return new ArtifactId(packageManager.packageType(), path.substring(0, separator),
+                                path.substring(dash + 1, end));
+                    }
+                }
+            }
+        }
+
+        return new ArtifactId(packageManager.packageType(), (String) null, (String) null);
+    }
+}
@@ -0,0 +1,84 @@
+package com.checkmarx.sca.scan.parsers;
+
+final class PathScanning {
+    private PathScanning() {
+    }
+
+    static boolean hasLineTerminator(String path) {
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static boolean isDigit(String path, int index, int end) {
+        if (index >= end) {
+            return false;
+        }
+
+        char c = path.charAt(index);
+        return c >= '0' && c <= '9';
+    }
+
+    static boolean isAlphanumeric(String path, int index, int end) {
+        if (index >= end) {
+            return false;
+        }
+
+        char c = path.charAt(index);
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * Returns the end of the longest {@code \d+(?:\.[A-Za-z0-9]+)*} match starting at {@code start}, or -1.
+     */
+    static int versionEnd(String path, int start, int end) {
+        if (!isDigit(path, start, end)) {
+            return -1;
+        }
+
+        int position = start + 1;
+        while (isDigit(path, position, end)) {
+            position++;
+        }
+
+        while (position < end && path.charAt(position) == '.' && isAlphanumeric(path, position + 1, end)) {
+            position += 2;
+            while (isAlphanumeric(path, position, end)) {
+                position++;
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * Whether {@code \d+\.\d+\.\d+} matches at {@code start} without going past {@code end}.
+     */
+    static boolean startsWithThreeNumbers(String path, int start, int end) {
+        int position = start;
+        for (int number = 0; number < 3; number++) {
+            if (number > 0) {
+                if (position >= end || path.charAt(position) != '.') {
+                    return false;
+                }
+
+                position++;
+            }
+
+            if (!isDigit(path, position, end)) {
+                return false;
+            }
+
+            while (isDigit(path, position, end)) {
+                position++;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.models.ArtifactId;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Single-pass equivalent of {@code .+/(?<name>.+)-(?<version>\d+(?:\.[A-Za-z0-9]+)*).*\.(?:whl|egg|zip|tar\.gz)}:
+ * the version starts after the last "-" that is followed by a digit, and the name starts after the last "/"
+ * before that "-".
+ */
+class PyPiRepoPathParser implements RepoPathParser {
+    private static final String[] EXTENSIONS = {".tar.gz", ".whl", ".egg", ".zip"};
+
+    @Override
+    public ArtifactId parse(@Nonnull String path, @Nonnull PackageManager packageManager) {
+        int end = this.extensionStart(path);
+        if (end > 0 && !PathScanning.hasLineTerminator(path)) {
+            int dash = path.lastIndexOf('-', end - 2);
+            while (dash >= 0 && !PathScanning.isDigit(path, dash + 1, end)) {
+                dash = path.lastIndexOf('-', dash - 1);
+            }
+
+            int slash = dash >= 2 ? path.lastIndexOf('/', dash - 2) : -1;
+            if (slash >= 1) {
+                return new ArtifactId(packageManager.packageType(), path.substring(slash + 1, dash),
+                        path.substring(dash + 1, PathScanning.versionEnd(path, dash + 1, end)));
+            }
+        }
+
+        return new ArtifactId(packageManager.packageType(), (String) null, (String) null);
+    }
+
+    private int extensionStart(String path) {
+        for (String extension : EXTENSIONS) {
+            if (path.endsWith(extension)) {
+                return path.length() - extension.length();
+            }
+        }
+
+        return -1;
+    }
+}
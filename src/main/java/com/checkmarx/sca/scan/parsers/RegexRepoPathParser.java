@@ -0,0 +1,26 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.models.ArtifactId;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+
+class RegexRepoPathParser implements RepoPathParser {
+    private final Pattern _pattern;
+
+    RegexRepoPathParser(@Nonnull String regex) {
+        this._pattern = Pattern.compile(regex);
+    }
+
+    @Override
+    public ArtifactId parse(@Nonnull String path, @Nonnull PackageManager packageManager) {
+        Matcher matcher = this._pattern.matcher(path);
+        if (matcher.matches()) {
+            return new ArtifactId(packageManager.packageType(), matcher.group("name"), matcher.group("version"));
+        } else {
+            return new ArtifactId(packageManager.packageType(), (String) null, (String) null);
+        }
+    }
+}
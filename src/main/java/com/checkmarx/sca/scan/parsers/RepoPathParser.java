@@ -0,0 +1,10 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.models.ArtifactId;
+
+import javax.annotation.Nonnull;
+
+public interface RepoPathParser {
+    ArtifactId parse(@Nonnull String path, @Nonnull PackageManager packageManager);
+}
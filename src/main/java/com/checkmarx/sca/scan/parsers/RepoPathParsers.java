@@ -0,0 +1,52 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.models.ArtifactId;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+
+/**
+ * Path parsers by package manager. npm, PyPI, the Maven-like layouts and Composer use hand-written scanners;
+ * the other package managers use patterns compiled once.
+ */
+public final class RepoPathParsers {
+    private static final Pattern GO_SUFFIX = Pattern.compile("(\\+incompatible)?(\\.mod|\\.info|\\.zip)");
+    private static final Map<PackageManager, RepoPathParser> PARSERS = new EnumMap<>(PackageManager.class);
+
+    static {
+        RepoPathParser mavenParser = new MavenRepoPathParser();
+        RepoPathParser cocoaPodsParser = new RegexRepoPathParser(
+                ".*\\/(?<name>.+)-v?(?<version>\\d(?:\\.[A-Za-z0-9]+)*).*(?:zip|tar\\.gz)");
+        RepoPathParser goParser = new RegexRepoPathParser("(?<name>.*?)\\/@v\\/(?<version>.*)");
+        PARSERS.put(PackageManager.NPM, new NpmRepoPathParser());
+        PARSERS.put(PackageManager.PYPI, new PyPiRepoPathParser());
+        PARSERS.put(PackageManager.IVY, mavenParser);
+        PARSERS.put(PackageManager.SBT, mavenParser);
+        PARSERS.put(PackageManager.COMPOSER, new ComposerRepoPathParser());
+        PARSERS.put(PackageManager.NUGET, new RegexRepoPathParser(
+                "(?<name>.*?)\\.(?<version>(?:\\.?[0-9]+){3,}(?:[-a-z]+)?)\\.nupkg"));
+        PARSERS.put(PackageManager.BOWER, new RegexRepoPathParser(
+                ".*/(?<name>.+)-v?(?<version>\\d(?:\\.[A-Za-z0-9]+)*).*tar\\.gz"));
+        PARSERS.put(PackageManager.COCOAPODS, (path, packageManager) -> {
+            ArtifactId artifactId = cocoaPodsParser.parse(path, packageManager);
+            if (artifactId.isInvalid()) {
+                return artifactId;
+            }
+
+            return new ArtifactId(packageManager.packageType(),
+                    String.format("%s:%s", artifactId.Name, artifactId.Name), artifactId.Version);
+        });
+        PARSERS.put(PackageManager.GO, (path, packageManager) -> goParser
+                .parse(GO_SUFFIX.matcher(path).replaceAll(""), packageManager));
+    }
+
+    private RepoPathParsers() {
+    }
+
+    public static RepoPathParser get(@Nonnull PackageManager packageManager) {
+        return PARSERS.get(packageManager);
+    }
+}
@@ -0,0 +1,132 @@
+package com.checkmarx.sca.scan.versions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maven ordering, close to ComparableVersion: numbers and qualifiers split on '.', '-' and digit/letter
+ * transitions, trailing zeros and release qualifiers are ignored, and the well known qualifiers sort as
+ * alpha &lt; beta &lt; milestone &lt; rc &lt; snapshot &lt; release &lt; sp &lt; anything else.
+ */
+final class MavenVersion extends Version {
+    private static final String[] QUALIFIERS = {"alpha", "beta", "milestone", "rc", "snapshot", "", "sp"};
+
+    private final Object[] _items;
+
+    private MavenVersion(String text, Object[] items) {
+        super(text);
+        this._items = items;
+    }
+
+    static MavenVersion parse(String text) {
+        String version = text.trim().toLowerCase(Locale.ROOT);
+        if (version.isEmpty()) {
+            return null;
+        }
+
+        List<Object> items = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= version.length(); i++) {
+            boolean end = i == version.length();
+            char c = end ? '.' : version.charAt(i);
+            char previous = version.charAt(i - 1);
+            boolean separator = c == '.' || c == '-';
+            boolean transition = !separator && previous != '.' && previous != '-'
+                    && Character.isDigit(c) != Character.isDigit(previous);
+            if (separator || transition) {
+                if (start < i) {
+                    Object item = item(version.substring(start, i));
+                    while (item instanceof String && !items.isEmpty() && Long.valueOf(0L).equals(items.get(items.size() - 1))) {
+                        items.remove(items.size() - 1);
+                    }
+
+                    items.add(item);
+                }
+
+                start = separator ? i + 1 : i;
+            }
+        }
+
+        while (!items.isEmpty() && isNull(items.get(items.size() - 1))) {
+            items.remove(items.size() - 1);
+        }
+
+        return new MavenVersion(text, items.toArray());
+    }
+
+    @Override
+    public int compareTo(Version other) {
+        Object[] otherItems = ((MavenVersion) other)._items;
+        for (int i = 0; i < Math.max(this._items.length, otherItems.length); i++) {
+            Object item = i < this._items.length ? this._items[i] : null;
+            Object otherItem = i < otherItems.length ? otherItems[i] : null;
+            int result = compareItems(item, otherItem);
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return 0;
+    }
+
+    private static Object item(String token) {
+        if (Character.isDigit(token.charAt(0))) {
+            try {
+                return Long.parseLong(token);
+            } catch (NumberFormatException var2) {
+                return Long.MAX_VALUE;
+            }
+        }
+
+        switch (token) {
+            case "a":
+                return "alpha";
+            case "b":
+                return "beta";
+            case "m":
+                return "milestone";
+            case "cr":
+                return "rc";
+            case "ga":
+            case "final":
+            case "release":
+                return "";
+            default:
+                return token;
+        }
+    }
+
+    private static boolean isNull(Object item) {
+        return Long.valueOf(0L).equals(item) || "".equals(item);
+    }
+
+    private static int compareItems(Object item, Object otherItem) {
+        if (item == null) {
+            return otherItem == null ? 0 : -compareItems(otherItem, null);
+        } else if (item instanceof Long) {
+            if (otherItem == null) {
+                return Long.compare((Long) item, 0L);
+            }
+
+            return otherItem instanceof Long ? Long.compare((Long) item, (Long) otherItem) : 1;
+        } else if (otherItem instanceof Long) {
+            return -1;
+        } else {
+            String qualifier = (String) item;
+            String otherQualifier = otherItem == null ? "" : (String) otherItem;
+            int result = Integer.compare(rank(qualifier), rank(otherQualifier));
+            return result != 0 ? result : qualifier.compareTo(otherQualifier);
+        }
+    }
+
+    private static int rank(String qualifier) {
+        for (int i = 0; i < QUALIFIERS.length; i++) {
+            if (QUALIFIERS[i].equals(qualifier)) {
+                return i;
+            }
+        }
+
+        return QUALIFIERS.length;
+    }
+}
@@ -0,0 +1,101 @@
+package com.checkmarx.sca.scan.versions;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PEP 440 ordering: epoch, release (trailing zeros ignored), then .devN &lt; aN &lt; bN &lt; rcN &lt; release &lt;
+ * .postN. Local version labels are ignored.
+ */
+final class Pep440Version extends Version {
+    private static final Pattern PATTERN = Pattern.compile(
+            "v?(?:(?<epoch>[0-9]+)!)?(?<release>[0-9]+(?:\\.[0-9]+)*)"
+                    + "(?:[-_.]?(?<preLabel>alpha|a|beta|b|preview|pre|c|rc)[-_.]?(?<pre>[0-9]+)?)?"
+                    + "(?:-(?<implicitPost>[0-9]+)|[-_.]?(?:post|rev|r)[-_.]?(?<post>[0-9]+)?(?<postLabel>))?"
+                    + "(?:[-_.]?(?<devLabel>dev)[-_.]?(?<dev>[0-9]+)?)?"
+                    + "(?:\\+[a-z0-9]+(?:[-_.][a-z0-9]+)*)?",
+            Pattern.CASE_INSENSITIVE);
+
+    private final long _epoch;
+    private final long[] _release;
+    private final long[] _suffix;
+
+    private Pep440Version(String text, long epoch, long[] release, long[] suffix) {
+        super(text);
+        this._epoch = epoch;
+        this._release = release;
+        this._suffix = suffix;
+    }
+
+    static Pep440Version parse(String text) {
+        Matcher matcher = PATTERN.matcher(text.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        try {
+            long epoch = number(matcher.group("epoch"), 0L);
+            long[] release = Arrays.stream(matcher.group("release").split("\\.")).mapToLong(Long::parseLong).toArray();
+            int length = release.length;
+            while (length > 1 && release[length - 1] == 0L) {
+                length--;
+            }
+
+            String preLabel = matcher.group("preLabel");
+            boolean hasPost = matcher.group("implicitPost") != null || matcher.group("postLabel") != null;
+            boolean hasDev = matcher.group("devLabel") != null;
+            long prePhase;
+            long preNumber = 0L;
+            if (preLabel != null) {
+                prePhase = phase(preLabel.toLowerCase());
+                preNumber = number(matcher.group("pre"), 0L);
+            } else if (hasDev && !hasPost) {
+                prePhase = -1L;
+            } else {
+                prePhase = 3L;
+            }
+
+            long post = hasPost ? number(matcher.group("implicitPost") != null ? matcher.group("implicitPost")
+                    : matcher.group("post"), 0L) : -1L;
+            long dev = hasDev ? number(matcher.group("dev"), 0L) : Long.MAX_VALUE;
+            return new Pep440Version(text, epoch, Arrays.copyOf(release, length),
+                    new long[]{prePhase, preNumber, post, dev});
+        } catch (NumberFormatException var12) {
+            return null;
+        }
+    }
+
+    @Override
+    public int compareTo(Version other) {
+        Pep440Version version = (Pep440Version) other;
+        int result = Long.compare(this._epoch, version._epoch);
+        for (int i = 0; result == 0 && i < Math.max(this._release.length, version._release.length); i++) {
+            result = Long.compare(i < this._release.length ? this._release[i] : 0L,
+                    i < version._release.length ? version._release[i] : 0L);
+        }
+
+        for (int i = 0; result == 0 && i < this._suffix.length; i++) {
+            result = Long.compare(this._suffix[i], version._suffix[i]);
+        }
+
+        return result;
+    }
+
+    private static long phase(String label) {
+        switch (label) {
+            case "a":
+            case "alpha":
+                return 0L;
+            case "b":
+            case "beta":
+                return 1L;
+            default:
+                return 2L;
+        }
+    }
+
+    private static long number(String value, long defaultValue) {
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+}
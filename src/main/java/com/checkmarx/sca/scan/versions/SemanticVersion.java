@@ -0,0 +1,96 @@
+package com.checkmarx.sca.scan.versions;
+
+/**
+ * npm semver ordering: major.minor.patch, then pre-release identifiers (a version without them is higher).
+ * Build metadata is ignored.
+ */
+final class SemanticVersion extends Version {
+    private final long[] _core;
+    private final String[] _preRelease;
+
+    private SemanticVersion(String text, long[] core, String[] preRelease) {
+        super(text);
+        this._core = core;
+        this._preRelease = preRelease;
+    }
+
+    static SemanticVersion parse(String text) {
+        String version = text.trim();
+        if (version.startsWith("=")) {
+            version = version.substring(1).trim();
+        }
+
+        if (version.startsWith("v") || version.startsWith("V")) {
+            version = version.substring(1);
+        }
+
+        int build = version.indexOf('+');
+        if (build >= 0) {
+            version = version.substring(0, build);
+        }
+
+        int dash = version.indexOf('-');
+        String core = dash >= 0 ? version.substring(0, dash) : version;
+        String[] parts = core.split("\\.", -1);
+        if (parts.length > 3) {
+            return null;
+        }
+
+        long[] numbers = new long[3];
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].isEmpty() || !parts[i].chars().allMatch(Character::isDigit)) {
+                return null;
+            }
+
+            try {
+                numbers[i] = Long.parseLong(parts[i]);
+            } catch (NumberFormatException var8) {
+                return null;
+            }
+        }
+
+        String[] preRelease = dash >= 0 ? version.substring(dash + 1).split("\\.", -1) : new String[0];
+        return new SemanticVersion(text, numbers, preRelease);
+    }
+
+    @Override
+    public int compareTo(Version other) {
+        SemanticVersion version = (SemanticVersion) other;
+        for (int i = 0; i < 3; i++) {
+            int result = Long.compare(this._core[i], version._core[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        if (this._preRelease.length == 0 || version._preRelease.length == 0) {
+            return Boolean.compare(this._preRelease.length == 0, version._preRelease.length == 0);
+        }
+
+        for (int i = 0; i < Math.min(this._preRelease.length, version._preRelease.length); i++) {
+            int result = compareIdentifiers(this._preRelease[i], version._preRelease[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return Integer.compare(this._preRelease.length, version._preRelease.length);
+    }
+
+    private static int compareIdentifiers(String identifier, String otherIdentifier) {
+        boolean numeric = isNumeric(identifier);
+        boolean otherNumeric = isNumeric(otherIdentifier);
+        if (numeric && otherNumeric) {
+            int result = Integer.compare(identifier.length(), otherIdentifier.length());
+            return result != 0 ? result : identifier.compareTo(otherIdentifier);
+        } else if (numeric != otherNumeric) {
+            return numeric ? -1 : 1;
+        } else {
+            return identifier.compareTo(otherIdentifier);
+        }
+    }
+
+    private static boolean isNumeric(String identifier) {
+        return !identifier.isEmpty() && identifier.chars().allMatch(Character::isDigit);
+    }
+}
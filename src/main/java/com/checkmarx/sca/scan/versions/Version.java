@@ -0,0 +1,17 @@
+package com.checkmarx.sca.scan.versions;
+
+/**
+ * A version parsed by a {@link VersionScheme}. Versions are only comparable with versions of the same scheme.
+ */
+public abstract class Version implements Comparable<Version> {
+    private final String _text;
+
+    protected Version(String text) {
+        this._text = text;
+    }
+
+    @Override
+    public String toString() {
+        return this._text;
+    }
+}
@@ -0,0 +1,379 @@
+package com.checkmarx.sca.scan.versions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * A set of versions compiled into a union of intervals. Accepted syntax:
+ * <ul>
+ *     <li>Maven ranges: {@code [1.0,2.0)}, {@code (,1.0],[1.2,)}, {@code [1.5]}</li>
+ *     <li>npm ranges: {@code <2.17.1}, {@code >=1.0.0 <2.0.0}, {@code ^1.2.3}, {@code ~1.2}, {@code 1.x},
+ *     {@code 1.0.0 - 2.0.0}, alternatives separated by {@code ||}</li>
+ *     <li>PEP 440 specifiers: {@code >=1.0,<2.0}, {@code ~=1.4.2}, {@code ==1.4.*}, {@code !=1.5}</li>
+ * </ul>
+ * Versions are ordered by the {@link VersionScheme} of the package manager.
+ */
+public final class VersionRange {
+    private static final Pattern HYPHEN_RANGE = Pattern.compile("\\s*([^\\s,]+)\\s+-\\s+([^\\s,]+)\\s*");
+    private static final Pattern COMPARATOR = Pattern.compile(
+            "[\\s,]*(<=|>=|<|>|===|==|!=|~=|=|\\^|~)?\\s*([^\\s,<>=!~^|]+)[\\s,]*");
+
+    private final List<Interval> _intervals;
+
+    private VersionRange(List<Interval> intervals) {
+        this._intervals = Collections.unmodifiableList(intervals);
+    }
+
+    public List<Interval> getIntervals() {
+        return this._intervals;
+    }
+
+    public boolean contains(@Nonnull Version version) {
+        return this._intervals.stream().anyMatch((interval) -> interval.contains(version));
+    }
+
+    /**
+     * Whether the version column of a package list holds a range rather than an exact version or "*".
+     */
+    public static boolean isRange(String version) {
+        if (version == null || version.trim().equals("*")) {
+            return false;
+        }
+
+        String trimmed = version.trim();
+        if (trimmed.startsWith("[") || trimmed.startsWith("(") || trimmed.contains(" - ")) {
+            return true;
+        }
+
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if ("<>=~^|".indexOf(c) >= 0) {
+                return true;
+            }
+
+            // "!=" excludes a version, a lone "!" separates a PEP 440 epoch ("1!2.0")
+            if (c == '!' && i + 1 < trimmed.length() && trimmed.charAt(i + 1) == '=') {
+                return true;
+            }
+        }
+
+        return Arrays.stream(trimmed.split("\\.")).anyMatch(VersionRange::isWildcard);
+    }
+
+    public static VersionRange parse(@Nonnull String range, @Nonnull VersionScheme scheme) {
+        String trimmed = range.trim();
+        List<Interval> intervals = trimmed.startsWith("[") || trimmed.startsWith("(")
+                ? parseMavenRange(trimmed, scheme) : new ArrayList<>();
+        if (intervals.isEmpty()) {
+            for (String alternative : trimmed.split("\\|\\|")) {
+                intervals.addAll(parseComparators(alternative, scheme));
+            }
+        }
+
+        return new VersionRange(intervals);
+    }
+
+    private static List<Interval> parseMavenRange(String range, VersionScheme scheme) {
+        List<Interval> intervals = new ArrayList<>();
+        int position = 0;
+        while (position < range.length()) {
+            char open = range.charAt(position);
+            int close = indexOfAny(range, "])", position + 1);
+            if ((open != '[' && open != '(') || close < 0) {
+                throw invalid(range);
+            }
+
+            String content = range.substring(position + 1, close);
+            boolean lowerInclusive = open == '[';
+            boolean upperInclusive = range.charAt(close) == ']';
+            int comma = content.indexOf(',');
+            if (comma < 0) {
+                if (!lowerInclusive || !upperInclusive) {
+                    throw invalid(range);
+                }
+
+                Version version = version(content, scheme, range);
+                intervals.add(new Interval(version, true, version, true));
+            } else {
+                String lower = content.substring(0, comma).trim();
+                String upper = content.substring(comma + 1).trim();
+                intervals.add(new Interval(lower.isEmpty() ? null : version(lower, scheme, range), lowerInclusive,
+                        upper.isEmpty() ? null : version(upper, scheme, range), upperInclusive));
+            }
+
+            position = close + 1;
+            while (position < range.length() && (range.charAt(position) == ',' || range.charAt(position) == ' ')) {
+                position++;
+            }
+        }
+
+        return intervals;
+    }
+
+    private static List<Interval> parseComparators(String alternative, VersionScheme scheme) {
+        Matcher hyphen = HYPHEN_RANGE.matcher(alternative);
+        if (hyphen.matches()) {
+            Interval lower = bounds(hyphen.group(1), scheme, alternative);
+            Interval upper = bounds(hyphen.group(2), scheme, alternative);
+            boolean partialUpper = upper.upper != null && upper.lower != upper.upper;
+            return List.of(new Interval(lower.lower, true, partialUpper ? upper.upper : upper.lower, !partialUpper));
+        }
+
+        List<Interval> intervals = List.of(new Interval(null, false, null, false));
+        Matcher matcher = COMPARATOR.matcher(alternative);
+        int position = 0;
+        while (position < alternative.length()) {
+            if (!matcher.find(position) || matcher.start() != position) {
+                if (alternative.substring(position).trim().isEmpty()) {
+                    break;
+                }
+
+                throw invalid(alternative);
+            }
+
+            List<Interval> comparator = comparator(matcher.group(1), matcher.group(2), scheme, alternative);
+            List<Interval> intersection = new ArrayList<>();
+            for (Interval interval : intervals) {
+                for (Interval other : comparator) {
+                    Interval overlap = interval.intersect(other);
+                    if (overlap != null) {
+                        intersection.add(overlap);
+                    }
+                }
+            }
+
+            intervals = intersection;
+            position = matcher.end();
+        }
+
+        return intervals;
+    }
+
+    private static List<Interval> comparator(String operator, String text, VersionScheme scheme, String range) {
+        Interval bounds = bounds(text, scheme, range);
+        boolean exact = bounds.lower != null && bounds.lower == bounds.upper;
+        switch (operator == null ? "=" : operator) {
+            case "<":
+                return List.of(new Interval(null, false, bounds.lower, false));
+            case "<=":
+                return List.of(new Interval(null, false, bounds.upper, exact));
+            case ">":
+                return List.of(exact ? new Interval(bounds.lower, false, null, false)
+                        : new Interval(bounds.upper, true, null, false));
+            case ">=":
+                return List.of(new Interval(bounds.lower, true, null, false));
+            case "!=":
+                List<Interval> complement = new ArrayList<>(2);
+                if (bounds.lower != null) {
+                    complement.add(new Interval(null, false, bounds.lower, false));
+                }
+
+                if (bounds.upper != null) {
+                    complement.add(new Interval(bounds.upper, !exact, null, false));
+                }
+
+                return complement;
+            case "~":
+                return List.of(bump(text, scheme, range, release(text).length >= 2 ? 1 : 0));
+            case "^":
+                long[] release = release(text);
+                int index = 0;
+                while (index < release.length - 1 && release[index] == 0L) {
+                    index++;
+                }
+
+                return List.of(bump(text, scheme, range, index));
+            case "~=":
+                if (release(text).length < 2) {
+                    throw invalid(range);
+                }
+
+                return List.of(bump(text, scheme, range, release(text).length - 2));
+            default:
+                return List.of(bounds);
+        }
+    }
+
+    /**
+     * The interval of a single version: [v, v] for a full version, [prefix, next prefix) for a wildcard
+     * ({@code 1.2.x}, {@code 1.4.*}) or, for npm, a partial version ({@code 1.2}).
+     */
+    private static Interval bounds(String text, VersionScheme scheme, String range) {
+        String[] components = stripPrefix(text).split("\\.", -1);
+        int wildcard = 0;
+        while (wildcard < components.length && !isWildcard(components[wildcard])) {
+            wildcard++;
+        }
+
+        boolean partial = scheme == VersionScheme.SEMVER && wildcard == components.length && components.length < 3
+                && components[components.length - 1].chars().allMatch(Character::isDigit);
+        if (wildcard == components.length && !partial) {
+            Version version = version(text, scheme, range);
+            return new Interval(version, true, version, true);
+        } else if (wildcard == 0) {
+            return new Interval(null, false, null, false);
+        }
+
+        String[] prefix = Arrays.copyOf(components, wildcard);
+        String lower = scheme == VersionScheme.SEMVER ? pad(prefix) : String.join(".", prefix) + scheme.lowestSuffix();
+        return new Interval(version(lower, scheme, range), true, upperOf(prefix, prefix.length - 1, scheme, range),
+                false);
+    }
+
+    private static Interval bump(String text, VersionScheme scheme, String range, int index) {
+        long[] release = release(text);
+        if (release.length == 0) {
+            throw invalid(range);
+        }
+
+        Interval bounds = bounds(text, scheme, range);
+        String[] prefix = Arrays.stream(release).mapToObj(Long::toString).toArray(String[]::new);
+        return new Interval(bounds.lower, bounds.lowerInclusive, upperOf(prefix, Math.min(index, prefix.length - 1),
+                scheme, range), false);
+    }
+
+    private static Version upperOf(String[] prefix, int index, VersionScheme scheme, String range) {
+        String[] upper = Arrays.copyOf(prefix, index + 1);
+        try {
+            upper[index] = Long.toString(Long.parseLong(upper[index]) + 1);
+        } catch (NumberFormatException var6) {
+            throw invalid(range);
+        }
+
+        String text = scheme == VersionScheme.SEMVER ? pad(upper) : String.join(".", upper);
+        return version(text + scheme.lowestSuffix(), scheme, range);
+    }
+
+    private static long[] release(String text) {
+        String version = stripPrefix(text);
+        int end = 0;
+        while (end < version.length() && (Character.isDigit(version.charAt(end)) || version.charAt(end) == '.')) {
+            end++;
+        }
+
+        return Arrays.stream(version.substring(0, end).split("\\."))
+                .filter((component) -> !component.isEmpty())
+                .mapToLong(Long::parseLong)
+                .toArray();
+    }
+
+    private static String pad(String[] components) {
+        List<String> padded = new ArrayList<>(Arrays.asList(components));
+        while (padded.size() < 3) {
+            padded.add("0");
+        }
+
+        return padded.stream().collect(Collectors.joining("."));
+    }
+
+    private static String stripPrefix(String text) {
+        String version = text.trim();
+        return version.startsWith("v") || version.startsWith("V") ? version.substring(1) : version;
+    }
+
+    private static boolean isWildcard(String component) {
+        return component.equals("*") || component.equalsIgnoreCase("x");
+    }
+
+    private static Version version(String text, VersionScheme scheme, String range) {
+        Version version = scheme.parse(text);
+        if (version == null) {
+            throw invalid(range);
+        }
+
+        return version;
+    }
+
+    private static int indexOfAny(String text, String characters, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (characters.indexOf(text.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static IllegalArgumentException invalid(String range) {
+        return new IllegalArgumentException(String.format("Invalid version range: %s", range));
+    }
+
+    public static final class Interval {
+        private final Version lower;
+        private final boolean lowerInclusive;
+        private final Version upper;
+        private final boolean upperInclusive;
+
+        private Interval(Version lower, boolean lowerInclusive, Version upper, boolean upperInclusive) {
+            this.lower = lower;
+            this.lowerInclusive = lower != null && lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upper != null && upperInclusive;
+        }
+
+        public Version getLower() {
+            return this.lower;
+        }
+
+        public boolean isLowerInclusive() {
+            return this.lowerInclusive;
+        }
+
+        public Version getUpper() {
+            return this.upper;
+        }
+
+        public boolean isUpperInclusive() {
+            return this.upperInclusive;
+        }
+
+        public boolean contains(@Nonnull Version version) {
+            if (this.lower != null) {
+                int result = version.compareTo(this.lower);
+                if (result < 0 || (result == 0 && !this.lowerInclusive)) {
+                    return false;
+                }
+            }
+
+            if (this.upper != null) {
+                int result = version.compareTo(this.upper);
+                return result < 0 || (result == 0 && this.upperInclusive);
+            }
+
+            return true;
+        }
+
+        private Interval intersect(Interval other) {
+            Version lower = this.lower;
+            boolean lowerInclusive = this.lowerInclusive;
+            if (other.lower != null && (lower == null || other.lower.compareTo(lower) > 0
+                    || (other.lower.compareTo(lower) == 0 && !other.lowerInclusive))) {
+                lower = other.lower;
+                lowerInclusive = other.lowerInclusive;
+            }
+
+            Version upper = this.upper;
+            boolean upperInclusive = this.upperInclusive;
+            if (other.upper != null && (upper == null || other.upper.compareTo(upper) < 0
+                    || (other.upper.compareTo(upper) == 0 && !other.upperInclusive))) {
+                upper = other.upper;
+                upperInclusive = other.upperInclusive;
+            }
+
+            if (lower != null && upper != null) {
+                int result = lower.compareTo(upper);
+                if (result > 0 || (result == 0 && (!lowerInclusive || !upperInclusive))) {
+                    return null;
+                }
+            }
+
+            return new Interval(lower, lowerInclusive, upper, upperInclusive);
+        }
+    }
+}
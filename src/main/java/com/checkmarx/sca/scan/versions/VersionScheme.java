@@ -0,0 +1,46 @@
+package com.checkmarx.sca.scan.versions;
+
+import com.checkmarx.sca.PackageManager;
+
+import java.util.function.Function;
+
+public enum VersionScheme {
+    MAVEN(MavenVersion::parse, ""),
+    SEMVER(SemanticVersion::parse, "-0"),
+    PEP440(Pep440Version::parse, ".dev0");
+
+    private final Function<String, Version> _parser;
+    private final String _lowestSuffix;
+
+    private VersionScheme(Function<String, Version> parser, String lowestSuffix) {
+        this._parser = parser;
+        this._lowestSuffix = lowestSuffix;
+    }
+
+    /**
+     * Returns the parsed version or null when the text is not a version of this scheme.
+     */
+    public Version parse(String text) {
+        return text == null ? null : this._parser.apply(text);
+    }
+
+    /**
+     * Suffix that turns a release into the lowest version of that release, used for exclusive upper bounds of
+     * wildcard, tilde and caret ranges so that they also exclude the pre-releases of the next release.
+     */
+    String lowestSuffix() {
+        return this._lowestSuffix;
+    }
+
+    public static VersionScheme forPackageManager(String packageManager) {
+        switch (PackageManager.GetPackageType(packageManager)) {
+            case NPM:
+            case BOWER:
+                return SEMVER;
+            case PYPI:
+                return PEP440;
+            default:
+                return MAVEN;
+        }
+    }
+}
@@ -1,22 +1,21 @@
 package com.checkmarx.sca.suggestion;
 
-import com.checkmarx.sca.PackageManager;
 import com.checkmarx.sca.communication.ScaHttpClient;
-import com.checkmarx.sca.communication.exceptions.UnexpectedResponseCodeException;
 import com.checkmarx.sca.models.ArtifactId;
-import com.checkmarx.sca.scan.ArtifactIdBuilder;
+import com.checkmarx.sca.scan.ArtifactIdResolver;
 import com.google.inject.Inject;
 
 import java.util.ArrayList;
-import java.util.concurrent.ExecutionException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 
 import org.artifactory.exception.CancelException;
-import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.md.Properties;
 import org.artifactory.repo.RepoPath;
 import org.artifactory.repo.Repositories;
-import org.artifactory.repo.RepositoryConfiguration;
 import org.slf4j.Logger;
 
 public class PrivatePackageSuggestionHandler {
@@ -26,7 +25,7 @@ public class PrivatePackageSuggestionHandler {
     @Inject
     private ScaHttpClient _scaHttpClient;
     @Inject
-    private ArtifactIdBuilder _artifactIdBuilder;
+    private ArtifactIdResolver _artifactIdResolver;
     private final Repositories _repositories;
     private final boolean _noAuthConfiguration;
 
@@ -37,47 +36,68 @@ public class PrivatePackageSuggestionHandler {
     }
 
     public void suggestPrivatePackage(@Nonnull RepoPath repoPath, @Nonnull ArrayList nonVirtualRepoPaths) throws CancelException {
-        if (!this._noAuthConfiguration) {
-            boolean isSuggested = this._repositories.hasProperty(repoPath, "CxSCA.PrivatePackageSuggested");
-            if (!isSuggested) {
-                if (nonVirtualRepoPaths.contains(repoPath)) {
-                    String repositoryKey = repoPath.getRepoKey();
-                    RepositoryConfiguration repoConfiguration = this._repositories.getRepositoryConfiguration(repositoryKey);
-
-                    try {
-                        String packageType = repoConfiguration.getPackageType();
-                        PackageManager packageManager = PackageManager.GetPackageType(packageType);
-                        FileLayoutInfo fileLayoutInfo = this._repositories.getLayoutInfo(repoPath);
-                        ArtifactId artifactId = this._artifactIdBuilder.getArtifactId(fileLayoutInfo, repoPath, packageManager);
-                        if (artifactId.isInvalid()) {
-                            this._logger.error(String.format("The artifact id was not built correctly. PackageType: %s, Name: %s, Version: %s", artifactId.PackageType, artifactId.Name, artifactId.Version));
-                            return;
-                        }
-
-                        Boolean succeeded = this.performSuggestion(artifactId);
-                        if (succeeded && !this.markResourceAsSuggested(repoPath)) {
-                            this._logger.info("Failed to mark the package as suggested.");
-                        }
-                    } catch (Exception var11) {
-                        this._logger.error(String.format("Exception Message: %s. Artifact Name: %s.", var11.getMessage(), repoPath.getName()), var11);
-                    }
+        this.markIfSuggested(repoPath, this.startSuggestion(repoPath, nonVirtualRepoPaths).join());
+    }
 
-                }
-            }
+    /**
+     * Sends the suggestions of all the given artifacts concurrently, then marks the suggested ones on the calling
+     * thread.
+     */
+    public void suggestPrivatePackages(@Nonnull List<RepoPath> repoPaths, @Nonnull ArrayList nonVirtualRepoPaths) {
+        Map<RepoPath, CompletableFuture<Boolean>> suggestions = new LinkedHashMap<>();
+        for (RepoPath repoPath : repoPaths) {
+            suggestions.put(repoPath, this.startSuggestion(repoPath, nonVirtualRepoPaths));
+        }
+
+        suggestions.forEach((repoPath, suggestion) -> this.markIfSuggested(repoPath, suggestion.join()));
+    }
+
+    private CompletableFuture<Boolean> startSuggestion(@Nonnull RepoPath repoPath,
+                                                       @Nonnull ArrayList nonVirtualRepoPaths) {
+        if (this._noAuthConfiguration || !nonVirtualRepoPaths.contains(repoPath)
+                || this._repositories.hasProperty(repoPath, "CxSCA.PrivatePackageSuggested")) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        ArtifactId artifactId;
+        try {
+            artifactId = this._artifactIdResolver.resolve(repoPath).getArtifactId();
+        } catch (Exception var8) {
+            this._logger.error(String.format("Exception Message: %s. Artifact Name: %s.", var8.getMessage(), repoPath.getName()), var8);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        if (artifactId.isInvalid()) {
+            this._logger.error(String.format("The artifact id was not built correctly. PackageType: %s, Name: %s, Version: %s", artifactId.PackageType, artifactId.Name, artifactId.Version));
+            return CompletableFuture.completedFuture(false);
         }
+
+        return this.performSuggestion(artifactId);
     }
 
-    private Boolean performSuggestion(ArtifactId artifactId) {
+    private void markIfSuggested(@Nonnull RepoPath repoPath, boolean succeeded) {
         try {
-            Boolean output = this._scaHttpClient.suggestPrivatePackage(artifactId);
-            this._logger.info("The package was suggested as potential private.");
-            return output;
-        } catch (UnexpectedResponseCodeException | InterruptedException | ExecutionException var3) {
-            this._logger.warn("Failed to publish private package suggestion", var3);
-            return false;
+            if (succeeded && !this.markResourceAsSuggested(repoPath)) {
+                this._logger.info("Failed to mark the package as suggested.");
+            }
+        } catch (Exception var4) {
+            this._logger.error(String.format("Exception Message: %s. Artifact Name: %s.", var4.getMessage(), repoPath.getName()), var4);
         }
     }
 
+    private CompletableFuture<Boolean> performSuggestion(ArtifactId artifactId) {
+        return this._scaHttpClient.suggestPrivatePackageAsync(artifactId)
+                .handle((output, throwable) -> {
+                    if (throwable != null) {
+                        this._logger.warn("Failed to publish private package suggestion", throwable);
+                        return false;
+                    }
+
+                    this._logger.info("The package was suggested as potential private.");
+                    return Boolean.TRUE.equals(output);
+                });
+    }
+
     private boolean markResourceAsSuggested(RepoPath repoPath) {
         Properties props = this._repositories.setProperty(repoPath, "CxSCA.PrivatePackageSuggested", new String[]{"true"});
         return props.containsKey("CxSCA.PrivatePackageSuggested");
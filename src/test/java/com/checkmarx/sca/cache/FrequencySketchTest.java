@@ -0,0 +1,40 @@
+package com.checkmarx.sca.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FrequencySketchTest {
+
+    @Test
+    public void countsUpToFifteen() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        assertEquals(0, sketch.frequency("item"));
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("item");
+        }
+
+        assertEquals(5, sketch.frequency("item"));
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("item");
+        }
+
+        assertEquals(15, sketch.frequency("item"));
+    }
+
+    @Test
+    public void halvesTheCountersAfterTheSampleSize() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("hot");
+        }
+
+        for (int i = 0; i < 160; i++) {
+            sketch.increment(i);
+        }
+
+        int frequency = sketch.frequency("hot");
+        assertTrue(frequency >= 4 && frequency < 8, String.format("frequency %d after the reset", frequency));
+    }
+}
@@ -0,0 +1,62 @@
+package com.checkmarx.sca.cache;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.ArtifactId;
+import com.checkmarx.sca.models.ScanResult;
+
+import java.io.File;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NegativeCacheTest {
+    private static final ArtifactId MISSING = new ArtifactId("npm", "private-package", "1.0.0");
+
+    @TempDir
+    File _directory;
+
+    @Test
+    public void aRecordedMissSuppressesTheLookupUntilItExpires() {
+        PluginConfiguration configuration = newConfiguration();
+        ScanResultStore store = new ScanResultStore(this._directory, configuration);
+        NegativeCache cache = new NegativeCache(store, configuration);
+        assertFalse(cache.isKnownMissing(MISSING));
+
+        cache.recordMissing(MISSING);
+        assertTrue(cache.isKnownMissing(MISSING));
+        assertTrue(cache.isKnownMissing(MISSING));
+        assertEquals(2L, cache.suppressedCalls());
+        assertEquals(1, cache.size());
+
+        store.putNotFound(MISSING, System.currentTimeMillis() - 30000L);
+        assertFalse(cache.isKnownMissing(MISSING));
+        assertEquals(2L, cache.suppressedCalls());
+    }
+
+    @Test
+    public void aScanResultClearsTheMiss() {
+        PluginConfiguration configuration = newConfiguration();
+        ScanResultStore store = new ScanResultStore(this._directory, configuration);
+        NegativeCache cache = new NegativeCache(store, configuration);
+        cache.recordMissing(MISSING);
+
+        store.put(MISSING, new ScanResult(0, 0, 0, 0, 0.0, "None", List.of(), System.currentTimeMillis()));
+
+        assertFalse(cache.isKnownMissing(MISSING));
+        assertEquals(0, cache.size());
+    }
+
+    private static PluginConfiguration newConfiguration() {
+        Properties properties = new Properties();
+        properties.setProperty("sca.store.enabled", "false");
+        properties.setProperty("sca.cache.not-found.expiration-time", "30");
+        return new PluginConfiguration(properties, LoggerFactory.getLogger(NegativeCacheTest.class));
+    }
+}
@@ -0,0 +1,208 @@
+package com.checkmarx.sca.cache;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.ArtifactId;
+import com.checkmarx.sca.models.ScanResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScanResultStoreTest {
+    private static final String STORE_FILE = "cxsca-scan-results.db";
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final ArtifactId LODASH = new ArtifactId("npm", "lodash", "4.17.21");
+    private static final ArtifactId EXPRESS = new ArtifactId("npm", "express", "4.18.2");
+    private static final ArtifactId MISSING = new ArtifactId("npm", "private-package", "1.0.0");
+
+    @TempDir
+    File _directory;
+
+    @Test
+    public void recordsSurviveAReload() {
+        long now = System.currentTimeMillis();
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            store.put(LODASH, scanResult(3, now));
+            store.put(EXPRESS, scanResult(0, now));
+            store.putNotFound(MISSING, now);
+        }
+
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            assertEquals(2, store.size());
+            assertEquals(3, store.get(LODASH).getTotalRisks());
+            assertEquals(List.of("MIT"), store.get(EXPRESS).getLicenses());
+            assertEquals(Long.valueOf(now), store.getNotFound(MISSING));
+        }
+    }
+
+    @Test
+    public void aLaterRecordReplacesAnEarlierOne() {
+        long now = System.currentTimeMillis();
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            store.putNotFound(LODASH, now);
+            store.put(LODASH, scanResult(1, now));
+            store.put(LODASH, scanResult(2, now));
+        }
+
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            assertEquals(2, store.get(LODASH).getTotalRisks());
+            assertNull(store.getNotFound(LODASH));
+        }
+    }
+
+    @Test
+    public void aTornRecordIsDroppedOnRecovery() throws IOException {
+        long now = System.currentTimeMillis();
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            store.put(LODASH, scanResult(1, now));
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(new File(this._directory, STORE_FILE), "rw")) {
+            int next = FILE_HEADER_SIZE + align(8 + readInt(file, FILE_HEADER_SIZE));
+            file.seek(next);
+            file.writeInt(Integer.MAX_VALUE - 64);
+        }
+
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            assertEquals(1, store.size());
+            store.put(EXPRESS, scanResult(0, now));
+        }
+
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            assertEquals(2, store.size());
+            assertNotNull(store.get(EXPRESS));
+        }
+    }
+
+    @Test
+    public void aRecordWithAChecksumMismatchEndsTheLog() throws IOException {
+        long now = System.currentTimeMillis();
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            store.put(LODASH, scanResult(1, now));
+            store.put(EXPRESS, scanResult(0, now));
+            store.putNotFound(MISSING, now);
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(new File(this._directory, STORE_FILE), "rw")) {
+            int second = FILE_HEADER_SIZE + align(8 + readInt(file, FILE_HEADER_SIZE));
+            file.seek(second + 12);
+            int value = file.read();
+            file.seek(second + 12);
+            file.write(value ^ 0xff);
+        }
+
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            assertNotNull(store.get(LODASH));
+            assertNull(store.get(EXPRESS));
+            assertNull(store.getNotFound(MISSING));
+        }
+    }
+
+    @Test
+    public void compactionKeepsTheLatestRecords() {
+        long now = System.currentTimeMillis();
+        File file = new File(this._directory, STORE_FILE);
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            for (int i = 0; i < 100; i++) {
+                store.put(LODASH, scanResult(i, now));
+            }
+
+            store.putNotFound(MISSING, now);
+            store.compact();
+            assertEquals(99, store.get(LODASH).getTotalRisks());
+
+            store.put(EXPRESS, scanResult(5, now));
+            store.put(LODASH, scanResult(100, now));
+            assertEquals(100, store.get(LODASH).getTotalRisks());
+        }
+
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            assertEquals(100, store.get(LODASH).getTotalRisks());
+            assertEquals(5, store.get(EXPRESS).getTotalRisks());
+            assertEquals(Long.valueOf(now), store.getNotFound(MISSING));
+        }
+
+        assertTrue(file.exists());
+        assertFalse(new File(this._directory, STORE_FILE + ".compact").exists());
+    }
+
+    @Test
+    public void aSecondStoreFallsBackToMemory() {
+        long now = System.currentTimeMillis();
+        try (ScanResultStore owner = this.newStore(); ScanResultStore other = this.newStore()) {
+            owner.load();
+            other.load();
+            other.put(EXPRESS, scanResult(0, now));
+            assertNotNull(other.get(EXPRESS));
+            owner.put(LODASH, scanResult(1, now));
+        }
+
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            assertNotNull(store.get(LODASH));
+            assertNull(store.get(EXPRESS));
+        }
+    }
+
+    @Test
+    public void removeExpiredDropsOldResultsAndNotFoundAnswers() {
+        long now = System.currentTimeMillis();
+        try (ScanResultStore store = this.newStore()) {
+            store.load();
+            store.put(LODASH, scanResult(1, now - 120000L));
+            store.put(EXPRESS, scanResult(1, now));
+            store.putNotFound(MISSING, now - 60000L);
+
+            assertEquals(2, store.removeExpired(now));
+            assertNull(store.get(LODASH));
+            assertNotNull(store.get(EXPRESS));
+            assertNull(store.getNotFound(MISSING));
+            assertEquals(0, store.removeExpired(now));
+        }
+    }
+
+    private ScanResultStore newStore() {
+        Properties properties = new Properties();
+        properties.setProperty("sca.store.compaction-interval", "0");
+        properties.setProperty("sca.data.expiration-time", "60");
+        properties.setProperty("sca.cache.not-found.expiration-time", "30");
+        return new ScanResultStore(this._directory, new PluginConfiguration(properties,
+                LoggerFactory.getLogger(ScanResultStoreTest.class)));
+    }
+
+    private static ScanResult scanResult(int totalRisks, long scannedAt) {
+        return new ScanResult(totalRisks, totalRisks, 0, 0, totalRisks, "Low", List.of("MIT"), scannedAt);
+    }
+
+    private static int readInt(RandomAccessFile file, long position) throws IOException {
+        file.seek(position);
+        return file.readInt();
+    }
+
+    private static int align(int size) {
+        return (size + 3) & ~3;
+    }
+}
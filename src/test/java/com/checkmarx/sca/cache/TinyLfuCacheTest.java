@@ -0,0 +1,85 @@
+package com.checkmarx.sca.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TinyLfuCacheTest {
+    private static final long TIME_TO_LIVE_MILLIS = 60000L;
+
+    @Test
+    public void theSizeStaysWithinTheMaximum() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(50, TIME_TO_LIVE_MILLIS);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, String.valueOf(i));
+            assertTrue(cache.size() <= 50, String.format("size %d after %d puts", cache.size(), i + 1));
+        }
+
+        assertEquals(50, cache.size());
+    }
+
+    @Test
+    public void aWindowEntryOnlyReplacesAMainEntryWhenItIsMorePopular() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10, TIME_TO_LIVE_MILLIS);
+        for (int i = 0; i < 9; i++) {
+            cache.put(String.valueOf(i), "main");
+        }
+
+        for (int i = 0; i < 5; i++) {
+            cache.get("hot");
+        }
+
+        cache.put("cold", "window");
+        cache.put("hot", "window");
+        assertNull(cache.get("cold"));
+        assertEquals(10, cache.size());
+
+        cache.put("next", "window");
+        assertEquals("window", cache.get("hot"));
+        assertNull(cache.get("0"));
+        assertNotNull(cache.get("1"));
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void entriesExpireAfterTheirTimeToLive() throws InterruptedException {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10, 50L);
+        cache.put("expired", "value", System.currentTimeMillis() - 50L);
+        assertNull(cache.get("expired"));
+        assertEquals(0, cache.size());
+
+        cache.put("key", "value");
+        assertEquals("value", cache.get("key"));
+        Thread.sleep(80L);
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidateAllRemovesEveryEntry() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(20, TIME_TO_LIVE_MILLIS);
+        for (int i = 0; i < 20; i++) {
+            cache.put(i, String.valueOf(i));
+        }
+
+        cache.invalidate(3);
+        assertNull(cache.get(3));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(5));
+    }
+
+    @Test
+    public void computeReceivesTheCurrentValue() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10, TIME_TO_LIVE_MILLIS);
+        cache.compute("key", (value) -> value == null ? "a" : value + "b", System.currentTimeMillis());
+        cache.compute("key", (value) -> value == null ? "a" : value + "b", System.currentTimeMillis());
+        assertEquals("ab", cache.get("key"));
+
+        cache.compute("key", (value) -> null, System.currentTimeMillis());
+        assertEquals("ab", cache.get("key"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.checkmarx.sca.cache;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.ArtifactId;
+import com.checkmarx.sca.models.DownloadVerdict;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.Properties;
+
+import org.artifactory.repo.RepoPath;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class VerdictCacheTest {
+    private static final ArtifactId ARTIFACT_ID = new ArtifactId("npm", "lodash", "4.17.21");
+    private static final RepoPath REMOTE = newRepoPath("npm-remote/lodash/-/lodash-4.17.21.tgz");
+    private static final RepoPath VIRTUAL = newRepoPath("npm-virtual/lodash/-/lodash-4.17.21.tgz");
+
+    @Test
+    public void keepsAVerdictPerRequestedPath() {
+        VerdictCache cache = newCache();
+        DownloadVerdict allow = DownloadVerdict.allow();
+        DownloadVerdict deny = DownloadVerdict.deny("denied");
+        cache.put(ARTIFACT_ID, REMOTE, 1L, allow, lastScan(), cache.generation(ARTIFACT_ID));
+        cache.put(ARTIFACT_ID, VIRTUAL, 1L, deny, lastScan(), cache.generation(ARTIFACT_ID));
+
+        assertSame(allow, cache.get(ARTIFACT_ID, REMOTE, 1L));
+        assertSame(deny, cache.get(ARTIFACT_ID, VIRTUAL, 1L));
+        assertNull(cache.get(ARTIFACT_ID, REMOTE, 2L));
+    }
+
+    @Test
+    public void aVerdictEvaluatedBeforeAnInvalidationIsNotCached() {
+        VerdictCache cache = newCache();
+        long generation = cache.generation(ARTIFACT_ID);
+        cache.invalidate(ARTIFACT_ID);
+        cache.put(ARTIFACT_ID, REMOTE, 1L, DownloadVerdict.allow(), lastScan(), generation);
+        assertNull(cache.get(ARTIFACT_ID, REMOTE, 1L));
+
+        generation = cache.generation(ARTIFACT_ID);
+        cache.invalidateAll();
+        cache.put(ARTIFACT_ID, REMOTE, 1L, DownloadVerdict.allow(), lastScan(), generation);
+        assertNull(cache.get(ARTIFACT_ID, REMOTE, 1L));
+
+        cache.put(ARTIFACT_ID, REMOTE, 1L, DownloadVerdict.allow(), lastScan(), cache.generation(ARTIFACT_ID));
+        assertNotNull(cache.get(ARTIFACT_ID, REMOTE, 1L));
+    }
+
+    @Test
+    public void invalidateRemovesTheVerdictsOfEveryPath() {
+        VerdictCache cache = newCache();
+        cache.put(ARTIFACT_ID, REMOTE, 1L, DownloadVerdict.allow(), lastScan(), cache.generation(ARTIFACT_ID));
+        cache.put(ARTIFACT_ID, VIRTUAL, 1L, DownloadVerdict.allow(), lastScan(), cache.generation(ARTIFACT_ID));
+
+        cache.invalidate(ARTIFACT_ID);
+
+        assertNull(cache.get(ARTIFACT_ID, REMOTE, 1L));
+        assertNull(cache.get(ARTIFACT_ID, VIRTUAL, 1L));
+    }
+
+    @Test
+    public void aVerdictWithoutAScanDateIsNotCached() {
+        VerdictCache cache = newCache();
+        cache.put(ARTIFACT_ID, REMOTE, 1L, DownloadVerdict.allow(), null, cache.generation(ARTIFACT_ID));
+        cache.put(ARTIFACT_ID, VIRTUAL, 1L, DownloadVerdict.allow(), "yesterday", cache.generation(ARTIFACT_ID));
+
+        assertNull(cache.get(ARTIFACT_ID, REMOTE, 1L));
+        assertNull(cache.get(ARTIFACT_ID, VIRTUAL, 1L));
+    }
+
+    private static VerdictCache newCache() {
+        return new VerdictCache(new PluginConfiguration(new Properties(),
+                LoggerFactory.getLogger(VerdictCacheTest.class)));
+    }
+
+    private static String lastScan() {
+        return Instant.now().toString();
+    }
+
+    private static RepoPath newRepoPath(String path) {
+        return (RepoPath) Proxy.newProxyInstance(RepoPath.class.getClassLoader(), new Class<?>[]{RepoPath.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("toPath")) {
+                        return path;
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,103 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+
+import java.lang.reflect.Proxy;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    public void interactiveWaitersAreGrantedBeforeQueuedBulkRequests() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(1);
+        List<String> started = new ArrayList<>();
+        CompletableFuture<HttpResponse<String>> first = new CompletableFuture<>();
+        limiter.execute(TrafficClass.BULK, () -> {
+            started.add("bulk-0");
+            return first;
+        });
+
+        List<CompletableFuture<HttpResponse<String>>> pending = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            String name = "bulk-" + i;
+            CompletableFuture<HttpResponse<String>> response = new CompletableFuture<>();
+            pending.add(response);
+            limiter.execute(TrafficClass.BULK, () -> {
+                started.add(name);
+                return response;
+            });
+        }
+
+        CompletableFuture<HttpResponse<String>> interactive = new CompletableFuture<>();
+        limiter.execute(TrafficClass.INTERACTIVE, () -> {
+            started.add("interactive");
+            return interactive;
+        });
+
+        assertEquals(List.of("bulk-0"), started);
+        assertEquals(3, limiter.getQueueDepth(TrafficClass.BULK));
+        assertEquals(1, limiter.getQueueDepth(TrafficClass.INTERACTIVE));
+
+        first.complete(response(200));
+        assertEquals(List.of("bulk-0", "interactive"), started);
+
+        interactive.complete(response(200));
+        assertEquals(List.of("bulk-0", "interactive", "bulk-1"), started);
+        pending.get(0).complete(response(200));
+        assertEquals(List.of("bulk-0", "interactive", "bulk-1", "bulk-2"), started);
+    }
+
+    @Test
+    public void waitersOfTheSameTrafficClassAreGrantedInArrivalOrder() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(1);
+        List<Integer> started = new ArrayList<>();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            CompletableFuture<HttpResponse<String>> response = new CompletableFuture<>();
+            responses.add(response);
+            limiter.execute(TrafficClass.INTERACTIVE, () -> {
+                started.add(index);
+                return response;
+            });
+        }
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            response.complete(response(200));
+        }
+
+        assertEquals(List.of(0, 1, 2, 3, 4), started);
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static AdaptiveConcurrencyLimiter newLimiter(int limit) {
+        Properties properties = new Properties();
+        properties.setProperty("sca.api.concurrency.initial-limit", String.valueOf(limit));
+        properties.setProperty("sca.api.concurrency.min-limit", String.valueOf(limit));
+        properties.setProperty("sca.api.concurrency.max-limit", String.valueOf(limit));
+        return new AdaptiveConcurrencyLimiter(new PluginConfiguration(properties,
+                LoggerFactory.getLogger(AdaptiveConcurrencyLimiterTest.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> response(int statusCode) {
+        return (HttpResponse<String>) Proxy.newProxyInstance(HttpResponse.class.getClassLoader(),
+                new Class<?>[]{HttpResponse.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("statusCode")) {
+                        return statusCode;
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,162 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.communication.exceptions.CircuitBreakerOpenException;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.http.HttpResponse;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+
+    @Test
+    public void opensWhenTheFailureRateReachesTheThreshold() {
+        CircuitBreaker circuitBreaker = newCircuitBreaker(60, 60000);
+        call(circuitBreaker, 200);
+        call(circuitBreaker, 500);
+        call(circuitBreaker, 200);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        fail(circuitBreaker);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(50, circuitBreaker.getFailureRate());
+        assertFalse(circuitBreaker.isCallPermitted());
+
+        CompletableFuture<HttpResponse<String>> rejected = circuitBreaker.execute(() -> {
+            throw new IllegalStateException("must not be sent");
+        });
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(exception.getCause() instanceof CircuitBreakerOpenException);
+        assertEquals(1L, circuitBreaker.getRejectedCalls());
+    }
+
+    @Test
+    public void tooManyRequestsAreNotFailures() {
+        CircuitBreaker circuitBreaker = newCircuitBreaker(60, 60000);
+        for (int i = 0; i < 8; i++) {
+            call(circuitBreaker, 429);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    public void opensWhenTheSlowCallRateReachesTheThreshold() {
+        CircuitBreaker circuitBreaker = newCircuitBreaker(60, 0);
+        for (int i = 0; i < 3; i++) {
+            call(circuitBreaker, 200);
+            assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        }
+
+        call(circuitBreaker, 200);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailureRate());
+        assertEquals(100, circuitBreaker.getSlowCallRate());
+    }
+
+    @Test
+    public void halfOpenClosesAfterSuccessfulProbes() {
+        CircuitBreaker circuitBreaker = newCircuitBreaker(0, 60000);
+        open(circuitBreaker);
+        assertTrue(circuitBreaker.isCallPermitted());
+
+        CompletableFuture<HttpResponse<String>> firstProbe = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<String>> secondProbe = new CompletableFuture<>();
+        circuitBreaker.execute(() -> firstProbe);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.execute(() -> secondProbe);
+        assertFalse(circuitBreaker.isCallPermitted());
+
+        firstProbe.complete(response(200));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        secondProbe.complete(response(200));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    public void halfOpenReopensOnAFailedProbe() {
+        CircuitBreaker circuitBreaker = newCircuitBreaker(0, 60000);
+        open(circuitBreaker);
+
+        call(circuitBreaker, 503);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void aDisabledCircuitBreakerSendsEveryCall() {
+        Properties properties = properties(60, 60000);
+        properties.setProperty("sca.circuit-breaker.enabled", "false");
+        CircuitBreaker circuitBreaker = newCircuitBreaker(properties);
+        for (int i = 0; i < 8; i++) {
+            fail(circuitBreaker);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.isCallPermitted());
+    }
+
+    private static void open(CircuitBreaker circuitBreaker) {
+        for (int i = 0; i < 4; i++) {
+            fail(circuitBreaker);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private static void call(CircuitBreaker circuitBreaker, int statusCode) {
+        circuitBreaker.execute(() -> CompletableFuture.completedFuture(response(statusCode))).join();
+    }
+
+    private static void fail(CircuitBreaker circuitBreaker) {
+        CompletableFuture<HttpResponse<String>> response = circuitBreaker.execute(
+                () -> CompletableFuture.failedFuture(new IOException("connection refused")));
+        assertThrows(CompletionException.class, response::join);
+    }
+
+    private static CircuitBreaker newCircuitBreaker(int openDurationSeconds, int slowCallDurationMillis) {
+        return newCircuitBreaker(properties(openDurationSeconds, slowCallDurationMillis));
+    }
+
+    private static CircuitBreaker newCircuitBreaker(Properties properties) {
+        return new CircuitBreaker(new PluginConfiguration(properties,
+                LoggerFactory.getLogger(CircuitBreakerTest.class)));
+    }
+
+    private static Properties properties(int openDurationSeconds, int slowCallDurationMillis) {
+        Properties properties = new Properties();
+        properties.setProperty("sca.circuit-breaker.window-size", "4");
+        properties.setProperty("sca.circuit-breaker.minimum-calls", "4");
+        properties.setProperty("sca.circuit-breaker.failure-rate-threshold", "50");
+        properties.setProperty("sca.circuit-breaker.slow-call-rate-threshold", "80");
+        properties.setProperty("sca.circuit-breaker.slow-call-duration", String.valueOf(slowCallDurationMillis));
+        properties.setProperty("sca.circuit-breaker.open-duration", String.valueOf(openDurationSeconds));
+        properties.setProperty("sca.circuit-breaker.half-open-calls", "2");
+        return properties;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> response(int statusCode) {
+        return (HttpResponse<String>) Proxy.newProxyInstance(HttpResponse.class.getClassLoader(),
+                new Class<?>[]{HttpResponse.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("statusCode")) {
+                        return statusCode;
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,111 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.communication.json.JsonBody;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.PackageLicensesModel;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConditionalRequestCacheTest {
+    private static final String KEY = "licenses:npm:lodash:4.17.21";
+
+    @Test
+    public void onlyTheGetEndpointsAreSentConditionally() {
+        assertTrue(ConditionalRequestCache.isConditional(ScaEndpoint.ARTIFACT_INFO));
+        assertTrue(ConditionalRequestCache.isConditional(ScaEndpoint.LICENSES));
+        assertFalse(ConditionalRequestCache.isConditional(ScaEndpoint.RISK_AGGREGATION));
+        assertFalse(ConditionalRequestCache.isConditional(ScaEndpoint.SUGGEST_PRIVATE_PACKAGE));
+    }
+
+    @Test
+    public void aCachedResponseAddsItsValidatorsToTheNextRequest() {
+        ConditionalRequestCache cache = newCache();
+        JsonBody<PackageLicensesModel> body = licenses();
+        cache.update(KEY, response(200, body, "\"v1\""));
+
+        HttpRequest.Builder builder = newRequestBuilder();
+        assertSame(body, cache.addValidators(KEY, builder));
+        assertEquals(List.of("\"v1\""), builder.build().headers().allValues("If-None-Match"));
+
+        cache.update(KEY, response(304, body, null));
+        assertEquals(1, cache.getNotModified());
+    }
+
+    @Test
+    public void aPreconditionFailureDiscardsTheEntry() {
+        ConditionalRequestCache cache = newCache();
+        cache.update(KEY, response(200, licenses(), "\"v1\""));
+
+        cache.update(KEY, response(412, JsonBody.of(stream(""), PackageLicensesModel.class), null));
+
+        HttpRequest.Builder builder = newRequestBuilder();
+        assertNull(cache.addValidators(KEY, builder));
+        assertTrue(builder.build().headers().allValues("If-None-Match").isEmpty());
+    }
+
+    @Test
+    public void anUnexpectedStatusDiscardsTheEntry() {
+        ConditionalRequestCache cache = newCache();
+        cache.update(KEY, response(200, licenses(), "\"v1\""));
+
+        cache.update(KEY, response(503, JsonBody.of(stream("unavailable"), PackageLicensesModel.class), null));
+
+        assertNull(cache.addValidators(KEY, newRequestBuilder()));
+    }
+
+    private static ConditionalRequestCache newCache() {
+        return new ConditionalRequestCache(new PluginConfiguration(new Properties(),
+                LoggerFactory.getLogger(ConditionalRequestCacheTest.class)));
+    }
+
+    private static HttpRequest.Builder newRequestBuilder() {
+        return HttpRequest.newBuilder(URI.create("https://sca.example/licenses"));
+    }
+
+    private static JsonBody<PackageLicensesModel> licenses() {
+        return JsonBody.of(stream("{\"identifiedLicenses\":[]}"), PackageLicensesModel.class).decode();
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<JsonBody<PackageLicensesModel>> response(int statusCode,
+                                                                        JsonBody<PackageLicensesModel> body,
+                                                                        String etag) {
+        HttpHeaders headers = HttpHeaders.of(etag != null ? Map.of("ETag", List.of(etag)) : Map.of(),
+                (name, value) -> true);
+        return (HttpResponse<JsonBody<PackageLicensesModel>>) Proxy.newProxyInstance(
+                HttpResponse.class.getClassLoader(), new Class<?>[]{HttpResponse.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "statusCode":
+                            return statusCode;
+                        case "headers":
+                            return headers;
+                        case "body":
+                            return body;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
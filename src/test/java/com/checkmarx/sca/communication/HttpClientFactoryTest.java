@@ -0,0 +1,28 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpClientFactoryTest {
+
+    @Test
+    public void closeShutsDownTheExecutors() {
+        Properties properties = new Properties();
+        properties.setProperty("sca.http.executor-threads", "2");
+        HttpClientFactory factory = new HttpClientFactory(new PluginConfiguration(properties,
+                LoggerFactory.getLogger(HttpClientFactoryTest.class)));
+        ExecutorService clientExecutor = (ExecutorService) factory.getHttpClient().executor().orElseThrow();
+
+        factory.close();
+
+        assertTrue(clientExecutor.isShutdown());
+        assertTrue(factory.getDecodeExecutor().isShutdown());
+    }
+}
@@ -0,0 +1,122 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+
+import java.lang.reflect.Proxy;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RequestHedgerTest {
+
+    @Test
+    public void aSlowRequestIsHedgedAndTheFasterResponseWins() throws Exception {
+        RequestHedger hedger = newRequestHedger(new Properties());
+        warmUp(hedger);
+
+        HttpResponse<String> hedgeResponse = response(200);
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<HttpResponse<String>> response = hedger.execute(ScaEndpoint.ARTIFACT_INFO,
+                TrafficClass.INTERACTIVE, () -> attempts.incrementAndGet() == 1 ? new CompletableFuture<>()
+                        : CompletableFuture.completedFuture(hedgeResponse));
+
+        assertSame(hedgeResponse, response.get(5, TimeUnit.SECONDS));
+        assertEquals(2, attempts.get());
+        assertEquals(1L, hedges(hedger).get("hedges"));
+    }
+
+    @Test
+    public void noHedgeIsSentWithoutARateToken() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("sca.api.rate-limit.interactive", "1");
+        RequestHedger hedger = newRequestHedger(properties);
+        warmUp(hedger);
+
+        CompletableFuture<HttpResponse<String>> first = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<HttpResponse<String>> hedged = hedger.execute(ScaEndpoint.ARTIFACT_INFO,
+                TrafficClass.INTERACTIVE, () -> attempts.incrementAndGet() == 1 ? first
+                        : CompletableFuture.completedFuture(response(200)));
+        hedged.get(5, TimeUnit.SECONDS);
+        assertEquals(2, attempts.get());
+
+        CompletableFuture<HttpResponse<String>> second = new CompletableFuture<>();
+        AtomicInteger skippedAttempts = new AtomicInteger();
+        CompletableFuture<HttpResponse<String>> response = hedger.execute(ScaEndpoint.ARTIFACT_INFO,
+                TrafficClass.INTERACTIVE, () -> skippedAttempts.incrementAndGet() == 1 ? second
+                        : CompletableFuture.completedFuture(response(200)));
+
+        Thread.sleep(100);
+        assertEquals(1, skippedAttempts.get());
+        assertFalse(response.isDone());
+        assertEquals(1L, hedges(hedger).get("hedges"));
+
+        HttpResponse<String> firstResponse = response(200);
+        second.complete(firstResponse);
+        assertSame(firstResponse, response.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void nonIdempotentEndpointsAreNotHedged() throws Exception {
+        RequestHedger hedger = newRequestHedger(new Properties());
+        hedger.execute(ScaEndpoint.RISK_AGGREGATION, TrafficClass.BULK,
+                () -> CompletableFuture.completedFuture(response(200))).join();
+
+        CompletableFuture<HttpResponse<String>> first = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<HttpResponse<String>> response = hedger.execute(ScaEndpoint.RISK_AGGREGATION,
+                TrafficClass.BULK, () -> {
+                    attempts.incrementAndGet();
+                    return first;
+                });
+
+        Thread.sleep(100);
+        assertEquals(1, attempts.get());
+        first.complete(response(200));
+        response.get(5, TimeUnit.SECONDS);
+    }
+
+    private static void warmUp(RequestHedger hedger) {
+        hedger.execute(ScaEndpoint.ARTIFACT_INFO, TrafficClass.INTERACTIVE,
+                () -> CompletableFuture.completedFuture(response(200))).join();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> hedges(RequestHedger hedger) {
+        return (Map<String, Object>) hedger.getStatistics().get(ScaEndpoint.ARTIFACT_INFO.name());
+    }
+
+    private static RequestHedger newRequestHedger(Properties properties) {
+        properties.setProperty("sca.api.hedging.enabled", "true");
+        properties.setProperty("sca.api.hedging.min-samples", "1");
+        properties.setProperty("sca.api.hedging.min-delay", "1");
+        properties.setProperty("sca.api.hedging.max-percent", "100");
+        PluginConfiguration configuration = new PluginConfiguration(properties,
+                LoggerFactory.getLogger(RequestHedgerTest.class));
+        return new RequestHedger(configuration, new ScaRateLimiter(configuration));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> response(int statusCode) {
+        return (HttpResponse<String>) Proxy.newProxyInstance(HttpResponse.class.getClassLoader(),
+                new Class<?>[]{HttpResponse.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("statusCode")) {
+                        return statusCode;
+                    } else if (method.getName().equals("body")) {
+                        return "";
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,161 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void retriesTooManyRequestsAndServerErrors() {
+        for (int statusCode : new int[]{429, 500, 502, 503, 504, 599}) {
+            assertEquals(2, attempts(newPolicy(2, 1000, 100), statusCode), String.valueOf(statusCode));
+        }
+
+        for (int statusCode : new int[]{200, 304, 400, 404, 412, 501, 505}) {
+            assertEquals(1, attempts(newPolicy(2, 1000, 100), statusCode), String.valueOf(statusCode));
+        }
+    }
+
+    @Test
+    public void retriesIOExceptionsOnly() {
+        RetryPolicy policy = newPolicy(3, 1000, 100);
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<HttpResponse<String>> result = policy.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IOException("connection reset"));
+        });
+        assertThrows(CompletionException.class, result::join);
+        assertEquals(3, attempts.get());
+
+        attempts.set(0);
+        result = policy.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("bug"));
+        });
+        assertThrows(CompletionException.class, result::join);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void aRetryAfterLongerThanTheMaximumDelayIsNotRetried() {
+        RetryPolicy policy = newPolicy(3, 1000, 100);
+        AtomicInteger attempts = new AtomicInteger();
+        HttpResponse<String> response = policy.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(response(503, "5"));
+        }).join();
+
+        assertEquals(503, response.statusCode());
+        assertEquals(1, attempts.get());
+        assertEquals(0L, policy.getRetries());
+
+        attempts.set(0);
+        policy.execute(() -> CompletableFuture.completedFuture(
+                response(attempts.incrementAndGet() == 1 ? 429 : 200, "0"))).join();
+        assertEquals(2, attempts.get());
+        assertEquals(1L, policy.getSuccessesAfterRetry());
+    }
+
+    @Test
+    public void theJitteredDelayStaysWithinTheCap() {
+        RetryPolicy policy = newPolicy(4, 1000, 100);
+        for (int attempt : new int[]{1, 2, 3, 4, 5, 40}) {
+            long ceiling = Math.min(1000L, 100L << Math.min(attempt - 1, 30));
+            long maximum = 0;
+            for (int i = 0; i < 2000; i++) {
+                long delayMillis = policy.getDelayMillis(response(503, null), attempt);
+                assertTrue(delayMillis >= 0 && delayMillis <= ceiling,
+                        String.format("delay %d of attempt %d above %d", delayMillis, attempt, ceiling));
+                maximum = Math.max(maximum, delayMillis);
+            }
+
+            assertTrue(maximum > ceiling / 2, String.format("attempt %d never waited above %d", attempt, ceiling / 2));
+        }
+    }
+
+    @Test
+    public void retriesStopWhenTheBudgetRunsOut() {
+        Properties properties = properties(10, 1000, 1);
+        properties.setProperty("sca.api.retry.budget-percent", "0");
+        properties.setProperty("sca.api.retry.budget-max-tokens", "2");
+        RetryPolicy policy = newPolicy(properties);
+
+        assertEquals(3, attempts(policy, 503));
+        assertEquals(1, attempts(policy, 503));
+        assertEquals(2L, policy.getRetries());
+        assertEquals(2L, policy.getBudgetExhausted());
+        assertEquals(0, policy.getBudgetTokens());
+    }
+
+    @Test
+    public void firstAttemptsRefillTheBudget() {
+        Properties properties = properties(2, 1000, 1);
+        properties.setProperty("sca.api.retry.budget-percent", "50");
+        properties.setProperty("sca.api.retry.budget-max-tokens", "1");
+        RetryPolicy policy = newPolicy(properties);
+
+        assertEquals(2, attempts(policy, 503));
+        assertEquals(0, policy.getBudgetTokens());
+        assertEquals(1, attempts(policy, 503));
+        assertEquals(2, attempts(policy, 503));
+    }
+
+    private static int attempts(RetryPolicy policy, int statusCode) {
+        AtomicInteger attempts = new AtomicInteger();
+        policy.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(response(statusCode, null));
+        }).join();
+        return attempts.get();
+    }
+
+    private static RetryPolicy newPolicy(int maxAttempts, int maxDelay, int baseDelay) {
+        return newPolicy(properties(maxAttempts, maxDelay, baseDelay));
+    }
+
+    private static RetryPolicy newPolicy(Properties properties) {
+        return new RetryPolicy(new PluginConfiguration(properties, LoggerFactory.getLogger(RetryPolicyTest.class)));
+    }
+
+    private static Properties properties(int maxAttempts, int maxDelay, int baseDelay) {
+        Properties properties = new Properties();
+        properties.setProperty("sca.api.retry.max-attempts", String.valueOf(maxAttempts));
+        properties.setProperty("sca.api.retry.max-delay", String.valueOf(maxDelay));
+        properties.setProperty("sca.api.retry.base-delay", String.valueOf(baseDelay));
+        return properties;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> response(int statusCode, String retryAfter) {
+        HttpHeaders headers = HttpHeaders.of(retryAfter != null ? Map.of("Retry-After", List.of(retryAfter))
+                : Map.of(), (name, value) -> true);
+        return (HttpResponse<String>) Proxy.newProxyInstance(HttpResponse.class.getClassLoader(),
+                new Class<?>[]{HttpResponse.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "statusCode":
+                            return statusCode;
+                        case "headers":
+                            return headers;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,150 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends a batch of concurrent lookups, each blocking a download scan thread until its response arrives, like
+ * {@code ScaPlugin.verifyDownload} does, against a local stub server that answers after {@value #SERVER_DELAY_MILLIS}
+ * ms. The requests go through the concurrency limiter fixed at {@value #CONCURRENCY_LIMIT} permits, as they would with
+ * the default {@code sca.api.concurrency.max-limit}. Compares the fixed platform pools with
+ * {@code sca.threads.virtual=true}; the virtual threads are only used on Java 21 or later, so run it on such a JVM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScaExecutorsBenchmark {
+    private static final int SERVER_DELAY_MILLIS = 20;
+    private static final int PLATFORM_THREADS = 10;
+    private static final int CONCURRENCY_LIMIT = 200;
+
+    @Param({"1000", "10000"})
+    public int lookups;
+
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    private HttpServer _server;
+    private ScheduledExecutorService _serverScheduler;
+    private ExecutorService _serverExecutor;
+    private ExecutorService _httpExecutor;
+    private ExecutorService _scanExecutor;
+    private AdaptiveConcurrencyLimiter _limiter;
+    private HttpClient _client;
+    private HttpRequest _request;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] body = "{\"packageVulnerabilitiesAggregation\":{\"vulnerabilitiesCount\":0}}"
+                .getBytes(StandardCharsets.UTF_8);
+        this._serverScheduler = Executors.newScheduledThreadPool(4);
+        this._serverExecutor = Executors.newFixedThreadPool(8);
+        this._server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 20000);
+        this._server.createContext("/", (exchange) -> this._serverScheduler.schedule(() -> {
+            try (OutputStream output = exchange.getResponseBody()) {
+                exchange.sendResponseHeaders(200, body.length);
+                output.write(body);
+            }
+
+            return null;
+        }, SERVER_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+        this._server.setExecutor(this._serverExecutor);
+        this._server.start();
+
+        Properties properties = new Properties();
+        properties.setProperty("sca.threads.virtual", String.valueOf(this.virtual));
+        properties.setProperty("sca.api.concurrency.initial-limit", String.valueOf(CONCURRENCY_LIMIT));
+        properties.setProperty("sca.api.concurrency.min-limit", String.valueOf(CONCURRENCY_LIMIT));
+        properties.setProperty("sca.api.concurrency.max-limit", String.valueOf(CONCURRENCY_LIMIT));
+        PluginConfiguration configuration = new PluginConfiguration(properties,
+                LoggerFactory.getLogger(ScaExecutorsBenchmark.class));
+        this._httpExecutor = ScaExecutors.newExecutor(configuration, "cxsca-http", PLATFORM_THREADS);
+        this._scanExecutor = ScaExecutors.newExecutor(configuration, "cxsca-download-scan", PLATFORM_THREADS);
+        this._limiter = new AdaptiveConcurrencyLimiter(configuration);
+        this._client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(this._httpExecutor)
+                .build();
+        this._request = HttpRequest.newBuilder(URI.create(String.format("http://127.0.0.1:%d/aggregation",
+                this._server.getAddress().getPort())))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this._scanExecutor.shutdownNow();
+        this._httpExecutor.shutdownNow();
+        this._server.stop(0);
+        this._serverExecutor.shutdownNow();
+        this._serverScheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public int concurrentLookups() throws Exception {
+        List<Future<Integer>> lookups = new ArrayList<>(this.lookups);
+        for (int i = 0; i < this.lookups; i++) {
+            lookups.add(this._scanExecutor.submit(() -> this._limiter
+                    .execute(TrafficClass.INTERACTIVE, () -> this._client
+                            .sendAsync(this._request, HttpResponse.BodyHandlers.ofString()))
+                    .join()
+                    .statusCode()));
+        }
+
+        int succeeded = 0;
+        for (Future<Integer> lookup : lookups) {
+            try {
+                if (lookup.get() == 200) {
+                    succeeded++;
+                }
+            } catch (ExecutionException var6) {
+                // a refused or reset connection of the stub server counts as a failed lookup
+            }
+        }
+
+        return succeeded;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ScaExecutorsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,141 @@
+package com.checkmarx.sca.communication;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScaRateLimiterTest {
+
+    @Test
+    public void requestsOverTheRateAreDelayed() {
+        Properties properties = new Properties();
+        properties.setProperty("sca.api.rate-limit.bulk", "1");
+        ScaRateLimiter rateLimiter = newRateLimiter(properties);
+        AtomicInteger sent = new AtomicInteger();
+
+        execute(rateLimiter, ScaEndpoint.RISK_AGGREGATION, TrafficClass.BULK, sent);
+        assertEquals(1, sent.get());
+        assertEquals(0L, statistics(rateLimiter, TrafficClass.BULK).get("throttled"));
+
+        CompletableFuture<HttpResponse<Void>> delayed = execute(rateLimiter, ScaEndpoint.RISK_AGGREGATION,
+                TrafficClass.BULK, sent);
+        assertFalse(delayed.isDone());
+        assertEquals(1, sent.get());
+        assertEquals(1L, statistics(rateLimiter, TrafficClass.BULK).get("throttled"));
+        assertEquals(0L, statistics(rateLimiter, TrafficClass.BULK).get("availableTokens"));
+    }
+
+    @Test
+    public void anEndpointBucketOnlyLimitsItsEndpoint() {
+        Properties properties = new Properties();
+        properties.setProperty("sca.api.rate-limit.bulk.risk-aggregation", "1");
+        ScaRateLimiter rateLimiter = newRateLimiter(properties);
+        AtomicInteger sent = new AtomicInteger();
+
+        execute(rateLimiter, ScaEndpoint.RISK_AGGREGATION, TrafficClass.BULK, sent);
+        for (int i = 0; i < 5; i++) {
+            execute(rateLimiter, ScaEndpoint.LICENSES, TrafficClass.BULK, sent);
+            execute(rateLimiter, ScaEndpoint.RISK_AGGREGATION, TrafficClass.INTERACTIVE, sent);
+        }
+        assertEquals(11, sent.get());
+        assertEquals(0L, statistics(rateLimiter, TrafficClass.BULK).get("throttled"));
+
+        execute(rateLimiter, ScaEndpoint.RISK_AGGREGATION, TrafficClass.BULK, sent);
+        assertEquals(11, sent.get());
+        assertEquals(1L, statistics(rateLimiter, TrafficClass.BULK).get("throttled"));
+        assertEquals("unlimited", statistics(rateLimiter, TrafficClass.BULK).get("availableTokens"));
+    }
+
+    @Test
+    public void interactiveRequestsBorrowFromBulkThenSuggestion() {
+        Properties properties = new Properties();
+        properties.setProperty("sca.api.rate-limit.interactive", "1");
+        properties.setProperty("sca.api.rate-limit.bulk", "1");
+        properties.setProperty("sca.api.rate-limit.suggestion", "1");
+        ScaRateLimiter rateLimiter = newRateLimiter(properties);
+        AtomicInteger sent = new AtomicInteger();
+
+        execute(rateLimiter, ScaEndpoint.ARTIFACT_INFO, TrafficClass.INTERACTIVE, sent);
+        assertEquals(0L, rateLimiter.getStatistics().get("borrowed"));
+
+        execute(rateLimiter, ScaEndpoint.ARTIFACT_INFO, TrafficClass.INTERACTIVE, sent);
+        assertEquals(1L, rateLimiter.getStatistics().get("borrowed"));
+        assertEquals(0L, statistics(rateLimiter, TrafficClass.BULK).get("availableTokens"));
+        assertEquals(1L, statistics(rateLimiter, TrafficClass.SUGGESTION).get("availableTokens"));
+
+        execute(rateLimiter, ScaEndpoint.ARTIFACT_INFO, TrafficClass.INTERACTIVE, sent);
+        assertEquals(2L, rateLimiter.getStatistics().get("borrowed"));
+        assertEquals(0L, statistics(rateLimiter, TrafficClass.SUGGESTION).get("availableTokens"));
+        assertEquals(3, sent.get());
+        assertEquals(0L, statistics(rateLimiter, TrafficClass.INTERACTIVE).get("throttled"));
+
+        execute(rateLimiter, ScaEndpoint.ARTIFACT_INFO, TrafficClass.INTERACTIVE, sent);
+        assertEquals(3, sent.get());
+        assertEquals(1L, statistics(rateLimiter, TrafficClass.INTERACTIVE).get("throttled"));
+    }
+
+    @Test
+    public void bulkRequestsDoNotBorrow() {
+        Properties properties = new Properties();
+        properties.setProperty("sca.api.rate-limit.bulk", "1");
+        properties.setProperty("sca.api.rate-limit.suggestion", "1");
+        ScaRateLimiter rateLimiter = newRateLimiter(properties);
+        AtomicInteger sent = new AtomicInteger();
+
+        execute(rateLimiter, ScaEndpoint.RISK_AGGREGATION, TrafficClass.BULK, sent);
+        execute(rateLimiter, ScaEndpoint.RISK_AGGREGATION, TrafficClass.BULK, sent);
+
+        assertEquals(1, sent.get());
+        assertEquals(0L, rateLimiter.getStatistics().get("borrowed"));
+        assertEquals(1L, statistics(rateLimiter, TrafficClass.SUGGESTION).get("availableTokens"));
+    }
+
+    @Test
+    public void tryAcquireNeitherWaitsNorBorrows() {
+        Properties properties = new Properties();
+        properties.setProperty("sca.api.rate-limit.interactive", "1");
+        properties.setProperty("sca.api.rate-limit.bulk", "1");
+        properties.setProperty("sca.api.rate-limit.interactive.licenses", "1");
+        ScaRateLimiter rateLimiter = newRateLimiter(properties);
+
+        assertTrue(rateLimiter.tryAcquire(ScaEndpoint.ARTIFACT_INFO, TrafficClass.INTERACTIVE));
+        assertFalse(rateLimiter.tryAcquire(ScaEndpoint.ARTIFACT_INFO, TrafficClass.INTERACTIVE));
+        assertFalse(rateLimiter.tryAcquire(ScaEndpoint.LICENSES, TrafficClass.INTERACTIVE));
+        assertEquals(1L, statistics(rateLimiter, TrafficClass.BULK).get("availableTokens"));
+
+        // the licenses token taken before the class bucket was found empty was given back, and the class token is
+        // borrowed from bulk
+        AtomicInteger sent = new AtomicInteger();
+        execute(rateLimiter, ScaEndpoint.LICENSES, TrafficClass.INTERACTIVE, sent);
+        assertEquals(1, sent.get());
+    }
+
+    private static CompletableFuture<HttpResponse<Void>> execute(ScaRateLimiter rateLimiter, ScaEndpoint endpoint,
+                                                                 TrafficClass trafficClass, AtomicInteger sent) {
+        return rateLimiter.execute(endpoint, trafficClass, () -> {
+            sent.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> statistics(ScaRateLimiter rateLimiter, TrafficClass trafficClass) {
+        return (Map<String, Object>) rateLimiter.getStatistics().get(trafficClass.key());
+    }
+
+    private static ScaRateLimiter newRateLimiter(Properties properties) {
+        return new ScaRateLimiter(new PluginConfiguration(properties,
+                LoggerFactory.getLogger(ScaRateLimiterTest.class)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.checkmarx.sca.communication;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest {
+
+    @Test
+    public void startsFullAndRejectsOnceEmpty() {
+        TokenBucket bucket = new TokenBucket(1, 3);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void refillsAtTheConfiguredRateUpToTheCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, 2);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        Thread.sleep(50);
+
+        assertEquals(2.0, bucket.available());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void reserveReturnsTheWaitUntilTheTokenIsDue() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        assertEquals(0L, bucket.reserve());
+
+        long firstWait = bucket.reserve();
+        assertTrue(firstWait > TimeUnit.MILLISECONDS.toNanos(90) && firstWait <= TimeUnit.MILLISECONDS.toNanos(100),
+                String.valueOf(firstWait));
+
+        long secondWait = bucket.reserve();
+        assertTrue(secondWait > TimeUnit.MILLISECONDS.toNanos(190), String.valueOf(secondWait));
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void releaseReturnsATokenWithoutExceedingTheCapacity() {
+        TokenBucket bucket = new TokenBucket(0.001, 1);
+        assertTrue(bucket.tryAcquire());
+        bucket.release();
+        bucket.release();
+
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+}
@@ -0,0 +1,128 @@
+package com.checkmarx.sca.communication.json;
+
+import com.checkmarx.sca.models.PackageAnalysisAggregation;
+import com.checkmarx.sca.models.PackageLicensesModel;
+import com.google.gson.stream.JsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the previous decoding of a 200 response (the whole body collected by {@code BodySubscribers.ofByteArray},
+ * decoded to a char buffer and parsed from a CharArrayReader) with {@link JsonBody} reading the same body from a
+ * stream. The body is delivered in 16 KB chunks, as the HTTP client does. Run with {@code -prof gc} to compare the
+ * allocation per response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBodyBenchmark {
+    private static final int CHUNK_SIZE = 16384;
+
+    @Param({"aggregation", "licenses"})
+    public String payload;
+
+    private List<byte[]> _chunks;
+    private Class<?> _type;
+
+    @Setup
+    public void setUp() {
+        String json = "aggregation".equals(this.payload) ? aggregation() : licenses(2000);
+        this._type = "aggregation".equals(this.payload) ? PackageAnalysisAggregation.class : PackageLicensesModel.class;
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        this._chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += CHUNK_SIZE) {
+            byte[] chunk = new byte[Math.min(CHUNK_SIZE, bytes.length - offset)];
+            System.arraycopy(bytes, offset, chunk, 0, chunk.length);
+            this._chunks.add(chunk);
+        }
+    }
+
+    @Benchmark
+    public Object byteArray() throws IOException {
+        int length = 0;
+        for (byte[] chunk : this._chunks) {
+            length += chunk.length;
+        }
+
+        byte[] bytes = new byte[length];
+        int position = 0;
+        for (byte[] chunk : this._chunks) {
+            System.arraycopy(chunk, 0, bytes, position, chunk.length);
+            position += chunk.length;
+        }
+
+        CharBuffer chars = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(bytes));
+        try (JsonReader reader = new JsonReader(new CharArrayReader(chars.array(), chars.position(),
+                chars.remaining()))) {
+            return ScaJson.GSON.getAdapter(this._type).read(reader);
+        }
+    }
+
+    @Benchmark
+    public Object stream() {
+        return JsonBody.of(this.newStream(), this._type).getValue();
+    }
+
+    private InputStream newStream() {
+        List<InputStream> streams = new ArrayList<>(this._chunks.size());
+        for (byte[] chunk : this._chunks) {
+            streams.add(new ByteArrayInputStream(chunk));
+        }
+
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    static String aggregation() {
+        return "{\"packageVulnerabilitiesAggregation\":{\"vulnerabilitiesCount\":7,\"maxRiskSeverity\":\"High\"," +
+                "\"maxRiskScore\":9.8,\"highRiskCount\":3,\"mediumRiskCount\":2,\"lowRiskCount\":2}," +
+                "\"packageLicenses\":[\"MIT\",\"Apache-2.0\"]}";
+    }
+
+    static String licenses(int count) {
+        StringBuilder json = new StringBuilder("{\"identifiedLicenses\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+
+            json.append("{\"license\":{\"name\":\"License-").append(i).append("\",\"url\":\"https://licenses.example/")
+                    .append(i).append("\",\"description\":\"Permissive license number ").append(i)
+                    .append(" with attribution\"},\"confidence\":0.97,\"source\":\"package-metadata\"}");
+        }
+
+        return json.append("]}").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonBodyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package com.checkmarx.sca.communication.json;
+
+import com.checkmarx.sca.models.PackageAnalysisAggregation;
+import com.checkmarx.sca.models.PackageLicensesModel;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonBodyTest {
+    private static final String AGGREGATION = "{\"packageVulnerabilitiesAggregation\":{\"vulnerabilitiesCount\":7," +
+            "\"maxRiskSeverity\":\"High\",\"maxRiskScore\":9.8,\"highRiskCount\":3,\"mediumRiskCount\":2," +
+            "\"lowRiskCount\":2,\"unknown\":{\"x\":[1,2]}},\"packageLicenses\":[\"MIT\",\"Apache-2.0\"]}";
+
+    @Test
+    public void decodesTheBodyFromTheStreamAndClosesIt() {
+        TrackingInputStream stream = new TrackingInputStream(AGGREGATION);
+        JsonBody<PackageAnalysisAggregation> body = JsonBody.of(stream, PackageAnalysisAggregation.class);
+
+        assertFalse(stream.read.get());
+        assertTrue(body.isDecoded());
+        PackageAnalysisAggregation aggregation = body.getValue();
+        assertEquals(7, aggregation.getVulnerabilitiesAggregation().getVulnerabilitiesCount());
+        assertEquals(3, aggregation.getVulnerabilitiesAggregation().getHighRiskCount());
+        assertEquals(9.8, aggregation.getVulnerabilitiesAggregation().getMaxRiskScore());
+        assertEquals(List.of("MIT", "Apache-2.0"), aggregation.getLicenses());
+        assertTrue(stream.closed.get());
+        assertEquals("", body.getRaw());
+    }
+
+    @Test
+    public void keepsTheRawTextOfABodyThatCannotBeDecoded() {
+        JsonBody<PackageLicensesModel> body = JsonBody.of(new TrackingInputStream("<html>Bad gateway</html>"),
+                PackageLicensesModel.class);
+
+        assertFalse(body.isDecoded());
+        assertNull(body.getValue());
+        assertTrue(body.getRaw().startsWith("<html>Bad gateway</html>... ("), body.getRaw());
+    }
+
+    @Test
+    public void anEmptyBodyIsNotDecoded() {
+        JsonBody<PackageLicensesModel> body = JsonBody.of(new TrackingInputStream(""), PackageLicensesModel.class);
+
+        assertFalse(body.isDecoded());
+        assertEquals("", body.getRaw());
+    }
+
+    @Test
+    public void closingAnUnreadBodyReleasesTheStreamWithoutReadingIt() {
+        TrackingInputStream stream = new TrackingInputStream(AGGREGATION);
+        JsonBody<PackageAnalysisAggregation> body = JsonBody.of(stream, PackageAnalysisAggregation.class);
+
+        body.close();
+
+        assertTrue(stream.closed.get());
+        assertFalse(stream.read.get());
+        assertFalse(body.isDecoded());
+    }
+
+    private static final class TrackingInputStream extends ByteArrayInputStream {
+        private final AtomicBoolean read = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private TrackingInputStream(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) {
+            this.read.set(true);
+            return super.read(buffer, offset, length);
+        }
+
+        @Override
+        public synchronized int read() {
+            this.read.set(true);
+            return super.read();
+        }
+
+        @Override
+        public void close() {
+            this.closed.set(true);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.checkmarx.sca.policy;
+
+import com.checkmarx.sca.PropertiesConstants;
+import com.checkmarx.sca.configuration.SecurityRiskThreshold;
+import com.checkmarx.sca.models.PackageInfo;
+import com.checkmarx.sca.scan.ArtifactIdResolver.ResolvedArtifact;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.artifactory.exception.CancelException;
+import org.artifactory.repo.RepoPath;
+import org.artifactory.repo.Repositories;
+
+/**
+ * The checks of SecurityThresholdChecker and LicenseAllowanceChecker before they were replaced by
+ * {@link PolicySnapshot#evaluate}, kept as the reference the snapshot is compared with. Like the checkers, a check
+ * throws a CancelException when the download is denied and any other exception when it cannot be completed, and
+ * reads the properties from the repositories for every check.
+ */
+final class BaselineDownloadChecks {
+    private final Repositories _repositories;
+
+    BaselineDownloadChecks(Repositories repositories) {
+        this._repositories = repositories;
+    }
+
+    void checkSecurityRiskThreshold(ResolvedArtifact artifact, ResolvedArtifact scannedArtifact,
+                                    List<RepoPath> nonVirtualRepoPaths, PolicySnapshot policy) {
+        if (policy.getPackageWhiteList().contains(artifact.getPackageType(), artifact.getLayoutModule(),
+                artifact.getLayoutRevision())) {
+            return;
+        }
+
+        for (RepoPath path : nonVirtualRepoPaths) {
+            if ("true".equalsIgnoreCase(this.getProperty(path, PropertiesConstants.IGNORE_THRESHOLD))) {
+                return;
+            }
+        }
+
+        RepoPath repoPath = nonVirtualRepoPaths.get(0);
+        if (policy.getSecurityRiskThresholdCvssScore().isPresent()) {
+            this.checkCvssScore(repoPath, scannedArtifact, policy.getSecurityRiskThresholdCvssScore().get(), policy);
+        } else if (policy.getSecurityRiskThreshold() == SecurityRiskThreshold.LOW) {
+            this.checkRisks(repoPath, PropertiesConstants.TOTAL_RISKS_COUNT);
+        } else if (policy.getSecurityRiskThreshold() == SecurityRiskThreshold.MEDIUM) {
+            this.checkRisks(repoPath, PropertiesConstants.MEDIUM_RISKS_COUNT, PropertiesConstants.HIGH_RISKS_COUNT);
+        } else if (policy.getSecurityRiskThreshold() == SecurityRiskThreshold.HIGH) {
+            this.checkRisks(repoPath, PropertiesConstants.HIGH_RISKS_COUNT);
+        }
+    }
+
+    void checkLicenseAllowance(List<RepoPath> nonVirtualRepoPaths, PolicySnapshot policy) {
+        for (RepoPath path : nonVirtualRepoPaths) {
+            if ("true".equalsIgnoreCase(this.getProperty(path, PropertiesConstants.IGNORE_LICENSE))) {
+                return;
+            }
+        }
+
+        RepoPath repoPath = nonVirtualRepoPaths.get(0);
+        Set<String> licensesAllowed = policy.getLicensesAllowed();
+        if (licensesAllowed.isEmpty()) {
+            return;
+        }
+
+        String message = String.format("License allowance not compliant for the artifact: %s", repoPath.getName());
+        if (licensesAllowed.size() == 1 && licensesAllowed.iterator().next().equalsIgnoreCase("none")) {
+            throw new CancelException(message, 403);
+        }
+
+        List<String> licenses = List.of(this._repositories.getProperty(repoPath, PropertiesConstants.LICENSE_NAMES)
+                .split(","));
+        if (licensesAllowed.stream().noneMatch(licenses::contains)) {
+            throw new CancelException(message, 403);
+        }
+    }
+
+    private String getProperty(RepoPath path, String name) {
+        for (Map.Entry<String, String> property : this._repositories.getProperties(path).entries()) {
+            if (name.equalsIgnoreCase(property.getKey())) {
+                return property.getValue();
+            }
+        }
+
+        return "false";
+    }
+
+    private void checkRisks(RepoPath repoPath, String... properties) {
+        for (String property : properties) {
+            if (!this._repositories.hasProperty(repoPath, property)) {
+                throw new CancelException(String.format("Property %s missing in %s", property, repoPath), 403);
+            }
+        }
+
+        for (String property : properties) {
+            if (Integer.parseInt(this._repositories.getProperty(repoPath, property)) > 0) {
+                throw thresholdViolation(repoPath);
+            }
+        }
+    }
+
+    private void checkCvssScore(RepoPath repoPath, ResolvedArtifact scannedArtifact, double scoreConfigured,
+                                PolicySnapshot policy) {
+        if (!this._repositories.hasProperty(repoPath, PropertiesConstants.RISK_SCORE)) {
+            throw new CancelException(String.format("Property %s missing in %s", PropertiesConstants.RISK_SCORE,
+                    repoPath), 403);
+        }
+
+        double score = Double.parseDouble(this._repositories.getProperty(repoPath, PropertiesConstants.RISK_SCORE));
+        if (score >= scoreConfigured) {
+            throw thresholdViolation(repoPath);
+        }
+
+        PackageInfo packageInfo = policy.getPackageBlackList().firstMatch(scannedArtifact.getPackageType(),
+                scannedArtifact.getLayoutModule(), scannedArtifact.getLayoutRevision(), score);
+        if (packageInfo != null && !packageInfo.getMonitored()) {
+            throw thresholdViolation(repoPath);
+        }
+    }
+
+    private static CancelException thresholdViolation(RepoPath repoPath) {
+        return new CancelException(String.format("Artifact has risks that do not comply with the security risk " +
+                "threshold. Artifact Name: %s", repoPath.getName()), 403);
+    }
+}
@@ -0,0 +1,273 @@
+package com.checkmarx.sca.policy;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.configuration.PluginConfiguration;
+import com.checkmarx.sca.models.ArtifactId;
+import com.checkmarx.sca.models.DownloadVerdict;
+import com.checkmarx.sca.models.PackageInfo;
+import com.checkmarx.sca.scan.ArtifactIdResolver.ResolvedArtifact;
+import com.checkmarx.sca.scan.PackageListIndex;
+import com.checkmarx.sca.scan.RiskSnapshot;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import org.artifactory.exception.CancelException;
+import org.artifactory.repo.RepoPath;
+import org.artifactory.repo.Repositories;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PolicySnapshotTest {
+    private static final String ALLOW = "ALLOW";
+    private static final String UNVERIFIED = "UNVERIFIED";
+    private static final int RANDOM_CASES = 200000;
+    private static final String[] PROPERTY_NAMES = {"CxSCA.IgnoreRiskThreshold", "cxsca.ignoreriskthreshold",
+            "CxSCA.IgnoreLicenses", "CxSCA.TotalRisks", "CxSCA.MediumSeverityRisks", "CxSCA.HighSeverityRisks",
+            "CxSCA.RiskScore", "CxSCA.Licenses", "cxsca.totalrisks", "other"};
+
+    private final Map<RepoPath, List<Map.Entry<String, String>>> _properties = new HashMap<>();
+    private final Repositories _repositories = this.newRepositories();
+
+    @Test
+    public void anIgnoredThresholdStillChecksTheLicenses() {
+        RepoPath repoPath = this.newRepoPath("pkg-0.tgz", "CxSCA.IgnoreRiskThreshold", "true",
+                "CxSCA.HighSeverityRisks", "3", "CxSCA.Licenses", "GPL");
+        PolicySnapshot policy = newPolicy(properties("HIGH", null, "MIT"), PackageListIndex.empty(),
+                PackageListIndex.empty());
+        ResolvedArtifact artifact = newResolvedArtifact("1.0");
+
+        DownloadVerdict verdict = policy.evaluate(artifact, artifact, RiskSnapshot.read(this._repositories,
+                List.of(repoPath)));
+
+        assertFalse(verdict.isAllowed());
+        assertEquals("License allowance not compliant for the artifact: pkg-0.tgz", verdict.getReason());
+    }
+
+    @Test
+    public void theAllowListSkipsTheThresholdOfTheRequestedVersion() {
+        RepoPath repoPath = this.newRepoPath("pkg-0.tgz", "CxSCA.HighSeverityRisks", "3");
+        PolicySnapshot policy = newPolicy(properties("HIGH", null, ""), PackageListIndex.empty(),
+                new PackageListIndex.Builder().add(new PackageInfo("npm", "pkg", "1.0", 0.0, false)).build());
+        RiskSnapshot risks = RiskSnapshot.read(this._repositories, List.of(repoPath));
+
+        assertTrue(policy.evaluate(newResolvedArtifact("1.0"), newResolvedArtifact("1.0"), risks).isAllowed());
+        assertFalse(policy.evaluate(newResolvedArtifact("2.0"), newResolvedArtifact("2.0"), risks).isAllowed());
+    }
+
+    /**
+     * Compares the snapshot with the former checkers on random configurations, lists and properties. When the
+     * threshold check failed with an error the checkers still went on with the license check, which could deny the
+     * download; the snapshot reports the error, so the download is unverified.
+     */
+    @Test
+    public void matchesTheFormerCheckersOnRandomCases() {
+        Random random = new Random(42);
+        BaselineDownloadChecks baseline = new BaselineDownloadChecks(this._repositories);
+        List<String> mismatches = new ArrayList<>();
+        for (int i = 0; i < RANDOM_CASES; i++) {
+            Properties properties = properties(pick(random, "None", "Low", "medium", "HIGH"),
+                    random.nextBoolean() ? pick(random, "7.0", "4.5") : null,
+                    pick(random, "", "none", "MIT", "MIT, Apache-2.0", " ,GPL"));
+            PackageListIndex.Builder whiteList = new PackageListIndex.Builder();
+            PackageListIndex.Builder blackList = new PackageListIndex.Builder();
+            if (random.nextInt(4) == 0) {
+                whiteList.add(new PackageInfo("npm", "pkg", pick(random, "1.0", "*", ">=2.0.0"), 0.0, false));
+            }
+
+            if (random.nextBoolean()) {
+                blackList.add(new PackageInfo("npm", "pkg", pick(random, "1.0", "*", "<2.0.0"),
+                        pick(random, 1.0, 6.0), random.nextBoolean()));
+            }
+
+            PolicySnapshot policy = newPolicy(properties, blackList.build(), whiteList.build());
+            ResolvedArtifact artifact = newResolvedArtifact(pick(random, "1.0", "2.0"));
+            List<RepoPath> nonVirtualRepoPaths = this.randomRepoPaths(random);
+
+            boolean thresholdFailed = false;
+            String expected;
+            try {
+                boolean verified = true;
+                try {
+                    baseline.checkSecurityRiskThreshold(artifact, artifact, nonVirtualRepoPaths, policy);
+                } catch (CancelException var14) {
+                    throw var14;
+                } catch (Exception var15) {
+                    verified = false;
+                    thresholdFailed = true;
+                }
+
+                try {
+                    baseline.checkLicenseAllowance(nonVirtualRepoPaths, policy);
+                } catch (CancelException var12) {
+                    throw var12;
+                } catch (Exception var13) {
+                    verified = false;
+                }
+
+                expected = verified ? ALLOW : UNVERIFIED;
+            } catch (CancelException var16) {
+                expected = "DENY:" + var16.getMessage();
+            }
+
+            String actual;
+            try {
+                DownloadVerdict verdict = policy.evaluate(artifact, artifact,
+                        RiskSnapshot.read(this._repositories, nonVirtualRepoPaths));
+                actual = verdict.isAllowed() ? ALLOW : "DENY:" + verdict.getReason();
+            } catch (Exception var11) {
+                actual = UNVERIFIED;
+            }
+
+            boolean expectedDifference = thresholdFailed && expected.startsWith("DENY") && actual.equals(UNVERIFIED);
+            if (!expected.equals(actual) && !expectedDifference && mismatches.size() < 10) {
+                mismatches.add(String.format("expected %s but was %s with %s and %s", expected, actual,
+                        this._properties.values(), properties));
+            }
+        }
+
+        assertTrue(mismatches.isEmpty(), String.join("\n", mismatches));
+    }
+
+    private List<RepoPath> randomRepoPaths(Random random) {
+        this._properties.clear();
+        List<RepoPath> repoPaths = new ArrayList<>();
+        int count = 1 + random.nextInt(2);
+        for (int i = 0; i < count; i++) {
+            List<Map.Entry<String, String>> properties = new ArrayList<>();
+            int propertyCount = random.nextInt(9);
+            for (int j = 0; j < propertyCount; j++) {
+                String name = pick(random, PROPERTY_NAMES);
+                String value;
+                if (name.toLowerCase().contains("ignore")) {
+                    value = pick(random, "true", "TRUE", "false");
+                } else if (name.toLowerCase().contains("risks")) {
+                    value = pick(random, "0", "0", "2", "x");
+                } else if (name.contains("Score")) {
+                    value = pick(random, "3.0", "5.0", "8.0", "bad");
+                } else if (name.contains("Licenses")) {
+                    value = pick(random, "MIT", "GPL,Apache-2.0", "BSD");
+                } else {
+                    value = "v";
+                }
+
+                properties.add(new AbstractMap.SimpleEntry<>(name, value));
+            }
+
+            Collections.shuffle(properties, random);
+            RepoPath repoPath = newRepoPath(String.format("pkg-%d.tgz", i));
+            this._properties.put(repoPath, properties);
+            repoPaths.add(repoPath);
+        }
+
+        return repoPaths;
+    }
+
+    private RepoPath newRepoPath(String name, String... properties) {
+        RepoPath repoPath = newRepoPath(name);
+        List<Map.Entry<String, String>> entries = new ArrayList<>();
+        for (int i = 0; i < properties.length; i += 2) {
+            entries.add(new AbstractMap.SimpleEntry<>(properties[i], properties[i + 1]));
+        }
+
+        this._properties.put(repoPath, entries);
+        return repoPath;
+    }
+
+    private static RepoPath newRepoPath(String name) {
+        return (RepoPath) Proxy.newProxyInstance(RepoPath.class.getClassLoader(), new Class<?>[]{RepoPath.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getName":
+                            return name;
+                        case "getPath":
+                            return String.format("pkg/-/%s", name);
+                        case "getRepoKey":
+                            return "npm-remote";
+                        case "toString":
+                            return String.format("npm-remote:pkg/-/%s", name);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private Repositories newRepositories() {
+        return (Repositories) Proxy.newProxyInstance(Repositories.class.getClassLoader(),
+                new Class<?>[]{Repositories.class}, (proxy, method, args) -> {
+                    List<Map.Entry<String, String>> properties = this._properties.get(args[0]);
+                    switch (method.getName()) {
+                        case "getProperties":
+                            LinkedHashSet<Map.Entry<String, String>> entries = new LinkedHashSet<>(properties);
+                            return Proxy.newProxyInstance(org.artifactory.md.Properties.class.getClassLoader(),
+                                    new Class<?>[]{org.artifactory.md.Properties.class}, (ignored, propertiesMethod,
+                                                                                         propertiesArgs) -> {
+                                        if (propertiesMethod.getName().equals("entries")) {
+                                            return entries;
+                                        }
+
+                                        throw new UnsupportedOperationException(propertiesMethod.getName());
+                                    });
+                        case "hasProperty":
+                            return properties.stream().anyMatch((property) -> property.getKey().equals(args[1]));
+                        case "getProperty":
+                            return properties.stream().filter((property) -> property.getKey().equals(args[1]))
+                                    .map(Map.Entry::getValue).findFirst().orElse(null);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static Properties properties(String threshold, String cvssScore, String licensesAllowed) {
+        Properties properties = new Properties();
+        properties.setProperty("sca.security.risk.threshold", threshold);
+        if (cvssScore != null) {
+            properties.setProperty("sca.security.risk.threshold.cvss.score", cvssScore);
+        }
+
+        properties.setProperty("sca.licenses.allowed", licensesAllowed);
+        return properties;
+    }
+
+    private static PolicySnapshot newPolicy(Properties properties, PackageListIndex blackList,
+                                            PackageListIndex whiteList) {
+        PluginConfiguration configuration = new PluginConfiguration(properties,
+                LoggerFactory.getLogger(PolicySnapshotTest.class));
+        return new PolicySnapshot(1L, "", configuration, blackList, whiteList);
+    }
+
+    private static ResolvedArtifact newResolvedArtifact(String version) {
+        try {
+            Constructor<ResolvedArtifact> constructor = ResolvedArtifact.class.getDeclaredConstructor(String.class,
+                    PackageManager.class, String.class, String.class, ArtifactId.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance("npm", PackageManager.NPM, "pkg", version,
+                    new ArtifactId("npm", "pkg", version));
+        } catch (ReflectiveOperationException var2) {
+            throw new IllegalStateException(var2);
+        }
+    }
+
+    @SafeVarargs
+    private static <T> T pick(Random random, T... values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,40 @@
+package com.checkmarx.sca.policy;
+
+import com.checkmarx.sca.configuration.PluginConfiguration;
+
+import java.io.File;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PolicyStoreTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PolicyStoreTest.class);
+
+    @TempDir
+    File directory;
+
+    @Test
+    public void stopWatchingEndsTheWatcherThread() throws Exception {
+        PolicyStore store = new PolicyStore(LOGGER, this.directory, this.directory,
+                new PluginConfiguration(new Properties(), LOGGER));
+        store.startWatching(60000L);
+        PolicyWatcher watcher = store.getWatcher();
+        assertNotNull(watcher);
+        assertTrue(watcher.getThread().isAlive());
+
+        store.stopWatching();
+        watcher.getThread().join(5000L);
+
+        assertFalse(watcher.getThread().isAlive());
+        assertNull(store.getWatcher());
+        store.stopWatching();
+    }
+}
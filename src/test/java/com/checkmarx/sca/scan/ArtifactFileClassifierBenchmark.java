@@ -0,0 +1,56 @@
+package com.checkmarx.sca.scan;
+
+import com.checkmarx.sca.PackageManager;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Classifies the paths of {@link ArtifactFileClassifierTest}, a mix of package files and the metadata, index and
+ * checksum files requested alongside them in every supported ecosystem.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(ArtifactFileClassifierBenchmark.PATH_COUNT)
+public class ArtifactFileClassifierBenchmark {
+    static final int PATH_COUNT = 39;
+
+    private final String[] _paths = new String[PATH_COUNT];
+    private final PackageManager[] _packageManagers = new PackageManager[PATH_COUNT];
+
+    public ArtifactFileClassifierBenchmark() {
+        for (int i = 0; i < PATH_COUNT; i++) {
+            this._packageManagers[i] = (PackageManager) ArtifactFileClassifierTest.PATHS[i][0];
+            this._paths[i] = (String) ArtifactFileClassifierTest.PATHS[i][1];
+        }
+    }
+
+    @Benchmark
+    public void isPackageFile(Blackhole blackhole) {
+        for (int i = 0; i < PATH_COUNT; i++) {
+            blackhole.consume(ArtifactFileClassifier.isPackageFile(this._paths[i], this._packageManagers[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ArtifactFileClassifierBenchmark.class.getSimpleName()).build()).run();
+    }
+}
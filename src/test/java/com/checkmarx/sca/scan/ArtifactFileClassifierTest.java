@@ -0,0 +1,74 @@
+package com.checkmarx.sca.scan;
+
+import com.checkmarx.sca.PackageManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArtifactFileClassifierTest {
+    static final Object[][] PATHS = {
+            {PackageManager.MAVEN, "org/apache/commons/commons-lang3/3.12.0/commons-lang3-3.12.0.jar", true},
+            {PackageManager.MAVEN, "org/apache/commons/commons-lang3/3.12.0/commons-lang3-3.12.0.pom", true},
+            {PackageManager.MAVEN, "org/apache/commons/commons-lang3/3.12.0/commons-lang3-3.12.0.jar.sha1", false},
+            {PackageManager.MAVEN, "org/apache/commons/commons-lang3/3.12.0/commons-lang3-3.12.0.pom.md5", false},
+            {PackageManager.MAVEN, "org/apache/commons/commons-lang3/3.12.0/commons-lang3-3.12.0.jar.asc", false},
+            {PackageManager.MAVEN, "org/apache/commons/commons-lang3/maven-metadata.xml", false},
+            {PackageManager.MAVEN, "maven-metadata.xml", false},
+            {PackageManager.GRADLE, "com/google/guava/guava/32.1.2-jre/guava-32.1.2-jre.module", true},
+            {PackageManager.GRADLE, "com/google/guava/guava/32.1.2-jre/guava-32.1.2-jre.jar.sha256", false},
+            {PackageManager.NPM, "lodash/-/lodash-4.17.21.tgz", true},
+            {PackageManager.NPM, "@babel/core/-/core-7.22.5.tgz", true},
+            {PackageManager.NPM, "lodash", false},
+            {PackageManager.NPM, "@babel/core", false},
+            {PackageManager.NPM, ".npm/lodash/package.json", false},
+            {PackageManager.NPM, "lodash/-/lodash-4.17.21.tgz.sha1", false},
+            {PackageManager.BOWER, "jquery/jquery-3.7.1.tar.gz", true},
+            {PackageManager.BOWER, "jquery/bower.json", false},
+            {PackageManager.PYPI, "packages/ab/cd/requests-2.31.0-py3-none-any.whl", true},
+            {PackageManager.PYPI, "packages/ab/cd/requests-2.31.0.tar.gz", true},
+            {PackageManager.PYPI, "packages/ab/cd/setuptools-0.6c11-py2.7.egg", true},
+            {PackageManager.PYPI, "simple/requests/index.html", false},
+            {PackageManager.PYPI, "simple/requests/", false},
+            {PackageManager.PYPI, "packages/ab/cd/requests-2.31.0-py3-none-any.whl.metadata", false},
+            {PackageManager.NUGET, "Newtonsoft.Json/13.0.3/Newtonsoft.Json.13.0.3.nupkg", true},
+            {PackageManager.NUGET, "Newtonsoft.Json/13.0.3/Newtonsoft.Json.nuspec", false},
+            {PackageManager.NUGET, "v3/registration/newtonsoft.json/index.json", false},
+            {PackageManager.GO, "github.com/pkg/errors/@v/v0.9.1.zip", true},
+            {PackageManager.GO, "github.com/pkg/errors/@v/v0.9.1.mod", false},
+            {PackageManager.GO, "github.com/pkg/errors/@v/v0.9.1.info", false},
+            {PackageManager.GO, "github.com/pkg/errors/@v/list", false},
+            {PackageManager.COCOAPODS, "pods/AFNetworking/AFNetworking-4.0.1.tar.gz", true},
+            {PackageManager.COCOAPODS, "pods/AFNetworking/AFNetworking-4.0.1.zip", true},
+            {PackageManager.COCOAPODS, "Specs/a/7/5/AFNetworking/4.0.1/AFNetworking.podspec.json", false},
+            {PackageManager.COMPOSER, "monolog/monolog/commits/abc123/monolog.zip", true},
+            {PackageManager.COMPOSER, "p2/monolog/monolog.json", false},
+            {PackageManager.COMPOSER, "packages.json", false},
+            {PackageManager.DOCKER, "library/nginx/1.25/manifest.json", false},
+            {PackageManager.DOCKER, "library/nginx/1.25/sha256__0123456789abcdef", false},
+            {PackageManager.NOTSUPPORTED, "some/generic/file.bin", true},
+    };
+
+    @Test
+    public void classifiesTheTypicalPathsOfEachPackageManager() {
+        List<String> mismatches = new ArrayList<>();
+        for (Object[] path : PATHS) {
+            boolean expected = (Boolean) path[2];
+            if (ArtifactFileClassifier.isPackageFile((String) path[1], (PackageManager) path[0]) != expected) {
+                mismatches.add(String.format("%s %s: expected %s", path[0], path[1], expected ? "package" : "skipped"));
+            }
+        }
+
+        assertTrue(mismatches.isEmpty(), String.join("\n", mismatches));
+    }
+
+    @Test
+    public void anEmptyPathIsNotAPackage() {
+        assertFalse(ArtifactFileClassifier.isPackageFile(null, PackageManager.MAVEN));
+        assertFalse(ArtifactFileClassifier.isPackageFile("", PackageManager.NPM));
+    }
+}
@@ -0,0 +1,144 @@
+package com.checkmarx.sca.scan;
+
+import com.checkmarx.sca.models.PackageInfo;
+import com.checkmarx.sca.scan.versions.VersionRange;
+import com.checkmarx.sca.scan.versions.VersionScheme;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackageListIndexTest {
+    private static final String[] RANGES = {"[1.0,2.0)", "(,1.5]", "[1.2,)", "[1.3]", "(1.0,1.4)", "[0.5,3.0]",
+            "(,0.8),(2.5,)", "[2.0,2.0]"};
+    private static final String[] VERSIONS = {"0.1", "0.5", "0.8", "1.0", "1.2", "1.3", "1.4", "1.5", "1.7", "2.0",
+            "2.5", "3.0", "3.1"};
+
+    @Test
+    public void firstMatchKeepsTheListOrder() {
+        PackageInfo range = entry("[1.0,2.0)", 5.0);
+        PackageInfo exact = entry("1.5", 5.0);
+        PackageInfo wildcard = entry("*", 5.0);
+        PackageListIndex index = build(range, exact, wildcard);
+        assertSame(range, index.firstMatch("maven", "lodash", "1.5", 9.0));
+        assertSame(wildcard, index.firstMatch("maven", "lodash", "2.5", 9.0));
+
+        index = build(wildcard, range, exact);
+        assertSame(wildcard, index.firstMatch("maven", "lodash", "1.5", 9.0));
+
+        index = build(exact, wildcard, range);
+        assertSame(exact, index.firstMatch("maven", "lodash", "1.5", 9.0));
+        assertSame(wildcard, index.firstMatch("maven", "lodash", "1.2", 9.0));
+    }
+
+    @Test
+    public void firstMatchSkipsEntriesAboveTheScore() {
+        PackageInfo severe = entry("[1.0,2.0)", 9.0);
+        PackageInfo exact = entry("1.5", 7.0);
+        PackageInfo mild = entry("(,3.0)", 3.0);
+        PackageListIndex index = build(severe, exact, mild);
+        assertSame(severe, index.firstMatch("maven", "lodash", "1.5", 9.5));
+        assertSame(exact, index.firstMatch("maven", "lodash", "1.5", 8.0));
+        assertSame(mild, index.firstMatch("maven", "lodash", "1.5", 4.0));
+        assertNull(index.firstMatch("maven", "lodash", "1.5", 2.0));
+        assertNull(index.firstMatch("maven", "lodash", "3.0", 9.5));
+    }
+
+    @Test
+    public void containsMatchesExactWildcardAndRangeEntries() {
+        PackageListIndex index = build(entry("[1.0,2.0)", 5.0), entry("2.5", 5.0));
+        assertTrue(index.contains("maven", "lodash", "1.0"));
+        assertTrue(index.contains("maven", "LODASH", "2.5"));
+        assertFalse(index.contains("maven", "lodash", "2.0"));
+        assertFalse(index.contains("maven", "lodash", "not a version"));
+        assertFalse(index.contains("npm", "lodash", "1.0"));
+
+        index = build(entry("*", 5.0));
+        assertTrue(index.contains("maven", "lodash", "0.0.1"));
+    }
+
+    @Test
+    public void rejectedEntriesAreNotCounted() {
+        PackageListIndex.Builder builder = new PackageListIndex.Builder();
+        builder.add(entry("[1.0,2.0)", 5.0));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(entry("[1.0,2.0", 5.0)));
+        PackageInfo exact = entry("2.5", 5.0);
+        builder.add(exact);
+
+        PackageListIndex index = builder.build();
+        assertEquals(2, index.size());
+        assertSame(exact, index.firstMatch("maven", "lodash", "2.5", 9.0));
+    }
+
+    @Test
+    public void matchesALinearScanOnRandomLists() {
+        Random random = new Random(7);
+        for (int list = 0; list < 200; list++) {
+            List<PackageInfo> entries = new ArrayList<>();
+            int size = 1 + random.nextInt(20);
+            for (int i = 0; i < size; i++) {
+                int kind = random.nextInt(6);
+                String version = kind == 0 ? "*" : kind < 3 ? VERSIONS[random.nextInt(VERSIONS.length)]
+                        : RANGES[random.nextInt(RANGES.length)];
+                entries.add(entry(version, (double) random.nextInt(10)));
+            }
+
+            PackageListIndex index = build(entries.toArray(new PackageInfo[0]));
+            for (String version : VERSIONS) {
+                double score = random.nextInt(11);
+                PackageInfo expected = null;
+                boolean listed = false;
+                for (PackageInfo entry : entries) {
+                    if (matches(entry, version)) {
+                        listed = true;
+                        if (expected == null && score >= entry.getCvssScore()) {
+                            expected = entry;
+                        }
+                    }
+                }
+
+                assertSame(expected, index.firstMatch("maven", "lodash", version, score),
+                        String.format("%s at %s in %s", version, score, versions(entries)));
+                assertEquals(listed, index.contains("maven", "lodash", version), version);
+            }
+        }
+    }
+
+    private static boolean matches(PackageInfo entry, String version) {
+        String listed = entry.getPackageVersion();
+        if (!VersionRange.isRange(listed)) {
+            return listed.equals("*") || listed.equals(version);
+        }
+
+        return VersionRange.parse(listed, VersionScheme.MAVEN)
+                .contains(VersionScheme.MAVEN.parse(version));
+    }
+
+    private static List<String> versions(List<PackageInfo> entries) {
+        List<String> versions = new ArrayList<>(entries.size());
+        entries.forEach((entry) -> versions.add(entry.getPackageVersion()));
+        return versions;
+    }
+
+    private static PackageInfo entry(String version, double score) {
+        return new PackageInfo("maven", "maven:lodash", version, score, false);
+    }
+
+    private static PackageListIndex build(PackageInfo... entries) {
+        PackageListIndex.Builder builder = new PackageListIndex.Builder();
+        for (PackageInfo entry : entries) {
+            builder.add(entry);
+        }
+
+        return builder.build();
+    }
+}
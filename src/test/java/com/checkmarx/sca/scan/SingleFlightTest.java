@@ -0,0 +1,92 @@
+package com.checkmarx.sca.scan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+
+    @Test
+    public void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> load = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CompletableFuture<String>>> callers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    return singleFlight.submit("key", () -> {
+                        loads.incrementAndGet();
+                        return load;
+                    });
+                }));
+            }
+
+            start.countDown();
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (Future<CompletableFuture<String>> caller : callers) {
+                results.add(caller.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, loads.get());
+            assertEquals(7L, singleFlight.coalescedCalls());
+            assertEquals(1, singleFlight.inFlightCount());
+            load.complete("value");
+            for (CompletableFuture<String> result : results) {
+                assertSame(results.get(0), result);
+                assertEquals("value", result.join());
+            }
+
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void aCompletedLoadRemovesTheKeyAndTheNextCallReloads() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("1", singleFlight.submit("key", () -> CompletableFuture.completedFuture(
+                String.valueOf(loads.incrementAndGet()))).join());
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals("2", singleFlight.submit("key", () -> CompletableFuture.completedFuture(
+                String.valueOf(loads.incrementAndGet()))).join());
+        assertEquals(0L, singleFlight.coalescedCalls());
+    }
+
+    @Test
+    public void aFailedLoadRemovesTheKey() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> load = new CompletableFuture<>();
+        CompletableFuture<String> result = singleFlight.submit("key", () -> load);
+        load.completeExceptionally(new IllegalStateException("unavailable"));
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, singleFlight.inFlightCount());
+
+        CompletableFuture<String> thrown = singleFlight.submit("key", () -> {
+            throw new IllegalStateException("unavailable");
+        });
+        assertThrows(Exception.class, thrown::join);
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals("value", singleFlight.submit("key", () -> CompletableFuture.completedFuture("value")).join());
+    }
+}
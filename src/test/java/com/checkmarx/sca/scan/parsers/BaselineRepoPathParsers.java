@@ -0,0 +1,111 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.models.ArtifactId;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The path patterns of ArtifactIdBuilder and ComposerArtifactIdBuilder before the scanners were introduced, kept as
+ * the reference the parsers are compared with. A pattern is compiled on every call unless a precompiled one is
+ * asked for, as the builders did. A failure is reported as an invalid ArtifactId, like tryToUseRegex did.
+ */
+final class BaselineRepoPathParsers {
+    static final PackageManager[] PACKAGE_MANAGERS = {PackageManager.NPM, PackageManager.PYPI, PackageManager.IVY,
+            PackageManager.SBT, PackageManager.COMPOSER, PackageManager.NUGET, PackageManager.BOWER,
+            PackageManager.COCOAPODS, PackageManager.GO};
+
+    private static final String NPM = "(?<name>.+)\\/-\\/.+-(?<version>\\d+\\.\\d+\\.\\d+.*)\\.tgz";
+    private static final String PYPI = ".+/(?<name>.+)-(?<version>\\d+(?:\\.[A-Za-z0-9]+)*).*\\.(?:whl|egg|zip|tar\\.gz)";
+    private static final String NUGET = "(?<name>.*?)\\.(?<version>(?:\\.?[0-9]+){3,}(?:[-a-z]+)?)\\.nupkg";
+    private static final String BOWER = ".*/(?<name>.+)-v?(?<version>\\d(?:\\.[A-Za-z0-9]+)*).*tar\\.gz";
+    private static final String COCOAPODS = ".*\\/(?<name>.+)-v?(?<version>\\d(?:\\.[A-Za-z0-9]+)*).*(?:zip|tar\\.gz)";
+    private static final String GO = "(?<name>.*?)\\/@v\\/(?<version>.*)";
+    private static final String GO_SUFFIX = "(\\+incompatible)?(\\.mod|\\.info|\\.zip)";
+    private static final String MAVEN = "(?<packagePath>.+)/(?<version>\\d+(?:\\.[A-Za-z0-9]+)*).*";
+    private static final String COMPOSER = "(?<name>.+)/commits/(?<version>.+)/.+";
+
+    private final boolean _precompiled;
+    private final Pattern _npm = Pattern.compile(NPM);
+    private final Pattern _pypi = Pattern.compile(PYPI);
+    private final Pattern _nuget = Pattern.compile(NUGET);
+    private final Pattern _bower = Pattern.compile(BOWER);
+    private final Pattern _cocoaPods = Pattern.compile(COCOAPODS);
+    private final Pattern _go = Pattern.compile(GO);
+    private final Pattern _goSuffix = Pattern.compile(GO_SUFFIX);
+    private final Pattern _maven = Pattern.compile(MAVEN);
+    private final Pattern _composer = Pattern.compile(COMPOSER);
+
+    BaselineRepoPathParsers(boolean precompiled) {
+        this._precompiled = precompiled;
+    }
+
+    ArtifactId parse(String path, PackageManager packageManager) {
+        try {
+            switch (packageManager) {
+                case NPM:
+                    return this.parse(path, packageManager, this.pattern(this._npm));
+                case PYPI:
+                    return this.parse(path, packageManager, this.pattern(this._pypi));
+                case NUGET:
+                    return this.parse(path, packageManager, this.pattern(this._nuget));
+                case BOWER:
+                    return this.parse(path, packageManager, this.pattern(this._bower));
+                case IVY:
+                case SBT:
+                    return this.parseMaven(path, packageManager);
+                case COCOAPODS:
+                    ArtifactId artifactId = this.parse(path, packageManager, this.pattern(this._cocoaPods));
+                    if (artifactId.isInvalid()) {
+                        return artifactId;
+                    }
+
+                    return new ArtifactId(packageManager.packageType(),
+                            String.format("%s:%s", artifactId.Name, artifactId.Name), artifactId.Version);
+                case GO:
+                    String modulePath = this._precompiled ? this._goSuffix.matcher(path).replaceAll("")
+                            : path.replaceAll(GO_SUFFIX, "");
+                    return this.parse(modulePath, packageManager, this.pattern(this._go));
+                case COMPOSER:
+                    return this.parse(path, packageManager, this.pattern(this._composer));
+                default:
+                    return invalid(packageManager);
+            }
+        } catch (Exception var4) {
+            return invalid(packageManager);
+        }
+    }
+
+    private Pattern pattern(Pattern pattern) {
+        return this._precompiled ? pattern : Pattern.compile(pattern.pattern());
+    }
+
+    private ArtifactId parse(String path, PackageManager packageManager, Pattern pattern) {
+        Matcher matcher = pattern.matcher(path);
+        if (!matcher.matches()) {
+            return invalid(packageManager);
+        }
+
+        return new ArtifactId(packageManager.packageType(), matcher.group("name"), matcher.group("version"));
+    }
+
+    private ArtifactId parseMaven(String path, PackageManager packageManager) {
+        Matcher matcher = this.pattern(this._maven).matcher(path);
+        if (!matcher.matches()) {
+            return invalid(packageManager);
+        }
+
+        String[] packagePathArray = matcher.group("packagePath").split("/");
+        String organisation = String.join(".",
+                (CharSequence[]) Arrays.copyOfRange(packagePathArray, 0, packagePathArray.length - 1));
+        String packageName = packagePathArray[packagePathArray.length - 1];
+        return new ArtifactId(packageManager.packageType(), String.format("%s:%s", organisation, packageName),
+                matcher.group("version"));
+    }
+
+    private static ArtifactId invalid(PackageManager packageManager) {
+        return new ArtifactId(packageManager.packageType(), (String) null, (String) null);
+    }
+}
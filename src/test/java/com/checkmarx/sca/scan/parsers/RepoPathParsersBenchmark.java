@@ -0,0 +1,74 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Parses a set of typical artifact paths with the baseline patterns, compiled per call as they were or precompiled,
+ * and with the path parsers. Run with {@code -prof gc} to compare the allocation per path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(RepoPathParsersBenchmark.PATH_COUNT)
+public class RepoPathParsersBenchmark {
+    static final int PATH_COUNT = 6;
+
+    private static final PackageManager[] PACKAGE_MANAGERS = {PackageManager.NPM, PackageManager.NPM,
+            PackageManager.PYPI, PackageManager.PYPI, PackageManager.IVY, PackageManager.COMPOSER};
+    private static final String[] PATHS = {
+            "@babel/core/-/core-7.22.5.tgz",
+            "lodash/-/lodash-4.17.21.tgz",
+            "packages/ab/cd/requests-2.31.0-py3-none-any.whl",
+            "simple/numpy/numpy-1.26.0.tar.gz",
+            "org/scala-lang/scala-library/2.13.12/scala-library-2.13.12.jar",
+            "vendor/pkg/commits/abcdef0123456789/pkg.zip"
+    };
+
+    private final BaselineRepoPathParsers _compiledPerCall = new BaselineRepoPathParsers(false);
+    private final BaselineRepoPathParsers _precompiled = new BaselineRepoPathParsers(true);
+
+    @Benchmark
+    public void patternCompiledPerCall(Blackhole blackhole) {
+        for (int i = 0; i < PATH_COUNT; i++) {
+            blackhole.consume(this._compiledPerCall.parse(PATHS[i], PACKAGE_MANAGERS[i]));
+        }
+    }
+
+    @Benchmark
+    public void precompiledPattern(Blackhole blackhole) {
+        for (int i = 0; i < PATH_COUNT; i++) {
+            blackhole.consume(this._precompiled.parse(PATHS[i], PACKAGE_MANAGERS[i]));
+        }
+    }
+
+    @Benchmark
+    public void parser(Blackhole blackhole) {
+        for (int i = 0; i < PATH_COUNT; i++) {
+            blackhole.consume(RepoPathParsers.get(PACKAGE_MANAGERS[i]).parse(PATHS[i], PACKAGE_MANAGERS[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RepoPathParsersBenchmark.class.getSimpleName()).build()).run();
+    }
+}
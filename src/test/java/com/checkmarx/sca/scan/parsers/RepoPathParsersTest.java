@@ -0,0 +1,128 @@
+package com.checkmarx.sca.scan.parsers;
+
+import com.checkmarx.sca.PackageManager;
+import com.checkmarx.sca.models.ArtifactId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RepoPathParsersTest {
+    static final String[] CORPUS = {
+            "lodash/-/lodash-4.17.21.tgz",
+            "@babel/core/-/core-7.22.5.tgz",
+            "@types/node/-/node-20.1.0-beta.1.tgz",
+            "a/-/b-c-1.2.3-rc.1.tgz",
+            "x/-/y/-/z-1.2.3.tgz",
+            "-/-/-1.2.3.tgz",
+            "a/-/-1.2.3.tgz",
+            "packages/ab/cd/requests-2.31.0-py3-none-any.whl",
+            "simple/numpy/numpy-1.26.0.tar.gz",
+            "a/b-1.0.post1.dev2-x.zip",
+            "pypi/some-pkg/some-pkg-0.1rc1.egg",
+            "/x-1.whl",
+            "a/-1.whl",
+            "a/b-1.tar.gz",
+            "org/scala-lang/scala-library/2.13.12/scala-library-2.13.12.jar",
+            "com/typesafe/config/1.4.2/ivy-1.4.2.xml",
+            "com/x/y/1.0.0-SNAPSHOT/y.pom",
+            "a/1",
+            "/1",
+            "//1",
+            "a//1.x.y",
+            "vendor/pkg/commits/abcdef0123/pkg.zip",
+            "a/commits/b/c",
+            "a/commits/b/commits/c/d",
+            "a/commits//c/",
+            "/commits/x/y",
+            "a/commits/x/",
+            "a/commits/x/y/z/",
+            "newtonsoft.json/newtonsoft.json.13.0.3.nupkg",
+            "bower/jquery/jquery-v3.7.1.tar.gz",
+            "pods/AFNetworking/AFNetworking-4.0.1.zip",
+            "github.com/gin-gonic/gin/@v/v1.9.1.mod",
+            "github.com/foo/bar/@v/v2.0.0+incompatible.zip",
+            "lodash/-/lodash-4.17.21.tgz\n",
+            "org/x\ny/1.0/y.jar"
+    };
+
+    private static final String ALPHABET = "ab-/.019tgzwhlcomits_@vV+";
+    private static final String[] FRAGMENTS = {".tgz", ".whl", ".tar.gz", ".zip", ".egg", ".nupkg", ".mod", ".info",
+            "/commits/", "/-/", "/@v/", "+incompatible", "-v1.2.3", "\n"};
+    private static final int RANDOM_PATHS = 50000;
+
+    @Test
+    public void parsesTheCommonLayouts() {
+        assertParsed(PackageManager.NPM, "@babel/core/-/core-7.22.5.tgz", "@babel/core", "7.22.5");
+        assertParsed(PackageManager.PYPI, "packages/ab/cd/requests-2.31.0-py3-none-any.whl", "requests", "2.31.0");
+        assertParsed(PackageManager.IVY, "org/scala-lang/scala-library/2.13.12/scala-library-2.13.12.jar",
+                "org.scala-lang:scala-library", "2.13.12");
+        assertParsed(PackageManager.COMPOSER, "vendor/pkg/commits/abcdef0123/pkg.zip", "vendor/pkg", "abcdef0123");
+    }
+
+    @Test
+    public void matchesTheBaselinePatternsOnTheCorpus() {
+        assertEquivalent(List.of(CORPUS));
+    }
+
+    @Test
+    public void matchesTheBaselinePatternsOnRandomPaths() {
+        Random random = new Random(42);
+        List<String> paths = new ArrayList<>(RANDOM_PATHS);
+        for (int i = 0; i < RANDOM_PATHS; i++) {
+            StringBuilder path = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int j = 0; j < length; j++) {
+                if (random.nextInt(6) == 0) {
+                    path.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+                } else {
+                    path.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            }
+
+            if (random.nextBoolean()) {
+                path.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+
+            paths.add(path.toString());
+        }
+
+        assertEquivalent(paths);
+    }
+
+    private static void assertEquivalent(List<String> paths) {
+        BaselineRepoPathParsers baseline = new BaselineRepoPathParsers(true);
+        List<String> mismatches = new ArrayList<>();
+        for (String path : paths) {
+            for (PackageManager packageManager : BaselineRepoPathParsers.PACKAGE_MANAGERS) {
+                ArtifactId expected = baseline.parse(path, packageManager);
+                ArtifactId actual = parse(path, packageManager);
+                if (!expected.equals(actual) && mismatches.size() < 10) {
+                    mismatches.add(String.format("%s [%s]: expected %s:%s but was %s:%s", packageManager, path,
+                            expected.Name, expected.Version, actual.Name, actual.Version));
+                }
+            }
+        }
+
+        assertTrue(mismatches.isEmpty(), String.join("\n", mismatches));
+    }
+
+    private static ArtifactId parse(String path, PackageManager packageManager) {
+        try {
+            return RepoPathParsers.get(packageManager).parse(path, packageManager);
+        } catch (Exception var3) {
+            return new ArtifactId(packageManager.packageType(), (String) null, (String) null);
+        }
+    }
+
+    private static void assertParsed(PackageManager packageManager, String path, String name, String version) {
+        ArtifactId artifactId = RepoPathParsers.get(packageManager).parse(path, packageManager);
+        assertEquals(name, artifactId.Name);
+        assertEquals(version, artifactId.Version);
+    }
+}
@@ -0,0 +1,85 @@
+package com.checkmarx.sca.scan.versions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VersionRangeTest {
+
+    @Test
+    public void parsesMavenRanges() {
+        assertContains(VersionScheme.MAVEN, "[1.0,2.0)", "1.0", "1.5", "1.9.9");
+        assertExcludes(VersionScheme.MAVEN, "[1.0,2.0)", "0.9", "2.0", "2.1");
+        assertContains(VersionScheme.MAVEN, "(,1.0],[1.2,)", "0.1", "1.0", "1.2", "5.0");
+        assertExcludes(VersionScheme.MAVEN, "(,1.0],[1.2,)", "1.1", "1.1.5");
+        assertContains(VersionScheme.MAVEN, "[1.5]", "1.5");
+        assertExcludes(VersionScheme.MAVEN, "[1.5]", "1.4", "1.6");
+        assertEquals(2, VersionRange.parse("(,1.0],[1.2,)", VersionScheme.MAVEN).getIntervals().size());
+    }
+
+    @Test
+    public void parsesNpmRanges() {
+        assertContains(VersionScheme.SEMVER, "<2.17.1", "0.0.1", "2.17.0", "2.17.1-rc.1");
+        assertExcludes(VersionScheme.SEMVER, "<2.17.1", "2.17.1", "3.0.0");
+        assertContains(VersionScheme.SEMVER, "^1.2.3", "1.2.3", "1.9.0");
+        assertExcludes(VersionScheme.SEMVER, "^1.2.3", "1.2.2", "2.0.0", "2.0.0-beta.1");
+        assertContains(VersionScheme.SEMVER, "~1.2", "1.2.0", "1.2.9");
+        assertExcludes(VersionScheme.SEMVER, "~1.2", "1.1.9", "1.3.0");
+        assertContains(VersionScheme.SEMVER, "1.x", "1.0.0", "1.99.0");
+        assertExcludes(VersionScheme.SEMVER, "1.x", "0.9.0", "2.0.0");
+        assertContains(VersionScheme.SEMVER, "1.0.0 - 2.0.0", "1.0.0", "1.5.0", "2.0.0");
+        assertExcludes(VersionScheme.SEMVER, "1.0.0 - 2.0.0", "0.9.9", "2.0.1");
+        assertContains(VersionScheme.SEMVER, "<1.0.0 || >=3.0.0", "0.5.0", "3.0.0", "4.1.0");
+        assertExcludes(VersionScheme.SEMVER, "<1.0.0 || >=3.0.0", "1.0.0", "2.9.9");
+    }
+
+    @Test
+    public void parsesPep440Specifiers() {
+        assertContains(VersionScheme.PEP440, ">=1.0,<2.0", "1.0", "1.9.9");
+        assertExcludes(VersionScheme.PEP440, ">=1.0,<2.0", "0.9", "2.0");
+        assertContains(VersionScheme.PEP440, "~=1.4.2", "1.4.2", "1.4.9");
+        assertExcludes(VersionScheme.PEP440, "~=1.4.2", "1.4.1", "1.5.0");
+        assertContains(VersionScheme.PEP440, "==1.4.*", "1.4", "1.4.0", "1.4.7");
+        assertExcludes(VersionScheme.PEP440, "==1.4.*", "1.3.9", "1.5");
+        assertContains(VersionScheme.PEP440, "!=1.5", "1.4", "1.5.1");
+        assertExcludes(VersionScheme.PEP440, "!=1.5", "1.5");
+    }
+
+    @Test
+    public void detectsRanges() {
+        assertTrue(VersionRange.isRange("[1.0,2.0)"));
+        assertTrue(VersionRange.isRange("^1.2.3"));
+        assertTrue(VersionRange.isRange("1.x"));
+        assertTrue(VersionRange.isRange("1.0.0 - 2.0.0"));
+        assertTrue(VersionRange.isRange("!=1.5"));
+        assertTrue(VersionRange.isRange(">=1!2.0"));
+        assertFalse(VersionRange.isRange("1.2.3"));
+        assertFalse(VersionRange.isRange("1!2.0"));
+        assertFalse(VersionRange.isRange("*"));
+        assertFalse(VersionRange.isRange(null));
+    }
+
+    @Test
+    public void rejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> VersionRange.parse("[1.0,2.0", VersionScheme.MAVEN));
+        assertThrows(IllegalArgumentException.class, () -> VersionRange.parse(">=abc", VersionScheme.SEMVER));
+        assertThrows(IllegalArgumentException.class, () -> VersionRange.parse("~=1", VersionScheme.PEP440));
+    }
+
+    private static void assertContains(VersionScheme scheme, String range, String... versions) {
+        VersionRange parsed = VersionRange.parse(range, scheme);
+        for (String version : versions) {
+            assertTrue(parsed.contains(scheme.parse(version)), String.format("%s should contain %s", range, version));
+        }
+    }
+
+    private static void assertExcludes(VersionScheme scheme, String range, String... versions) {
+        VersionRange parsed = VersionRange.parse(range, scheme);
+        for (String version : versions) {
+            assertFalse(parsed.contains(scheme.parse(version)), String.format("%s should not contain %s", range, version));
+        }
+    }
+}